@@ -0,0 +1,633 @@
+package com.wycode.datastructures.Map;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * A B+-tree map.
+ * <p>
+ * Every node packs up to fanout - 1 sorted keys into one array, so a lookup reads a few
+ * contiguous arrays instead of chasing one Entry object per key. All entries live in
+ * the leaves and the leaves are doubly linked. An in-order scan or a range scan finds its
+ * first leaf once and then just walks arrays and next pointers.
+ * Inner nodes also record the number of entries below them, which is what rank and select use.
+ * <p>
+ * Complexity Summary (b = fanout):
+ * - get / put / remove / containsKey: O(log n), O(log_b n) nodes visited
+ * - min / max / floor / ceiling: O(log n)
+ * - rank / select: O(b log_b n)
+ * - rangeIterator: O(log n + k) for k keys in range
+ * - Space Complexity: O(n)
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class BPlusTreeMap<K extends Comparable<K>, V> implements OrderedMap<K, V> {
+    private static final int DEFAULT_FANOUT = 64;
+
+    private final int fanout;  // max children of an inner node; a leaf holds at most fanout - 1 entries
+    private final int minKeys; // min keys of any node except the root
+    private Node root;
+    private int size;
+    private int modCount; // structural changes, so cursors know to find their place again
+    private K separator;       // key pushed up by the last split
+
+    private class Node {
+        private K[] keys;
+        private V[] values;      // leaves only
+        private Node[] children; // inner nodes only
+        private Node prev, next; // leaves only
+        private int n;           // number of keys in use
+        private int size;        // inner nodes only: number of entries in the subtree
+
+        Node(boolean leaf) {
+            // one spare slot so a node can overflow before it is split
+            keys = (K[]) new Comparable[fanout];
+            if (leaf) {
+                values = (V[]) new Object[fanout];
+            } else {
+                children = new BPlusTreeMap.Node[fanout + 1];
+            }
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    /**
+     * Walks the leaf chain from a starting position up to an inclusive upper bound; a null bound means unbounded.
+     */
+    private class LeafIterator implements Iterator<K> {
+        private Node leaf;
+        private int index;
+        private final K hi;
+
+        LeafIterator(Node leaf, int index, K hi) {
+            this.leaf = leaf;
+            this.index = index;
+            this.hi = hi;
+            skipExhaustedLeaves();
+        }
+
+        private void skipExhaustedLeaves() {
+            while (leaf != null && index == leaf.n) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null && (hi == null || leaf.keys[index].compareTo(hi) <= 0);
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = leaf.keys[index];
+            index = index + 1;
+            skipExhaustedLeaves();
+            return key;
+        }
+    }
+
+    /**
+     * Inserts and deletes shift keys within leaves and move them between leaves, so after
+     * any structural change the cursor searches again for the first key after its current one.
+     */
+    private class LeafCursor implements Cursor<K, V> {
+        private Node leaf = firstLeaf();
+        private int index = -1;
+        private int expectedModCount = modCount;
+        private K current; // the key at index, kept because changes may shift it away
+
+        @Override
+        public boolean advance() {
+            if (leaf == null) {
+                return false;
+            }
+            if (expectedModCount != modCount) {
+                expectedModCount = modCount;
+                reseek();
+            }
+            index = index + 1;
+            while (leaf != null && index == leaf.n) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            if (leaf == null) {
+                return false;
+            }
+            current = leaf.keys[index];
+            return true;
+        }
+
+        /**
+         * Moves to just before the first key greater than the current one.
+         */
+        private void reseek() {
+            if (index < 0) {
+                leaf = firstLeaf();
+                return;
+            }
+            leaf = findLeaf(current);
+            int i = lowerBound(leaf, current);
+            if (i < leaf.n && leaf.keys[i].compareTo(current) == 0) {
+                i = i + 1;
+            }
+            index = i - 1;
+        }
+
+        @Override
+        public K key() {
+            return leaf.keys[index];
+        }
+
+        @Override
+        public V value() {
+            return leaf.values[index];
+        }
+    }
+
+    public BPlusTreeMap() {
+        this(DEFAULT_FANOUT);
+    }
+
+    /**
+     * @param fanout the maximum number of children of an inner node, at least 3
+     */
+    public BPlusTreeMap(int fanout) {
+        if (fanout < 3) {
+            throw new IllegalArgumentException("Illegal fanout: " + fanout);
+        }
+        this.fanout = fanout;
+        this.minKeys = (fanout - 1) / 2;
+        this.root = new Node(true);
+    }
+
+    private int size(Node node) {
+        return node.isLeaf() ? node.n : node.size;
+    }
+
+    /**
+     * Returns the index of the first key >= key in the node, or node.n if there is none.
+     */
+    private int lowerBound(Node node, K key) {
+        int lo = 0;
+        int hi = node.n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (node.keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the child of an inner node that covers the key: the number of separators <= key.
+     * A separator is the smallest key of the subtree to its right.
+     */
+    private int childIndex(Node node, K key) {
+        int lo = 0;
+        int hi = node.n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (node.keys[mid].compareTo(key) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private Node findLeaf(K key) {
+        Node node = root;
+        while (!node.isLeaf()) {
+            node = node.children[childIndex(node, key)];
+        }
+        return node;
+    }
+
+    private Node firstLeaf() {
+        Node node = root;
+        while (!node.isLeaf()) {
+            node = node.children[0];
+        }
+        return node;
+    }
+
+    private Node lastLeaf() {
+        Node node = root;
+        while (!node.isLeaf()) {
+            node = node.children[node.n];
+        }
+        return node;
+    }
+
+    @Override
+    public void clear() {
+        root = new Node(true);
+        size = 0;
+        modCount = modCount + 1;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        return i < leaf.n && leaf.keys[i].compareTo(key) == 0;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        if (i < leaf.n && leaf.keys[i].compareTo(key) == 0) {
+            return leaf.values[i];
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node sibling = insert(root, key, value);
+        if (sibling != null) {
+            Node newRoot = new Node(false);
+            newRoot.keys[0] = separator;
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.n = 1;
+            newRoot.size = size(root) + size(sibling);
+            root = newRoot;
+        }
+    }
+
+    /**
+     * Inserts below the node and returns the new right sibling if the node had to split.
+     * The recursion is only as deep as the tree, which is log_b n.
+     */
+    private Node insert(Node node, K key, V value) {
+        if (node.isLeaf()) {
+            int i = lowerBound(node, key);
+            if (i < node.n && node.keys[i].compareTo(key) == 0) {
+                node.values[i] = value;
+                return null;
+            }
+            System.arraycopy(node.keys, i, node.keys, i + 1, node.n - i);
+            System.arraycopy(node.values, i, node.values, i + 1, node.n - i);
+            node.keys[i] = key;
+            node.values[i] = value;
+            node.n = node.n + 1;
+            size = size + 1;
+            modCount = modCount + 1;
+            return node.n == fanout ? splitLeaf(node) : null;
+        }
+        int i = childIndex(node, key);
+        int sizeBefore = size;
+        Node sibling = insert(node.children[i], key, value);
+        node.size = node.size + (size - sizeBefore);
+        if (sibling == null) {
+            return null;
+        }
+        System.arraycopy(node.keys, i, node.keys, i + 1, node.n - i);
+        System.arraycopy(node.children, i + 1, node.children, i + 2, node.n - i);
+        node.keys[i] = separator;
+        node.children[i + 1] = sibling;
+        node.n = node.n + 1;
+        return node.n == fanout ? splitInner(node) : null;
+    }
+
+    private Node splitLeaf(Node leaf) {
+        Node right = new Node(true);
+        int half = leaf.n / 2;
+        right.n = leaf.n - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, right.n);
+        System.arraycopy(leaf.values, half, right.values, 0, right.n);
+        Arrays.fill(leaf.keys, half, leaf.n, null);
+        Arrays.fill(leaf.values, half, leaf.n, null);
+        leaf.n = half;
+
+        right.next = leaf.next;
+        if (right.next != null) {
+            right.next.prev = right;
+        }
+        right.prev = leaf;
+        leaf.next = right;
+        separator = right.keys[0];
+        return right;
+    }
+
+    private Node splitInner(Node node) {
+        Node right = new Node(false);
+        int mid = node.n / 2;
+        separator = node.keys[mid];
+        right.n = node.n - mid - 1;
+        System.arraycopy(node.keys, mid + 1, right.keys, 0, right.n);
+        System.arraycopy(node.children, mid + 1, right.children, 0, right.n + 1);
+        Arrays.fill(node.keys, mid, node.n, null);
+        Arrays.fill(node.children, mid + 1, node.n + 1, null);
+        node.n = mid;
+
+        for (int i = 0; i <= right.n; i++) {
+            right.size = right.size + size(right.children[i]);
+        }
+        node.size = node.size - right.size;
+        return right;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        if (i == leaf.n || leaf.keys[i].compareTo(key) != 0) {
+            return null;
+        }
+        V deletedValue = leaf.values[i];
+        delete(key);
+        return deletedValue;
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        if (i == leaf.n || leaf.keys[i].compareTo(key) != 0 || !Objects.equals(leaf.values[i], value)) {
+            return null;
+        }
+        V deletedValue = leaf.values[i];
+        delete(key);
+        return deletedValue;
+    }
+
+    /**
+     * Deletes a key known to be present, then shrinks the tree if the root ran out of keys.
+     */
+    private void delete(K key) {
+        delete(root, key);
+        if (!root.isLeaf() && root.n == 0) {
+            root = root.children[0];
+        }
+    }
+
+    private void delete(Node node, K key) {
+        if (node.isLeaf()) {
+            int i = lowerBound(node, key);
+            System.arraycopy(node.keys, i + 1, node.keys, i, node.n - i - 1);
+            System.arraycopy(node.values, i + 1, node.values, i, node.n - i - 1);
+            node.n = node.n - 1;
+            node.keys[node.n] = null;
+            node.values[node.n] = null;
+            size = size - 1;
+            modCount = modCount + 1;
+            return;
+        }
+        int i = childIndex(node, key);
+        Node child = node.children[i];
+        delete(child, key);
+        node.size = node.size - 1;
+        if (child.n < minKeys) {
+            rebalance(node, i);
+        }
+    }
+
+    /**
+     * Refills an underfull child by borrowing from a sibling with spare keys, or merges it with one.
+     */
+    private void rebalance(Node parent, int i) {
+        Node left = i > 0 ? parent.children[i - 1] : null;
+        Node right = i < parent.n ? parent.children[i + 1] : null;
+        if (left != null && left.n > minKeys) {
+            borrowFromLeft(parent, i);
+        } else if (right != null && right.n > minKeys) {
+            borrowFromRight(parent, i);
+        } else if (left != null) {
+            merge(parent, i - 1);
+        } else {
+            merge(parent, i);
+        }
+    }
+
+    private void borrowFromLeft(Node parent, int i) {
+        Node child = parent.children[i];
+        Node left = parent.children[i - 1];
+        System.arraycopy(child.keys, 0, child.keys, 1, child.n);
+        if (child.isLeaf()) {
+            System.arraycopy(child.values, 0, child.values, 1, child.n);
+            child.keys[0] = left.keys[left.n - 1];
+            child.values[0] = left.values[left.n - 1];
+            left.values[left.n - 1] = null;
+            parent.keys[i - 1] = child.keys[0];
+        } else {
+            System.arraycopy(child.children, 0, child.children, 1, child.n + 1);
+            Node moved = left.children[left.n];
+            child.keys[0] = parent.keys[i - 1];
+            child.children[0] = moved;
+            parent.keys[i - 1] = left.keys[left.n - 1];
+            left.children[left.n] = null;
+            left.size = left.size - size(moved);
+            child.size = child.size + size(moved);
+        }
+        left.keys[left.n - 1] = null;
+        left.n = left.n - 1;
+        child.n = child.n + 1;
+    }
+
+    private void borrowFromRight(Node parent, int i) {
+        Node child = parent.children[i];
+        Node right = parent.children[i + 1];
+        if (child.isLeaf()) {
+            child.keys[child.n] = right.keys[0];
+            child.values[child.n] = right.values[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.n - 1);
+            System.arraycopy(right.values, 1, right.values, 0, right.n - 1);
+            right.values[right.n - 1] = null;
+            parent.keys[i] = right.keys[0];
+        } else {
+            Node moved = right.children[0];
+            child.keys[child.n] = parent.keys[i];
+            child.children[child.n + 1] = moved;
+            parent.keys[i] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.n - 1);
+            System.arraycopy(right.children, 1, right.children, 0, right.n);
+            right.children[right.n] = null;
+            right.size = right.size - size(moved);
+            child.size = child.size + size(moved);
+        }
+        right.keys[right.n - 1] = null;
+        right.n = right.n - 1;
+        child.n = child.n + 1;
+    }
+
+    /**
+     * Merges children j and j + 1 of the parent into child j.
+     */
+    private void merge(Node parent, int j) {
+        Node left = parent.children[j];
+        Node right = parent.children[j + 1];
+        if (left.isLeaf()) {
+            System.arraycopy(right.keys, 0, left.keys, left.n, right.n);
+            System.arraycopy(right.values, 0, left.values, left.n, right.n);
+            left.n = left.n + right.n;
+            left.next = right.next;
+            if (left.next != null) {
+                left.next.prev = left;
+            }
+        } else {
+            left.keys[left.n] = parent.keys[j];
+            System.arraycopy(right.keys, 0, left.keys, left.n + 1, right.n);
+            System.arraycopy(right.children, 0, left.children, left.n + 1, right.n + 1);
+            left.n = left.n + right.n + 1;
+            left.size = left.size + right.size;
+        }
+        System.arraycopy(parent.keys, j + 1, parent.keys, j, parent.n - j - 1);
+        System.arraycopy(parent.children, j + 2, parent.children, j + 1, parent.n - j - 1);
+        parent.keys[parent.n - 1] = null;
+        parent.children[parent.n] = null;
+        parent.n = parent.n - 1;
+    }
+
+    @Override
+    public K min() {
+        if (size == 0) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        return firstLeaf().keys[0];
+    }
+
+    @Override
+    public K max() {
+        if (size == 0) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        Node leaf = lastLeaf();
+        return leaf.keys[leaf.n - 1];
+    }
+
+    @Override
+    public K floor(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        if (i < leaf.n && leaf.keys[i].compareTo(key) == 0) {
+            return leaf.keys[i];
+        }
+        if (i > 0) {
+            return leaf.keys[i - 1];
+        }
+        // every key in the previous leaf is below the separator that led here
+        return leaf.prev == null ? null : leaf.prev.keys[leaf.prev.n - 1];
+    }
+
+    @Override
+    public K ceiling(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        if (i < leaf.n) {
+            return leaf.keys[i];
+        }
+        return leaf.next == null ? null : leaf.next.keys[0];
+    }
+
+    /**
+     * Walks down to the key's leaf, adding up the sizes of the subtrees passed on the left.
+     * Time Complexity: O(b log_b n)
+     */
+    @Override
+    public int rank(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int rank = 0;
+        Node node = root;
+        while (!node.isLeaf()) {
+            int i = childIndex(node, key);
+            for (int c = 0; c < i; c++) {
+                rank = rank + size(node.children[c]);
+            }
+            node = node.children[i];
+        }
+        return rank + lowerBound(node, key);
+    }
+
+    /**
+     * Skips whole subtrees by their sizes until the rank falls inside one leaf.
+     * Time Complexity: O(b log_b n)
+     */
+    @Override
+    public K select(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Rank: " + rank + ", Size: " + size);
+        }
+        Node node = root;
+        while (!node.isLeaf()) {
+            int c = 0;
+            while (rank >= size(node.children[c])) {
+                rank = rank - size(node.children[c]);
+                c = c + 1;
+            }
+            node = node.children[c];
+        }
+        return node.keys[rank];
+    }
+
+    @Override
+    public Iterator<K> rangeIterator(K lo, K hi) {
+        if (lo == null || hi == null) {
+            throw new IllegalArgumentException("range bound is null");
+        }
+        Node leaf = findLeaf(lo);
+        return new LeafIterator(leaf, lowerBound(leaf, lo), hi);
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new LeafIterator(firstLeaf(), 0, null);
+    }
+
+    @Override
+    public Cursor<K, V> cursor() {
+        return new LeafCursor();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Node leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.n; i++) {
+                action.accept(leaf.keys[i], leaf.values[i]);
+            }
+        }
+    }
+}
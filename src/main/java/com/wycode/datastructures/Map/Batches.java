@@ -0,0 +1,42 @@
+package com.wycode.datastructures.Map;
+
+/**
+ * Argument checks shared by the batch operations of {@link Map}, run before any of
+ * the batch is applied so that a bad batch changes nothing.
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+final class Batches {
+    /**
+     * Keys per chunk for implementations that process a batch in passes, small enough
+     * for the per-chunk scratch arrays to stay in cache.
+     */
+    static final int CHUNK = 256;
+
+    private Batches() {
+    }
+
+    static void checkPut(Object[] keys, Object[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Batch of " + keys.length + " keys has " + values.length + " values");
+        }
+        checkKeys(keys);
+    }
+
+    static void checkGet(Object[] keys, Object[] out) {
+        if (out.length < keys.length) {
+            throw new IllegalArgumentException("Batch of " + keys.length + " keys has room for " + out.length + " values");
+        }
+        checkKeys(keys);
+    }
+
+    private static void checkKeys(Object[] keys) {
+        for (Object key : keys) {
+            if (key == null) {
+                throw new IllegalArgumentException("key is null");
+            }
+        }
+    }
+}
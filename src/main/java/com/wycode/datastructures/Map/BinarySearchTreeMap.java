@@ -7,49 +7,93 @@ import java.util.*;
  * @version 1.0
  **/
 
-public class BinarySearchTreeMap<K extends Comparable<K>, V> implements Map<K, V> {
+public class BinarySearchTreeMap<K extends Comparable<K>, V> implements OrderedMap<K, V> {
 
     private class Entry {
         private K key;
         private V value;
         private Entry left, right;
+        private int size; // number of entries in the subtree rooted here
 
         Entry(K key, V value) {
             this.key = key;
             this.value = value;
-
+            this.size = 1;
         }
     }
 
+    /**
+     * In-order iterator over the keys in [lo, hi]; a null bound means unbounded.
+     */
     private class BSTMapIterator implements Iterator<K> {
-        private Stack<Entry> stack;
+        private ArrayDeque<Entry> stack;
+        private K lo, hi;
 
         public BSTMapIterator() {
-            stack = new Stack<>();
+            this(null, null);
+        }
+
+        public BSTMapIterator(K lo, K hi) {
+            this.lo = lo;
+            this.hi = hi;
+            stack = new ArrayDeque<>();
             pushLeft(root);
         }
 
         private void pushLeft(Entry entry) {
             while (entry != null) {
-                stack.push(entry);
-                entry = entry.left;
+                if (lo != null && entry.key.compareTo(lo) < 0) {
+                    // this key and its whole left subtree are below the range
+                    entry = entry.right;
+                } else {
+                    stack.push(entry);
+                    entry = entry.left;
+                }
             }
         }
 
         @Override
         public boolean hasNext() {
-            return !stack.isEmpty();
+            return !stack.isEmpty() && (hi == null || stack.peek().key.compareTo(hi) <= 0);
         }
 
         @Override
         public K next() {
+            return nextEntry().key;
+        }
+
+        Entry nextEntry() {
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
             Entry entry = stack.pop();
             pushLeft(entry.right);
+            return entry;
+        }
+    }
+
+    private class BSTMapCursor implements Cursor<K, V> {
+        private final BSTMapIterator entries = new BSTMapIterator();
+        private Entry entry;
+
+        @Override
+        public boolean advance() {
+            if (!entries.hasNext()) {
+                return false;
+            }
+            entry = entries.nextEntry();
+            return true;
+        }
+
+        @Override
+        public K key() {
             return entry.key;
         }
+
+        @Override
+        public V value() {
+            return entry.value;
+        }
     }
 
     private Entry root;
@@ -63,7 +107,10 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> implements Map<K, V
 
     @Override
     public boolean containsKey(K key) {
-        return get(root, key) != null;
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        return findEntry(key) != null;
     }
 
     @Override
@@ -71,70 +118,56 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> implements Map<K, V
         if (key == null) {
             throw new IllegalArgumentException("key is null");
         }
-        if (root == null) {
-            return null;
-        }
-        Entry entry = get(root, key);
+        Entry entry = findEntry(key);
         return (entry == null) ? null : entry.value;
     }
 
-    private Entry get(Entry entry, K k) {
-        if (entry == null) {
-            return null;
-        }
-        int cmp = k.compareTo(entry.key);
-        if (cmp < 0) {
-            return get(entry.left, k);
-        } else if (cmp > 0) {
-            return get(entry.right, k);
-        } else {
-            return entry;
-        }
-    }
-
     @Override
     public int size() {
         return size;
     }
 
-    private Entry put(Entry entry, K k, V v) {
-        if (entry == null) {
-            size = size + 1;
-            return new Entry(k, v);
-        }
-        int cmp = k.compareTo(entry.key);
-        if (cmp < 0) {
-            entry.left = put(entry.left, k, v);
-        } else if (cmp > 0) {
-            entry.right = put(entry.right, k, v);
-        } else {
-            entry.value = v;
-        }
-        return entry;
+    private int size(Entry entry) {
+        return entry == null ? 0 : entry.size;
     }
 
+    /**
+     * Updates the value in place if the key exists. Otherwise walks down once more,
+     * growing the subtree size of every entry on the path, and links the new leaf.
+     */
     @Override
     public void put(K key, V value) {
         if (key == null) {
             throw new IllegalArgumentException("key is null");
         }
-        root = put(root, key, value);
-    }
-
-    @Override
-    public Set<K> keySet() {
-        Set<K> keys = new HashSet<>();
-        inOrder(root, keys);
-        return keys;
-    }
-
-    private void inOrder(Entry entry, Set<K> keys) {
-        if (entry == null) {
+        Entry existing = findEntry(key);
+        if (existing != null) {
+            existing.value = value;
             return;
         }
-        inOrder(entry.left, keys);
-        keys.add(entry.key);
-        inOrder(entry.right, keys);
+        Entry entry = new Entry(key, value);
+        size = size + 1;
+        if (root == null) {
+            root = entry;
+            return;
+        }
+        Entry parent = root;
+        while (true) {
+            parent.size = parent.size + 1;
+            if (key.compareTo(parent.key) < 0) {
+                if (parent.left == null) {
+                    parent.left = entry;
+                    return;
+                }
+                parent = parent.left;
+            } else {
+                if (parent.right == null) {
+                    parent.right = entry;
+                    return;
+                }
+                parent = parent.right;
+            }
+        }
     }
 
 
@@ -145,57 +178,70 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> implements Map<K, V
         return entry;
     }
 
-    private Entry findEntry(Entry entry, K key) {
-        if (entry == null) {
-            return null;
-        }
-        int cmp = key.compareTo(entry.key);
-        if (cmp < 0) {
-            return findEntry(entry.left, key);
-        } else if (cmp > 0) {
-            return findEntry(entry.right, key);
+    private Entry findEntry(K key) {
+        Entry entry = root;
+        while (entry != null) {
+            int cmp = key.compareTo(entry.key);
+            if (cmp < 0) {
+                entry = entry.left;
+            } else if (cmp > 0) {
+                entry = entry.right;
+            } else {
+                return entry;
+            }
         }
-        return entry;
+        return null;
     }
 
-    private Entry remove(Entry entry, K key) {
-        if (entry == null) {
-            return null;
+    /**
+     * Unlinks the entry holding a key known to be present, shrinking the subtree size
+     * of every entry on the path. An entry with two children takes over its successor's
+     * key and value, and the successor (which has no left child) is unlinked instead.
+     */
+    private void removeEntry(K key) {
+        Entry parent = null;
+        Entry entry = root;
+        int cmp;
+        while ((cmp = key.compareTo(entry.key)) != 0) {
+            entry.size = entry.size - 1;
+            parent = entry;
+            entry = cmp < 0 ? entry.left : entry.right;
         }
-        int cmp = key.compareTo(entry.key);
-        if (cmp < 0) {
-            entry.left = remove(entry.left, key);
-        } else if (cmp > 0) {
-            entry.right = remove(entry.right, key);
-        } else {
-            if (entry.left == null && entry.right == null) {
-                return null;
-            }
-            if (entry.left == null) {
-                return entry.right;
+        if (entry.left != null && entry.right != null) {
+            entry.size = entry.size - 1;
+            Entry successorParent = entry;
+            Entry successor = entry.right;
+            while (successor.left != null) {
+                successor.size = successor.size - 1;
+                successorParent = successor;
+                successor = successor.left;
             }
-            if (entry.right == null) {
-                return entry.left;
-            }
-            Entry successor = min(entry.right);
             entry.key = successor.key;
             entry.value = successor.value;
-            entry.right = remove(entry.right, successor.key);
+            parent = successorParent;
+            entry = successor;
         }
-        return entry;
+        Entry child = (entry.left != null) ? entry.left : entry.right;
+        if (parent == null) {
+            root = child;
+        } else if (parent.left == entry) {
+            parent.left = child;
+        } else {
+            parent.right = child;
+        }
+        size = size - 1;
     }
 
     public V remove(K key) {
         if (key == null) {
             throw new IllegalArgumentException("key is null");
         }
-        Entry removed = findEntry(root, key);
+        Entry removed = findEntry(key);
         if (removed == null) {
             return null;
         }
         V deletedValue = removed.value;
-        root = remove(root, key);
-        size = size - 1;
+        removeEntry(key);
         return deletedValue;
     }
 
@@ -204,38 +250,159 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> implements Map<K, V
         if (key == null) {
             throw new IllegalArgumentException("key is null");
         }
-        Entry removed = findEntry(root, key);
+        Entry removed = findEntry(key);
         if (removed == null) {
             return null;
         } else if (!removed.value.equals(value)) {
             return null;
         }
         V deletedValue = removed.value;
-        root = remove(root, key);
-        size = size - 1;
+        removeEntry(key);
         return deletedValue;
 
     }
 
 
-    public Iterator<K> iterator() {
-        return new BSTMapIterator();
+    @Override
+    public K min() {
+        if (root == null) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        return min(root).key;
     }
 
+    @Override
+    public K max() {
+        if (root == null) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        return max(root).key;
+    }
 
-    public void printInOrder() {
-        printInOrder(root);
+    private Entry max(Entry entry) {
+        while (entry.right != null) {
+            entry = entry.right;
+        }
+        return entry;
     }
 
-    private void printInOrder(Entry entry) {
-        if (entry == null) {
-            return;
+    @Override
+    public K floor(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        K floor = null;
+        Entry entry = root;
+        while (entry != null) {
+            int cmp = key.compareTo(entry.key);
+            if (cmp == 0) {
+                return entry.key;
+            } else if (cmp < 0) {
+                entry = entry.left;
+            } else {
+                floor = entry.key;
+                entry = entry.right;
+            }
         }
+        return floor;
+    }
 
-        printInOrder(entry.left);
-        System.out.println(entry.key + " -> " + entry.value);
-        printInOrder(entry.right);
+    @Override
+    public K ceiling(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        K ceiling = null;
+        Entry entry = root;
+        while (entry != null) {
+            int cmp = key.compareTo(entry.key);
+            if (cmp == 0) {
+                return entry.key;
+            } else if (cmp > 0) {
+                entry = entry.right;
+            } else {
+                ceiling = entry.key;
+                entry = entry.left;
+            }
+        }
+        return ceiling;
+    }
 
+    /**
+     * Walks down to the key, adding up the sizes of the subtrees passed on the left.
+     * Time Complexity: O(h)
+     */
+    @Override
+    public int rank(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int rank = 0;
+        Entry entry = root;
+        while (entry != null) {
+            int cmp = key.compareTo(entry.key);
+            if (cmp < 0) {
+                entry = entry.left;
+            } else if (cmp > 0) {
+                rank = rank + 1 + size(entry.left);
+                entry = entry.right;
+            } else {
+                return rank + size(entry.left);
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Uses the left subtree size at each step to decide which side holds the key.
+     * Time Complexity: O(h)
+     */
+    @Override
+    public K select(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Rank: " + rank + ", Size: " + size);
+        }
+        Entry entry = root;
+        while (true) {
+            int leftSize = size(entry.left);
+            if (rank < leftSize) {
+                entry = entry.left;
+            } else if (rank > leftSize) {
+                rank = rank - leftSize - 1;
+                entry = entry.right;
+            } else {
+                return entry.key;
+            }
+        }
+    }
 
+    @Override
+    public Iterator<K> rangeIterator(K lo, K hi) {
+        if (lo == null || hi == null) {
+            throw new IllegalArgumentException("range bound is null");
+        }
+        return new BSTMapIterator(lo, hi);
+    }
+
+    public Iterator<K> iterator() {
+        return new BSTMapIterator();
+    }
+
+    /**
+     * Returns a cursor over the entries in key order. It keeps its path in a stack
+     * rather than recursing, since an unbalanced tree can be n levels deep.
+     */
+    @Override
+    public Cursor<K, V> cursor() {
+        return new BSTMapCursor();
+    }
+
+
+    public void printInOrder() {
+        BSTMapIterator entries = new BSTMapIterator();
+        while (entries.hasNext()) {
+            Entry entry = entries.nextEntry();
+            System.out.println(entry.key + " -> " + entry.value);
+        }
     }
 }
@@ -0,0 +1,432 @@
+package com.wycode.datastructures.Map;
+
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+
+/**
+ * A size- or weight-bounded cache. Instead of growing until someone clears it, the cache
+ * evicts a few entries whenever an insertion takes it over its bound.
+ * <p>
+ * Entries are found through a {@link HashMap} index and are ordered by intrusive doubly linked
+ * nodes with a circular sentinel, as in DoubleLinkedList, so reordering on access is O(1)
+ * and allocates nothing. Two eviction policies are available:
+ * <p>
+ * - LRU: a single recency list; the least recently used entry is evicted.
+ * - W_TINY_LFU: new entries enter a small LRU window (1% of the bound). When the window
+ *   overflows, its oldest entry may enter the main region (segmented LRU, 20% probation and
+ *   80% protected) only if a count-min sketch says it is accessed more often than the
+ *   entry it would displace. One-hit wonders and scans therefore cannot flush the hot set.
+ * <p>
+ * Hits, misses and evictions are counted. containsKey is a peek and counts neither.
+ * <p>
+ * Complexity Summary:
+ * - get / put / remove / containsKey: O(1) expected
+ * - Space Complexity: O(n), plus a fixed-size sketch for W_TINY_LFU
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class BoundedCache<K extends Comparable<K>, V> implements Map<K, V> {
+
+    public enum Policy {
+        LRU,
+        W_TINY_LFU
+    }
+
+    /**
+     * Computes the weight of an entry; the cache keeps the total weight within its bound.
+     */
+    public interface Weigher<K, V> {
+        int weigh(K key, V value);
+    }
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private class Node {
+        private K key;
+        private V value;
+        private int weight;
+        private int region;
+        private Node prev, next;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Visits the entries in index order. Like containsKey, this is a peek: it neither
+     * counts as an access nor changes the eviction order.
+     */
+    private class BoundedCacheCursor implements Cursor<K, V> {
+        private final Cursor<K, Node> nodes = index.cursor();
+
+        @Override
+        public boolean advance() {
+            return nodes.advance();
+        }
+
+        @Override
+        public K key() {
+            return nodes.key();
+        }
+
+        @Override
+        public V value() {
+            return nodes.value().value;
+        }
+    }
+
+    private final Policy policy;
+    private final Weigher<K, V> weigher;
+    private final long maximum;
+    private final long maxWindow;
+    private final long maxProtected;
+    private final HashMap<K, Node> index;
+    private final FrequencySketch sketch;
+    // sentinels of the circular lists, least recently used first; LRU uses only the window
+    private final Node window, probation, protect;
+    private final long[] regionWeight = new long[3];
+    private long weight;
+    private long hits, misses, evictions;
+
+    /**
+     * Creates a cache holding at most maximumSize entries.
+     */
+    public BoundedCache(long maximumSize, Policy policy) {
+        this(maximumSize, policy, (key, value) -> 1);
+    }
+
+    /**
+     * Creates a cache whose entries weigh at most maximumWeight in total.
+     */
+    public BoundedCache(long maximumWeight, Policy policy, Weigher<K, V> weigher) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Illegal maximum: " + maximumWeight);
+        }
+        this.policy = policy;
+        this.weigher = weigher;
+        this.maximum = maximumWeight;
+        this.index = new HashMap<>();
+        this.window = sentinel();
+        this.probation = sentinel();
+        this.protect = sentinel();
+        if (policy == Policy.W_TINY_LFU) {
+            this.maxWindow = Math.max(1, maximumWeight / 100);
+            this.maxProtected = (maximumWeight - maxWindow) * 4 / 5;
+            this.sketch = new FrequencySketch(maximumWeight);
+        } else {
+            this.maxWindow = maximumWeight;
+            this.maxProtected = 0;
+            this.sketch = null;
+        }
+    }
+
+    private Node sentinel() {
+        Node head = new Node(null, null, 0);
+        head.prev = head;
+        head.next = head;
+        return head;
+    }
+
+    private Node list(int region) {
+        return region == WINDOW ? window : region == PROBATION ? probation : protect;
+    }
+
+    private void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        regionWeight[node.region] = regionWeight[node.region] - node.weight;
+    }
+
+    private void linkLast(Node node, int region) {
+        Node head = list(region);
+        node.region = region;
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+        regionWeight[region] = regionWeight[region] + node.weight;
+    }
+
+    private void moveToRegion(Node node, int region) {
+        unlink(node);
+        linkLast(node, region);
+    }
+
+    /**
+     * Makes the node the most recently used. In W-TinyLFU a second access in probation
+     * promotes it to protected, demoting protected entries that no longer fit.
+     */
+    private void recordAccess(Node node) {
+        if (sketch != null) {
+            sketch.increment(node.key.hashCode());
+        }
+        if (node.region == PROBATION) {
+            moveToRegion(node, PROTECTED);
+            while (regionWeight[PROTECTED] > maxProtected) {
+                moveToRegion(protect.next, PROBATION);
+            }
+        } else {
+            moveToRegion(node, node.region);
+        }
+    }
+
+    private void evict(Node node) {
+        unlink(node);
+        index.remove(node.key);
+        weight = weight - node.weight;
+        evictions = evictions + 1;
+    }
+
+    private void evictIfNeeded() {
+        if (policy == Policy.W_TINY_LFU) {
+            drainWindow();
+        }
+        // whatever still does not fit goes oldest first: window, then probation, then protected
+        while (weight > maximum) {
+            int region = window.next != window ? WINDOW : probation.next != probation ? PROBATION : PROTECTED;
+            evict(list(region).next);
+        }
+    }
+
+    /**
+     * Moves window overflow into the main region. A candidate that would not fit must be
+     * accessed more often than the probation entry it displaces, otherwise it is dropped.
+     */
+    private void drainWindow() {
+        long maxMain = maximum - maxWindow;
+        while (regionWeight[WINDOW] > maxWindow) {
+            Node candidate = window.next;
+            long mainWeight = regionWeight[PROBATION] + regionWeight[PROTECTED];
+            if (mainWeight + candidate.weight > maxMain) {
+                Node victim = probation.next != probation ? probation.next : protect.next;
+                if (victim != protect && sketch.frequency(candidate.key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+                    evict(candidate);
+                    continue;
+                }
+            }
+            moveToRegion(candidate, PROBATION);
+            while (regionWeight[PROBATION] + regionWeight[PROTECTED] > maxMain && probation.next != candidate) {
+                evict(probation.next != probation ? probation.next : protect.next);
+            }
+        }
+    }
+
+    public long hitCount() {
+        return hits;
+    }
+
+    public long missCount() {
+        return misses;
+    }
+
+    public long evictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns hits / (hits + misses), or 1 if get was never called.
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    /**
+     * Returns the total weight of the entries; equal to size() without a weigher.
+     */
+    public long weightedSize() {
+        return weight;
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        window.prev = window;
+        window.next = window;
+        probation.prev = probation;
+        probation.next = probation;
+        protect.prev = protect;
+        protect.next = protect;
+        regionWeight[WINDOW] = 0;
+        regionWeight[PROBATION] = 0;
+        regionWeight[PROTECTED] = 0;
+        weight = 0;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        return index.containsKey(key);
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node node = index.get(key);
+        if (node == null) {
+            misses = misses + 1;
+            if (sketch != null) {
+                // misses count too, so a key that keeps coming back earns admission
+                sketch.increment(key.hashCode());
+            }
+            return null;
+        }
+        hits = hits + 1;
+        recordAccess(node);
+        return node.value;
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int entryWeight = weigher.weigh(key, value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Illegal weight: " + entryWeight);
+        }
+        Node node = index.get(key);
+        if (node != null) {
+            weight = weight + entryWeight - node.weight;
+            regionWeight[node.region] = regionWeight[node.region] + entryWeight - node.weight;
+            node.value = value;
+            node.weight = entryWeight;
+            recordAccess(node);
+        } else {
+            node = new Node(key, value, entryWeight);
+            index.put(key, node);
+            linkLast(node, WINDOW);
+            weight = weight + entryWeight;
+            if (sketch != null) {
+                sketch.increment(key.hashCode());
+            }
+        }
+        evictIfNeeded();
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node node = index.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        weight = weight - node.weight;
+        return node.value;
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node node = index.get(key);
+        if (node == null || !java.util.Objects.equals(node.value, value)) {
+            return null;
+        }
+        return remove(key);
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return index.iterator();
+    }
+
+    @Override
+    public Cursor<K, V> cursor() {
+        return new BoundedCacheCursor();
+    }
+
+    /**
+     * Calls the action for every entry without counting accesses, like cursor().
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        index.forEach((key, node) -> action.accept(key, node.value));
+    }
+
+    /**
+     * A count-min sketch of 4-bit counters, 16 to a long, estimating how often each key was
+     * seen. All counters are halved every sampleSize increments so that old popularity fades.
+     */
+    private static class FrequencySketch {
+        private static final long[] SEEDS = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(long maximum) {
+            int length = 16;
+            while (length < maximum && length < (1 << 22)) {
+                length = length * 2;
+            }
+            table = new long[length];
+            sampleSize = 10 * length;
+        }
+
+        private int indexOf(int hash, int depth) {
+            long h = (hash + SEEDS[depth]) * SEEDS[depth];
+            h += h >>> 32;
+            return (int) h & (table.length - 1);
+        }
+
+        private static int offsetOf(int hash, int depth) {
+            // counter position within the long, different for each row
+            return (((hash >>> (depth << 3)) & 3) << 2 | depth) << 2;
+        }
+
+        int frequency(int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for (int depth = 0; depth < 4; depth++) {
+                int count = (int) ((table[indexOf(hash, depth)] >>> offsetOf(hash, depth)) & 15L);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int depth = 0; depth < 4; depth++) {
+                int i = indexOf(hash, depth);
+                int offset = offsetOf(hash, depth);
+                if (((table[i] >>> offset) & 15L) != 15L) {
+                    table[i] = table[i] + (1L << offset);
+                    added = true;
+                }
+            }
+            if (added) {
+                additions = additions + 1;
+                if (additions == sampleSize) {
+                    reset();
+                }
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions = additions / 2;
+        }
+    }
+}
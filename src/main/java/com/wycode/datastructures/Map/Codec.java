@@ -0,0 +1,88 @@
+package com.wycode.datastructures.Map;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts keys or values to and from the bytes stored by maps that keep their entries
+ * outside the Java heap, such as {@link MappedHashMap} and {@link OffHeapHashMap}.
+ *
+ * @param <T> the type being encoded
+ */
+public interface Codec<T> {
+
+    byte[] encode(T value);
+
+    T decode(byte[] bytes);
+
+    /**
+     * Hashes encoded key bytes: FNV-1a, then the murmur3 finalizer. Arrays.hashCode is too
+     * weak for open addressing: the big-endian bytes of small longs collapse onto a few
+     * thousand values, and linear probing turns those collisions into long clusters.
+     *
+     * @param bytes the encoded key
+     * @return the hash
+     */
+    static int hash(byte[] bytes) {
+        int h = 0x811C9DC5;
+        for (byte b : bytes) {
+            h = (h ^ b) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    Codec<String> STRING = new Codec<>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    Codec<Integer> INTEGER = new Codec<>() {
+        @Override
+        public byte[] encode(Integer value) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+        }
+
+        @Override
+        public Integer decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+
+    Codec<Long> LONG = new Codec<>() {
+        @Override
+        public byte[] encode(Long value) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+        }
+
+        @Override
+        public Long decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getLong();
+        }
+    };
+
+    /**
+     * Stores byte arrays as they are, so byte[] keys compare by content.
+     */
+    Codec<byte[]> BYTES = new Codec<>() {
+        @Override
+        public byte[] encode(byte[] value) {
+            return value;
+        }
+
+        @Override
+        public byte[] decode(byte[] bytes) {
+            return bytes;
+        }
+    };
+}
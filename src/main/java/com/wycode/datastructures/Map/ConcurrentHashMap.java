@@ -0,0 +1,440 @@
+package com.wycode.datastructures.Map;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * A thread-safe hash map.
+ * <p>
+ * - Reads never lock: bins live in an AtomicReferenceArray and node values/links are volatile.
+ * - An empty bin is claimed with a single CAS; a non-empty bin is locked by synchronizing
+ * on its first node, so writers only contend when they hit the same bin.
+ * - Resizing is shared: the thread that starts it and every writer that runs into it claim
+ * strides of old bins, copy them into the new table and leave a forwarding node behind.
+ * Readers that meet a forwarding node simply continue in the new table.
+ * <p>
+ * Null keys and null values are not allowed, so get returning null always means "absent".
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class ConcurrentHashMap<K extends Comparable<K>, V> implements Map<K, V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int TRANSFER_STRIDE = 16;
+
+    private static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Placed in an old bin once its entries have been copied to the next table.
+     */
+    private static class ForwardingNode<K, V> extends Node<K, V> {
+        final AtomicReferenceArray<Node<K, V>> nextTable;
+
+        ForwardingNode(AtomicReferenceArray<Node<K, V>> nextTable) {
+            super(-1, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    /**
+     * State of one table doubling, shared by every thread that helps with it.
+     */
+    private static class Transfer<K, V> {
+        final AtomicReferenceArray<Node<K, V>> oldTable;
+        final AtomicReferenceArray<Node<K, V>> newTable;
+        final ForwardingNode<K, V> forward;
+        final AtomicInteger nextBin = new AtomicInteger();
+        final AtomicInteger doneBins = new AtomicInteger();
+
+        Transfer(AtomicReferenceArray<Node<K, V>> oldTable) {
+            this.oldTable = oldTable;
+            this.newTable = new AtomicReferenceArray<>(oldTable.length() * 2);
+            this.forward = new ForwardingNode<>(newTable);
+        }
+    }
+
+    /**
+     * A bin still to be visited by a cursor.
+     */
+    private static class Bin<K, V> {
+        final AtomicReferenceArray<Node<K, V>> tab;
+        final int index;
+
+        Bin(AtomicReferenceArray<Node<K, V>> tab, int index) {
+            this.tab = tab;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Weakly consistent: it visits every entry that was present when it was created and not
+     * removed since, and may or may not see later changes. A bin that has moved to the next
+     * table is followed there, to bins i and i + n.
+     */
+    private class ConcurrentHashMapCursor implements Cursor<K, V> {
+        private final AtomicReferenceArray<Node<K, V>> base = table;
+        private int baseIndex;
+        private ArrayDeque<Bin<K, V>> forwarded; // only needed while a resize is in progress
+        private Node<K, V> node;
+        private K key;
+        private V value;
+
+        @Override
+        public boolean advance() {
+            if (node != null) {
+                node = node.next;
+            }
+            while (node == null) {
+                if (forwarded != null && !forwarded.isEmpty()) {
+                    Bin<K, V> bin = forwarded.pop();
+                    node = open(bin.tab, bin.index);
+                } else if (baseIndex < base.length()) {
+                    node = open(base, baseIndex);
+                    baseIndex = baseIndex + 1;
+                } else {
+                    return false;
+                }
+            }
+            key = node.key;
+            value = node.value;
+            return true;
+        }
+
+        private Node<K, V> open(AtomicReferenceArray<Node<K, V>> tab, int i) {
+            Node<K, V> e = tab.get(i);
+            if (e instanceof ForwardingNode) {
+                AtomicReferenceArray<Node<K, V>> next = ((ForwardingNode<K, V>) e).nextTable;
+                if (forwarded == null) {
+                    forwarded = new ArrayDeque<>();
+                }
+                forwarded.push(new Bin<>(next, i + tab.length()));
+                forwarded.push(new Bin<>(next, i));
+                return null;
+            }
+            return e;
+        }
+
+        @Override
+        public K key() {
+            return key;
+        }
+
+        @Override
+        public V value() {
+            return value;
+        }
+    }
+
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+    private volatile Transfer<K, V> transfer;
+    private final Object resizeLock = new Object();
+    private final LongAdder count = new LongAdder();
+
+    public ConcurrentHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ConcurrentHashMap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0:" + capacity);
+        }
+        int n = Integer.highestOneBit(Math.min(capacity, MAXIMUM_CAPACITY));
+        table = new AtomicReferenceArray<>(n < capacity ? n << 1 : n);
+    }
+
+    @Override
+    public void clear() {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        int i = 0;
+        while (i < tab.length()) {
+            Node<K, V> f = tab.get(i);
+            if (f == null) {
+                i = i + 1;
+            } else if (f instanceof ForwardingNode) {
+                helpTransfer(tab);
+                tab = table;
+                i = 0;
+            } else {
+                synchronized (f) {
+                    if (tab.get(i) == f) {
+                        int removed = 0;
+                        for (Node<K, V> e = f; e != null; e = e.next) {
+                            removed = removed + 1;
+                        }
+                        tab.set(i, null);
+                        count.add(-removed);
+                        i = i + 1;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        Node<K, V> e = tab.get(h & (tab.length() - 1));
+        while (e != null) {
+            if (e instanceof ForwardingNode) {
+                tab = ((ForwardingNode<K, V>) e).nextTable;
+                e = tab.get(h & (tab.length() - 1));
+                continue;
+            }
+            if (e.hash == h && e.key.equals(key)) {
+                return e.value;
+            }
+            e = e.next;
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : (int) Math.min(n, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("value is null");
+        }
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int i = h & (tab.length() - 1);
+            Node<K, V> f = tab.get(i);
+            if (f == null) {
+                if (tab.compareAndSet(i, null, new Node<>(h, key, value, null))) {
+                    break;
+                }
+            } else if (f instanceof ForwardingNode) {
+                helpTransfer(tab);
+                tab = ((ForwardingNode<K, V>) f).nextTable;
+            } else {
+                synchronized (f) {
+                    if (tab.get(i) != f) {
+                        continue;
+                    }
+                    Node<K, V> e = f;
+                    while (true) {
+                        if (e.hash == h && e.key.equals(key)) {
+                            e.value = value;
+                            return;
+                        }
+                        if (e.next == null) {
+                            e.next = new Node<>(h, key, value, null);
+                            break;
+                        }
+                        e = e.next;
+                    }
+                }
+                break;
+            }
+        }
+        count.increment();
+        if (count.sum() > (long) tab.length() * 3 / 4) {
+            resize(tab);
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        return remove(key, null, false);
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        return remove(key, value, true);
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the keys, walking the table like cursor().
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new MapViews.CursorIterator<>(cursor(), Cursor::key);
+    }
+
+    @Override
+    public Cursor<K, V> cursor() {
+        return new ConcurrentHashMapCursor();
+    }
+
+    /**
+     * Weakly consistent, like cursor().
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        for (int i = 0; i < tab.length(); i++) {
+            forEachInBin(tab, i, action);
+        }
+    }
+
+    private void forEachInBin(AtomicReferenceArray<Node<K, V>> tab, int i, BiConsumer<? super K, ? super V> action) {
+        Node<K, V> e = tab.get(i);
+        if (e instanceof ForwardingNode) {
+            AtomicReferenceArray<Node<K, V>> next = ((ForwardingNode<K, V>) e).nextTable;
+            forEachInBin(next, i, action);
+            forEachInBin(next, i + tab.length(), action);
+            return;
+        }
+        for (; e != null; e = e.next) {
+            action.accept(e.key, e.value);
+        }
+    }
+
+    private V remove(K key, V value, boolean matchValue) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int i = h & (tab.length() - 1);
+            Node<K, V> f = tab.get(i);
+            if (f == null) {
+                return null;
+            }
+            if (f instanceof ForwardingNode) {
+                helpTransfer(tab);
+                tab = ((ForwardingNode<K, V>) f).nextTable;
+                continue;
+            }
+            synchronized (f) {
+                if (tab.get(i) != f) {
+                    continue;
+                }
+                Node<K, V> pred = null;
+                for (Node<K, V> e = f; e != null; pred = e, e = e.next) {
+                    if (e.hash == h && e.key.equals(key)) {
+                        V old = e.value;
+                        if (matchValue && !value.equals(old)) {
+                            return null;
+                        }
+                        if (pred == null) {
+                            tab.set(i, e.next);
+                        } else {
+                            pred.next = e.next;
+                        }
+                        count.decrement();
+                        return old;
+                    }
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Starts doubling the given table unless it is already at maximum size or
+     * someone else has already replaced or started transferring it.
+     */
+    private void resize(AtomicReferenceArray<Node<K, V>> tab) {
+        if (tab.length() >= MAXIMUM_CAPACITY) {
+            return;
+        }
+        synchronized (resizeLock) {
+            if (table != tab || transfer != null) {
+                return;
+            }
+            transfer = new Transfer<>(tab);
+        }
+        helpTransfer(tab);
+    }
+
+    /**
+     * Claims strides of old bins and moves them until none are left unclaimed.
+     * The thread that moves the last bin installs the new table.
+     */
+    private void helpTransfer(AtomicReferenceArray<Node<K, V>> tab) {
+        Transfer<K, V> t = transfer;
+        if (t == null || t.oldTable != tab) {
+            return;
+        }
+        int n = tab.length();
+        int start;
+        while ((start = t.nextBin.getAndAdd(TRANSFER_STRIDE)) < n) {
+            int end = Math.min(start + TRANSFER_STRIDE, n);
+            for (int i = start; i < end; i++) {
+                transferBin(t, i);
+            }
+            if (t.doneBins.addAndGet(end - start) == n) {
+                table = t.newTable;
+                transfer = null;
+            }
+        }
+    }
+
+    /**
+     * Splits old bin i into new bins i and i + n, then replaces it with the forwarding node.
+     * Old nodes are copied rather than relinked so concurrent readers never see a broken chain.
+     */
+    private void transferBin(Transfer<K, V> t, int i) {
+        int n = t.oldTable.length();
+        while (true) {
+            Node<K, V> f = t.oldTable.get(i);
+            if (f == null) {
+                if (t.oldTable.compareAndSet(i, null, t.forward)) {
+                    return;
+                }
+                continue;
+            }
+            synchronized (f) {
+                if (t.oldTable.get(i) != f) {
+                    continue;
+                }
+                Node<K, V> lo = null;
+                Node<K, V> hi = null;
+                for (Node<K, V> e = f; e != null; e = e.next) {
+                    if ((e.hash & n) == 0) {
+                        lo = new Node<>(e.hash, e.key, e.value, lo);
+                    } else {
+                        hi = new Node<>(e.hash, e.key, e.value, hi);
+                    }
+                }
+                t.newTable.set(i, lo);
+                t.newTable.set(i + n, hi);
+                t.oldTable.set(i, t.forward);
+                return;
+            }
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 20) ^ (h >>> 12) ^ (h >>> 7) ^ (h >>> 4);
+        return h & 0x7fffffff;
+    }
+}
@@ -0,0 +1,511 @@
+package com.wycode.datastructures.Map;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * A thread-safe ordered map built on a lock-free skip list.
+ * <p>
+ * - Every node keeps one successor link per level in a plain array, read and CASed
+ * through a VarHandle. Inserts splice a node in with a CAS on each level, bottom first.
+ * - Removal is logical first: the value is CASed to null, which is the moment the key
+ * leaves the map. Then every link of the node is swapped for a marker holding the old
+ * successor, so no insert can land behind it, and any search that meets a marker
+ * unlinks the node.
+ * - Nothing ever locks. Readers skip nodes whose value is null, so they never see a
+ * removed key, and navigation and iteration are weakly consistent under writers.
+ * <p>
+ * Null keys and null values are not allowed, so get returning null always means "absent".
+ * <p>
+ * Complexity Summary (expected):
+ * - get / put / remove / containsKey: O(log n)
+ * - floor / ceiling / min / max: O(log n)
+ * - rangeIterator: O(log n + number of keys in range)
+ * - rank / select: O(n), as the list keeps no subtree sizes
+ * - Space Complexity: O(n), two links per node on average
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class ConcurrentSkipListMap<K extends Comparable<K>, V> implements OrderedMap<K, V> {
+    private static final int MAX_LEVEL = 32;
+
+    private static final AtomicReferenceFieldUpdater<Node, Object> VALUE =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Object.class, "value");
+    private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    private static class Node<K, V> {
+        final K key; // null only in the head and in markers
+        volatile Object value; // null once removed
+        final Node<K, V>[] next; // one successor per level, read and CASed through NEXT
+
+        Node(K key, Object value, int levels) {
+            this.key = key;
+            this.value = value;
+            this.next = levels == 0 ? null : new Node[levels];
+        }
+
+        Node<K, V> link(int level) {
+            return (Node<K, V>) NEXT.getVolatile(next, level);
+        }
+
+        boolean casLink(int level, Node<K, V> expected, Node<K, V> update) {
+            return NEXT.compareAndSet(next, level, expected, update);
+        }
+
+        /**
+         * Returns the successor on a level, looking through the marker of a removed node.
+         */
+        Node<K, V> successor(int level) {
+            Node<K, V> link = link(level);
+            return link instanceof Marker ? ((Marker<K, V>) link).successor : link;
+        }
+
+        boolean casValue(Object expected, Object update) {
+            return VALUE.compareAndSet(this, expected, update);
+        }
+    }
+
+    /**
+     * Replaces a link of a removed node. A CAS that expects the old successor fails on a
+     * marker, so no insert can land behind the removed node, and searches that meet one
+     * unlink the node from its predecessor.
+     */
+    private static final class Marker<K, V> extends Node<K, V> {
+        final Node<K, V> successor;
+
+        Marker(Node<K, V> successor) {
+            super(null, null, 0);
+            this.successor = successor;
+        }
+    }
+
+    private class SkipListCursor implements Cursor<K, V> {
+        private Node<K, V> current;
+        private final K lo, hi; // null for no bound
+        private K key;
+        private V value;
+
+        SkipListCursor(Node<K, V> before, K lo, K hi) {
+            this.current = before;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        public boolean advance() {
+            while (current != null) {
+                current = current.successor(0);
+                if (current == null || (hi != null && current.key.compareTo(hi) > 0)) {
+                    current = null;
+                    return false;
+                }
+                Object v = current.value;
+                // a key below lo may have been inserted after the node the cursor started from
+                if (v != null && (lo == null || current.key.compareTo(lo) >= 0)) {
+                    key = current.key;
+                    value = (V) v;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public K key() {
+            return key;
+        }
+
+        @Override
+        public V value() {
+            return value;
+        }
+    }
+
+    private final Node<K, V> head = new Node<>(null, null, MAX_LEVEL);
+    private final LongAdder count = new LongAdder();
+
+    private static int randomLevel() {
+        // each extra level with probability 1/2
+        int level = Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt()) + 1;
+        return Math.min(level, MAX_LEVEL);
+    }
+
+    /**
+     * Fills preds and succs with the neighbours of key on every level, unlinking each
+     * removed node it passes. Starts over if another thread changes a link under it.
+     *
+     * @return the bottom-level node holding key, which may already be removed, or null
+     */
+    private Node<K, V> find(K key, Node<K, V>[] preds, Node<K, V>[] succs) {
+        retry:
+        while (true) {
+            Node<K, V> pred = head;
+            Node<K, V> curr = null;
+            Node<K, V> bound = null; // already known to be at or after key
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                curr = pred.link(level);
+                while (curr != null) {
+                    if (curr instanceof Marker) {
+                        continue retry; // pred itself was removed
+                    }
+                    Node<K, V> succ = curr.link(level);
+                    if (succ instanceof Marker) {
+                        if (!pred.casLink(level, curr, ((Marker<K, V>) succ).successor)) {
+                            continue retry;
+                        }
+                        curr = ((Marker<K, V>) succ).successor;
+                    } else if (curr != bound && curr.key.compareTo(key) < 0) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        bound = curr;
+                        break;
+                    }
+                }
+                if (preds != null) {
+                    preds[level] = pred;
+                    succs[level] = curr;
+                }
+            }
+            return curr != null && curr.key.compareTo(key) == 0 ? curr : null;
+        }
+    }
+
+    /**
+     * Walks down to the last node whose key is below key, or at or below it when inclusive.
+     * A null key means no bound. May return a removed node on the bottom level, but never
+     * moves down through one: its links are frozen and would skip keys inserted after it,
+     * so it is unlinked and the walk starts over.
+     */
+    private Node<K, V> findPredecessor(K key, boolean inclusive) {
+        retry:
+        while (true) {
+            Node<K, V> pred = head;
+            Node<K, V> bound = null; // already known to be past key
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                Node<K, V> curr = pred.successor(level);
+                while (curr != null && curr != bound) {
+                    int cmp = key == null ? -1 : curr.key.compareTo(key);
+                    if (cmp > 0 || (cmp == 0 && !inclusive)) {
+                        bound = curr;
+                        break;
+                    }
+                    pred = curr;
+                    curr = curr.successor(level);
+                }
+                if (level > 0 && pred != head && pred.value == null) {
+                    markLinks(pred);
+                    find(pred.key, null, null);
+                    continue retry;
+                }
+            }
+            return pred;
+        }
+    }
+
+    /**
+     * Returns the first live node with a key of at least key on the bottom level, or null.
+     * A null key means no bound. Starts from the predecessor of key, which may have gained
+     * new successors below key since it was found.
+     */
+    private Node<K, V> firstLive(K key) {
+        Node<K, V> node = (key == null ? head : findPredecessor(key, false)).successor(0);
+        while (node != null && (node.value == null || (key != null && node.key.compareTo(key) < 0))) {
+            node = node.successor(0);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the last live node at or below key (strictly below if not inclusive),
+     * or null. A removed candidate moves the bound left of it and the search repeats.
+     */
+    private Node<K, V> lastLive(K key, boolean inclusive) {
+        while (true) {
+            Node<K, V> node = findPredecessor(key, inclusive);
+            if (node == head) {
+                return null;
+            }
+            if (node.value != null) {
+                return node;
+            }
+            key = node.key;
+            inclusive = false;
+        }
+    }
+
+    /**
+     * Puts a marker on every link of a node whose value is already null, top level first,
+     * so nothing can be inserted behind it.
+     */
+    private void markLinks(Node<K, V> node) {
+        for (int level = node.next.length - 1; level >= 0; level--) {
+            while (true) {
+                Node<K, V> link = node.link(level);
+                if (link instanceof Marker || node.casLink(level, link, new Marker<>(link))) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Node<K, V> node = head.successor(0); node != null; node = node.successor(0)) {
+            remove(node.key);
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node<K, V> node = findPredecessor(key, true);
+        if (node == head || node.key.compareTo(key) != 0) {
+            return null;
+        }
+        Object value = node.value;
+        if (value == null) {
+            // a removed node that is still linked may hide a newer one for the same key
+            node = find(key, null, null);
+            value = node == null ? null : node.value;
+        }
+        return (V) value;
+    }
+
+    /**
+     * Returns the number of entries. Under concurrent writers it is an estimate.
+     */
+    @Override
+    public int size() {
+        return (int) Math.max(0, count.sum());
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("value is null");
+        }
+        Node<K, V>[] preds = new Node[MAX_LEVEL];
+        Node<K, V>[] succs = new Node[MAX_LEVEL];
+        int levels = randomLevel();
+        while (true) {
+            Node<K, V> found = find(key, preds, succs);
+            if (found != null) {
+                Object old = found.value;
+                if (old != null && found.casValue(old, value)) {
+                    return;
+                }
+                if (old == null) {
+                    // a remover won: help it unlink the node, then insert afresh
+                    markLinks(found);
+                }
+                continue;
+            }
+            Node<K, V> node = new Node<>(key, value, levels);
+            System.arraycopy(succs, 0, node.next, 0, levels);
+            if (!preds[0].casLink(0, succs[0], node)) {
+                continue;
+            }
+            count.increment();
+            linkUpperLevels(node, preds, succs);
+            return;
+        }
+    }
+
+    /**
+     * Links a node that is already in the bottom level into its upper levels. Gives up
+     * quietly if the node is removed meanwhile, since then the links are not needed.
+     * A remover may finish its cleanup between the marker check and the splice; the
+     * recheck after the splice then unlinks the node again.
+     */
+    private void linkUpperLevels(Node<K, V> node, Node<K, V>[] preds, Node<K, V>[] succs) {
+        for (int level = 1; level < node.next.length; level++) {
+            while (true) {
+                Node<K, V> succ = succs[level];
+                Node<K, V> link = node.link(level);
+                if (link instanceof Marker || (link != succ && !node.casLink(level, link, succ))) {
+                    return;
+                }
+                beforeUpperLink(node.key, level);
+                if (preds[level].casLink(level, succ, node)) {
+                    if (node.value == null || node.link(level) instanceof Marker) {
+                        find(node.key, null, null);
+                        return;
+                    }
+                    break;
+                }
+                if (find(node.key, preds, succs) != node) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Test-only seam, called right before put splices a node into an upper level. Does
+     * nothing; a test in this package overrides it to remove the node inside that window,
+     * which a stress test on one core almost never hits.
+     */
+    void beforeUpperLink(K key, int level) {
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        return remove(key, null, false);
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        return remove(key, value, true);
+    }
+
+    private V remove(K key, V value, boolean matchValue) {
+        while (true) {
+            Node<K, V> found = find(key, null, null);
+            if (found == null) {
+                return null;
+            }
+            Object old = found.value;
+            if (old == null || (matchValue && !old.equals(value))) {
+                return null;
+            }
+            if (found.casValue(old, null)) {
+                count.decrement();
+                markLinks(found);
+                find(key, null, null); // unlinks it
+                return (V) old;
+            }
+        }
+    }
+
+    @Override
+    public K min() {
+        Node<K, V> node = firstLive(null);
+        if (node == null) {
+            throw new NoSuchElementException("map is empty");
+        }
+        return node.key;
+    }
+
+    @Override
+    public K max() {
+        Node<K, V> node = lastLive(null, true);
+        if (node == null) {
+            throw new NoSuchElementException("map is empty");
+        }
+        return node.key;
+    }
+
+    @Override
+    public K floor(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node<K, V> node = lastLive(key, true);
+        return node == null ? null : node.key;
+    }
+
+    @Override
+    public K ceiling(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node<K, V> node = firstLive(key);
+        return node == null ? null : node.key;
+    }
+
+    /**
+     * Counts the live keys below key along the bottom level.
+     * Time Complexity: O(n)
+     */
+    @Override
+    public int rank(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int rank = 0;
+        for (Node<K, V> node = head.successor(0); node != null && node.key.compareTo(key) < 0;
+             node = node.successor(0)) {
+            if (node.value != null) {
+                rank = rank + 1;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Walks the bottom level to the live key of the given rank.
+     * Time Complexity: O(n)
+     */
+    @Override
+    public K select(int rank) {
+        if (rank >= 0) {
+            int seen = 0;
+            for (Node<K, V> node = head.successor(0); node != null; node = node.successor(0)) {
+                if (node.value != null) {
+                    if (seen == rank) {
+                        return node.key;
+                    }
+                    seen = seen + 1;
+                }
+            }
+        }
+        throw new IndexOutOfBoundsException("Rank: " + rank + ", Size: " + size());
+    }
+
+    @Override
+    public Iterator<K> rangeIterator(K lo, K hi) {
+        if (lo == null || hi == null) {
+            throw new IllegalArgumentException("range bound is null");
+        }
+        return new MapViews.CursorIterator<>(new SkipListCursor(findPredecessor(lo, false), lo, hi), Cursor::key);
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new MapViews.CursorIterator<>(cursor(), Cursor::key);
+    }
+
+    /**
+     * Returns a weakly consistent cursor in key order: it never fails under concurrent
+     * writers, and sees every key present for its whole walk.
+     */
+    @Override
+    public Cursor<K, V> cursor() {
+        return new SkipListCursor(head, null, null);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Node<K, V> node = head.successor(0); node != null; node = node.successor(0)) {
+            Object value = node.value;
+            if (value != null) {
+                action.accept(node.key, (V) value);
+            }
+        }
+    }
+}
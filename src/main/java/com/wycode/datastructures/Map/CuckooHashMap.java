@@ -0,0 +1,495 @@
+package com.wycode.datastructures.Map;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A bucketized cuckoo hash map: every key lives in one of exactly two buckets of 4 slots,
+ * so get looks at no more than 8 slots of the table, plus a small stash.
+ * <p>
+ * - Both buckets come from HashMap's spreading of hashCode: the first is its low bits, the
+ * second its Fibonacci hash (times an odd multiplier, high bits).
+ * - When both buckets are full, put evicts a random resident to that resident's other
+ * bucket, and so on for up to MAX_KICKS moves. An entry still homeless after that goes
+ * into the stash, which every lookup also checks.
+ * - When the stash outgrows its limit the table is rehashed with a new multiplier, and
+ * doubled if that is not enough. The table also doubles past a load factor of 0.9, which
+ * 4-slot buckets reach without long eviction chains.
+ * - Keys sharing one hashCode cannot be split by any hash function. Once their two buckets
+ * are full the rest stay in the stash, and the stash limit grows with them so they do not
+ * trigger endless rehashing.
+ * <p>
+ * Probe and load statistics are kept: see maxLookupProbes, maxDisplacements, loadFactor,
+ * peakLoadFactor and rehashCount.
+ * <p>
+ * Complexity Summary:
+ * - get / containsKey / remove: O(1) worst case, two buckets plus the stash
+ * - put: O(1) expected, amortized over rehashes
+ * - Space Complexity: O(capacity), two references and one int per slot
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class CuckooHashMap<K extends Comparable<K>, V> implements Map<K, V> {
+    private static final int SLOTS = 4; // per bucket
+    private static final int DEFAULT_BUCKETS = 4;
+    private static final int MAX_KICKS = 500;
+    private static final int STASH_LIMIT = 4;
+    private static final double MAX_LOAD = 0.9;
+    private static final int GOLDEN = 0x9E3779B9;
+
+    private int bucketBits;
+    private Object[] table; // slot i holds its key at 2i, null if empty, and its value at 2i + 1
+    private int[] hashes;
+    private int multiplier = GOLDEN;
+    private int size;
+
+    private Object[] stashKeys = new Object[STASH_LIMIT];
+    private V[] stashValues = (V[]) new Object[STASH_LIMIT];
+    private int[] stashHashes = new int[STASH_LIMIT];
+    private int stashSize;
+    private int stashLimit = STASH_LIMIT;
+
+    private long random = 0x2545F4914F6CDD1DL;
+    private int maxDisplacements;
+    private double peakLoadFactor;
+    private int rehashes;
+
+    /**
+     * Walks the table slots and then the stash.
+     */
+    private class CuckooCursor implements Cursor<K, V> {
+        private final Object[] table = CuckooHashMap.this.table;
+        private int index = -2;
+        private int stashIndex = -1;
+
+        @Override
+        public boolean advance() {
+            if (index < table.length) {
+                index = index + 2;
+                while (index < table.length && table[index] == null) {
+                    index = index + 2;
+                }
+                if (index < table.length) {
+                    return true;
+                }
+            }
+            stashIndex = stashIndex + 1;
+            return stashIndex < stashSize;
+        }
+
+        @Override
+        public K key() {
+            return (K) (index < table.length ? table[index] : stashKeys[stashIndex]);
+        }
+
+        @Override
+        public V value() {
+            return index < table.length ? (V) table[index + 1] : stashValues[stashIndex];
+        }
+    }
+
+    public CuckooHashMap() {
+        this(DEFAULT_BUCKETS * SLOTS);
+    }
+
+    /**
+     * @param capacity the number of entries to make room for without resizing
+     */
+    public CuckooHashMap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0:" + capacity);
+        }
+        allocate(bucketBitsFor(capacity));
+    }
+
+    private static int bucketBitsFor(long capacity) {
+        int bits = 1;
+        while (((long) SLOTS << bits) * MAX_LOAD < capacity && bits < 28) {
+            bits = bits + 1;
+        }
+        return bits;
+    }
+
+    private void allocate(int bucketBits) {
+        this.bucketBits = bucketBits;
+        int slots = SLOTS << bucketBits;
+        table = new Object[2 * slots];
+        hashes = new int[slots];
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 20) ^ (h >>> 12) ^ (h >>> 7) ^ (h >>> 4);
+        return h;
+    }
+
+    private int bucket1(int hash) {
+        return hash & ((1 << bucketBits) - 1);
+    }
+
+    private int bucket2(int hash) {
+        int b = (hash * multiplier) >>> (32 - bucketBits);
+        return b == bucket1(hash) ? b ^ 1 : b;
+    }
+
+    private int nextRandom() {
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        return (int) random;
+    }
+
+    /**
+     * @return the table slot holding the key, -1 - the stash index if it is stashed,
+     * or Integer.MIN_VALUE if the key is absent
+     */
+    private int find(Object key, int hash) {
+        int slot = bucket1(hash) * SLOTS;
+        for (int i = slot; i < slot + SLOTS; i++) {
+            if (hashes[i] == hash && key.equals(table[2 * i])) {
+                return i;
+            }
+        }
+        slot = bucket2(hash) * SLOTS;
+        for (int i = slot; i < slot + SLOTS; i++) {
+            if (hashes[i] == hash && key.equals(table[2 * i])) {
+                return i;
+            }
+        }
+        for (int i = 0; i < stashSize; i++) {
+            if (stashHashes[i] == hash && key.equals(stashKeys[i])) {
+                return -1 - i;
+            }
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * Puts the entry into an empty slot of the bucket.
+     *
+     * @return false if the bucket is full
+     */
+    private boolean placeIn(int bucket, Object key, V value, int hash) {
+        int slot = bucket * SLOTS;
+        for (int i = slot; i < slot + SLOTS; i++) {
+            if (table[2 * i] == null) {
+                table[2 * i] = key;
+                table[2 * i + 1] = value;
+                hashes[i] = hash;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Places an absent key in the table, evicting residents along a random walk when both
+     * its buckets are full.
+     *
+     * @return false if the key, or the entry it finally displaced, went to the stash
+     */
+    private boolean insert(Object key, V value, int hash) {
+        int bucket = bucket1(hash);
+        if (placeIn(bucket, key, value, hash) || placeIn(bucket2(hash), key, value, hash)) {
+            return true;
+        }
+        if ((nextRandom() & 1) == 0) {
+            bucket = bucket2(hash);
+        }
+        for (int kicks = 1; kicks <= MAX_KICKS; kicks++) {
+            int slot = bucket * SLOTS + (nextRandom() & (SLOTS - 1));
+            Object evictedKey = table[2 * slot];
+            V evictedValue = (V) table[2 * slot + 1];
+            int evictedHash = hashes[slot];
+            table[2 * slot] = key;
+            table[2 * slot + 1] = value;
+            hashes[slot] = hash;
+            key = evictedKey;
+            value = evictedValue;
+            hash = evictedHash;
+            bucket = bucket == bucket1(hash) ? bucket2(hash) : bucket1(hash);
+            if (placeIn(bucket, key, value, hash)) {
+                maxDisplacements = Math.max(maxDisplacements, kicks);
+                return true;
+            }
+        }
+        maxDisplacements = MAX_KICKS;
+        stash(key, value, hash);
+        return false;
+    }
+
+    private void stash(Object key, V value, int hash) {
+        if (stashSize == stashKeys.length) {
+            int length = stashKeys.length * 2;
+            stashKeys = Arrays.copyOf(stashKeys, length);
+            stashValues = Arrays.copyOf(stashValues, length);
+            stashHashes = Arrays.copyOf(stashHashes, length);
+        }
+        stashKeys[stashSize] = key;
+        stashValues[stashSize] = value;
+        stashHashes[stashSize] = hash;
+        stashSize = stashSize + 1;
+    }
+
+    private void unstash(int index) {
+        stashSize = stashSize - 1;
+        stashKeys[index] = stashKeys[stashSize];
+        stashValues[index] = stashValues[stashSize];
+        stashHashes[index] = stashHashes[stashSize];
+        stashKeys[stashSize] = null;
+        stashValues[stashSize] = null;
+    }
+
+    /**
+     * Reinserts every entry into a table of the given size with a new second hash. While
+     * the stash still overflows but is shrinking, the table is doubled and filled again;
+     * a stash that does not shrink holds keys no table size would separate.
+     */
+    private void rehash(int bucketBits) {
+        int before = stashSize;
+        while (true) {
+            rehashes = rehashes + 1;
+            Object[] oldTable = table;
+            int[] oldHashes = hashes;
+            Object[] oldStashKeys = stashKeys;
+            V[] oldStashValues = stashValues;
+            int[] oldStashHashes = stashHashes;
+            int oldStashSize = stashSize;
+
+            allocate(bucketBits);
+            multiplier = nextRandom() | 1;
+            stashKeys = new Object[Math.max(STASH_LIMIT, oldStashSize)];
+            stashValues = (V[]) new Object[stashKeys.length];
+            stashHashes = new int[stashKeys.length];
+            stashSize = 0;
+            for (int i = 0; i < oldHashes.length; i++) {
+                if (oldTable[2 * i] != null) {
+                    insert(oldTable[2 * i], (V) oldTable[2 * i + 1], oldHashes[i]);
+                }
+            }
+            for (int i = 0; i < oldStashSize; i++) {
+                insert(oldStashKeys[i], oldStashValues[i], oldStashHashes[i]);
+            }
+            if (stashSize <= stashLimit || stashSize >= before || bucketBits >= 28) {
+                break;
+            }
+            before = stashSize;
+            bucketBits = bucketBits + 1;
+        }
+        // whatever still could not be placed is there to stay, such as keys with equal hashes
+        stashLimit = Math.max(STASH_LIMIT, stashSize * 2);
+    }
+
+    private int slots() {
+        return hashes.length;
+    }
+
+    public int capacity() {
+        return slots();
+    }
+
+    /**
+     * Returns the most entries a lookup may compare: the 8 slots of its two buckets
+     * plus every stashed entry.
+     */
+    public int maxLookupProbes() {
+        return 2 * SLOTS + stashSize;
+    }
+
+    /**
+     * Returns the longest chain of evictions a single put has needed, MAX_KICKS if one
+     * ever gave up and used the stash.
+     */
+    public int maxDisplacements() {
+        return maxDisplacements;
+    }
+
+    public int stashSize() {
+        return stashSize;
+    }
+
+    /**
+     * Returns size / table slots.
+     */
+    public double loadFactor() {
+        return (double) size / slots();
+    }
+
+    /**
+     * Returns the highest load factor the table has reached, which is at least the load
+     * factor just before each resize.
+     */
+    public double peakLoadFactor() {
+        return Math.max(peakLoadFactor, loadFactor());
+    }
+
+    public int rehashCount() {
+        return rehashes;
+    }
+
+    @Override
+    public void clear() {
+        allocate(bucketBitsFor(DEFAULT_BUCKETS * SLOTS));
+        stashKeys = new Object[STASH_LIMIT];
+        stashValues = (V[]) new Object[STASH_LIMIT];
+        stashHashes = new int[STASH_LIMIT];
+        stashSize = 0;
+        stashLimit = STASH_LIMIT;
+        size = 0;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        return find(key, spread(key)) != Integer.MIN_VALUE;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int slot = find(key, spread(key));
+        if (slot >= 0) {
+            return (V) table[2 * slot + 1];
+        }
+        return slot == Integer.MIN_VALUE ? null : stashValues[-1 - slot];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int hash = spread(key);
+        int slot = find(key, hash);
+        if (slot >= 0) {
+            table[2 * slot + 1] = value;
+            return;
+        }
+        if (slot != Integer.MIN_VALUE) {
+            stashValues[-1 - slot] = value;
+            return;
+        }
+        if (size + 1 > slots() * MAX_LOAD && bucketBits < 28) {
+            peakLoadFactor = Math.max(peakLoadFactor, loadFactor());
+            rehash(bucketBits + 1);
+        }
+        size = size + 1;
+        if (!insert(key, value, hash) && stashSize > stashLimit) {
+            rehash(bucketBits);
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int slot = find(key, spread(key));
+        if (slot == Integer.MIN_VALUE) {
+            return null;
+        }
+        return delete(slot);
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int slot = find(key, spread(key));
+        if (slot == Integer.MIN_VALUE
+                || !Objects.equals(value, slot >= 0 ? table[2 * slot + 1] : stashValues[-1 - slot])) {
+            return null;
+        }
+        return delete(slot);
+    }
+
+    /**
+     * Empties a slot found by find. A freed table slot is offered to the stash first, so
+     * stashed entries move back into the table when room opens up.
+     */
+    private V delete(int slot) {
+        size = size - 1;
+        if (slot < 0) {
+            V value = stashValues[-1 - slot];
+            unstash(-1 - slot);
+            return value;
+        }
+        V value = (V) table[2 * slot + 1];
+        table[2 * slot] = null;
+        table[2 * slot + 1] = null;
+        int bucket = slot / SLOTS;
+        for (int i = 0; i < stashSize; i++) {
+            int hash = stashHashes[i];
+            if (bucket1(hash) == bucket || bucket2(hash) == bucket) {
+                table[2 * slot] = stashKeys[i];
+                table[2 * slot + 1] = stashValues[i];
+                hashes[slot] = hash;
+                unstash(i);
+                break;
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> other) {
+        ensureCapacity((long) size + other.size());
+        other.forEach((key, value) -> put(key, value));
+    }
+
+    @Override
+    public void putAll(K[] keys, V[] values) {
+        Batches.checkPut(keys, values);
+        ensureCapacity((long) size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Grows the table once so that the expected number of entries fits within MAX_LOAD.
+     */
+    private void ensureCapacity(long expected) {
+        int bits = bucketBitsFor(expected);
+        if (bits > bucketBits) {
+            peakLoadFactor = Math.max(peakLoadFactor, loadFactor());
+            rehash(bits);
+        }
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new MapViews.CursorIterator<>(cursor(), Cursor::key);
+    }
+
+    @Override
+    public Cursor<K, V> cursor() {
+        return new CuckooCursor();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != null) {
+                action.accept((K) table[i], (V) table[i + 1]);
+            }
+        }
+        for (int i = 0; i < stashSize; i++) {
+            action.accept((K) stashKeys[i], stashValues[i]);
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.wycode.datastructures.Map;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * A map whose entries expire a fixed time after they were written, after they were last
+ * read, or after a per-entry time to live.
+ * <p>
+ * Entries are kept in a {@link HashMap} and scheduled on a hierarchical timing wheel: five
+ * levels of 64 buckets, roughly 1 ms, 67 ms, 4.3 s, 4.6 min and 4.9 h wide. Scheduling and
+ * rescheduling an entry is O(1): it is linked into the bucket of its expiry time on the
+ * finest level whose buckets still reach that far. As the wheel advances, the buckets it
+ * passes are spliced whole onto a pending list. Sweeping a pending entry either removes it,
+ * if it has expired, or reschedules it on a finer level.
+ * <p>
+ * No thread is ever started. A read checks only its own entry and removes it if expired.
+ * Each write advances the wheel and sweeps at most SWEEP_BUDGET pending entries, so a
+ * coarse bucket holding many entries is paid off over many writes, not by one.
+ * size() sweeps everything pending; it may still count entries that expired within the
+ * current wheel tick.
+ * <p>
+ * Complexity Summary:
+ * - get / put / remove / containsKey: O(1) expected, amortized for writes
+ * - Space Complexity: O(n)
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class ExpiringMap<K extends Comparable<K>, V> implements Map<K, V> {
+
+    /**
+     * A source of nanosecond time; replaceable so that tests can control time.
+     */
+    public interface Ticker {
+        long read();
+    }
+
+    private static final int BUCKETS = 64;
+    private static final int[] SHIFTS = {20, 26, 32, 38, 44, 50}; // level i buckets are 2^SHIFTS[i] ns wide
+    private static final int LEVELS = SHIFTS.length - 1;
+    private static final long NEVER = Long.MAX_VALUE;
+    private static final int SWEEP_BUDGET = 32;
+
+    private class Node {
+        private K key;
+        private V value;
+        private long writeExpiry;
+        private long expiresAt;
+        private Node prev, next; // bucket list, null when not scheduled
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Visits the entries that have not expired when the cursor is created. Reading them
+     * does not count as an access, so it does not extend expireAfterAccess.
+     */
+    private class ExpiringMapCursor implements Cursor<K, V> {
+        private final Cursor<K, Node> nodes = index.cursor();
+        private final long now = now();
+
+        @Override
+        public boolean advance() {
+            while (nodes.advance()) {
+                if (nodes.value().expiresAt > now) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public K key() {
+            return nodes.key();
+        }
+
+        @Override
+        public V value() {
+            return nodes.value().value;
+        }
+    }
+
+    private class ExpiringMapIterator implements Iterator<K> {
+        private final ExpiringMapCursor cursor = new ExpiringMapCursor();
+        private boolean hasNext = cursor.advance();
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            K key = cursor.key();
+            hasNext = cursor.advance();
+            return key;
+        }
+    }
+
+    private final HashMap<K, Node> index;
+    private final Node[][] wheel;
+    private final Node pending; // passed buckets not yet swept
+    private final long expireAfterWrite;
+    private final long expireAfterAccess;
+    private final Ticker ticker;
+    private final long origin;
+    private long wheelTime;
+
+    /**
+     * Creates a map whose entries expire the given time after they were written.
+     */
+    public ExpiringMap(long expireAfterWrite, TimeUnit unit) {
+        this(expireAfterWrite, 0, unit, System::nanoTime);
+    }
+
+    /**
+     * @param expireAfterWrite  time to live after each write, or 0 for none
+     * @param expireAfterAccess time to live after each read or write, or 0 for none
+     * @param unit              the unit of both durations
+     * @param ticker            the time source
+     */
+    public ExpiringMap(long expireAfterWrite, long expireAfterAccess, TimeUnit unit, Ticker ticker) {
+        if (expireAfterWrite < 0 || expireAfterAccess < 0) {
+            throw new IllegalArgumentException("Illegal expiry: " + expireAfterWrite + ", " + expireAfterAccess);
+        }
+        this.expireAfterWrite = unit.toNanos(expireAfterWrite);
+        this.expireAfterAccess = unit.toNanos(expireAfterAccess);
+        this.ticker = ticker;
+        this.origin = ticker.read();
+        this.index = new HashMap<>();
+        this.wheel = new ExpiringMap.Node[LEVELS][BUCKETS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int i = 0; i < BUCKETS; i++) {
+                wheel[level][i] = sentinel();
+            }
+        }
+        this.pending = sentinel();
+    }
+
+    private Node sentinel() {
+        Node head = new Node(null, null);
+        head.prev = head;
+        head.next = head;
+        return head;
+    }
+
+    /**
+     * Returns the time since construction, so the wheel never sees negative times.
+     */
+    private long now() {
+        return ticker.read() - origin;
+    }
+
+    private static long plus(long time, long ttl) {
+        if (ttl == 0 || ttl > NEVER - time) {
+            return NEVER;
+        }
+        return time + ttl;
+    }
+
+    private long expiryOf(Node node, long now) {
+        return expireAfterAccess == 0 ? node.writeExpiry : Math.min(node.writeExpiry, plus(now, expireAfterAccess));
+    }
+
+    private void unlink(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    /**
+     * Links the node into the bucket covering its expiry time, on the finest level whose
+     * 64 buckets still reach that far. Expiries beyond the top level are parked in its
+     * farthest bucket and rescheduled when it comes round.
+     */
+    private void schedule(Node node) {
+        if (node.expiresAt == NEVER) {
+            return;
+        }
+        long delay = Math.max(0, node.expiresAt - wheelTime);
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= (1L << SHIFTS[level + 1])) {
+            level = level + 1;
+        }
+        long ticks = delay >= (1L << SHIFTS[LEVELS])
+                ? (wheelTime >>> SHIFTS[level]) + BUCKETS - 1
+                : Math.max(node.expiresAt, wheelTime) >>> SHIFTS[level];
+        Node head = wheel[level][(int) (ticks & (BUCKETS - 1))];
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    /**
+     * Moves the wheel to now, moving every bucket it passes on each level to the pending list.
+     * A level whose tick count has not changed ends the loop, since the coarser levels cannot
+     * have moved either.
+     */
+    private void advance(long now) {
+        long previous = wheelTime;
+        if (now <= previous) {
+            return;
+        }
+        wheelTime = now;
+        for (int level = 0; level < LEVELS; level++) {
+            long previousTicks = previous >>> SHIFTS[level];
+            long currentTicks = now >>> SHIFTS[level];
+            if (currentTicks == previousTicks) {
+                break;
+            }
+            long count = Math.min(currentTicks - previousTicks, BUCKETS - 1) + 1;
+            for (long ticks = previousTicks; ticks < previousTicks + count; ticks++) {
+                spliceToPending(wheel[level][(int) (ticks & (BUCKETS - 1))]);
+            }
+        }
+    }
+
+    private void spliceToPending(Node head) {
+        if (head.next == head) {
+            return;
+        }
+        Node first = head.next;
+        Node last = head.prev;
+        first.prev = pending.prev;
+        pending.prev.next = first;
+        last.next = pending;
+        pending.prev = last;
+        head.prev = head;
+        head.next = head;
+    }
+
+    /**
+     * Removes or reschedules up to budget pending entries.
+     */
+    private void sweep(long now, int budget) {
+        while (budget > 0 && pending.next != pending) {
+            Node node = pending.next;
+            unlink(node);
+            if (node.expiresAt <= now) {
+                index.remove(node.key);
+            } else {
+                schedule(node);
+            }
+            budget = budget - 1;
+        }
+    }
+
+    /**
+     * Returns the live node for the key, removing it first if it has expired.
+     */
+    private Node liveNode(K key, long now) {
+        Node node = index.get(key);
+        if (node != null && node.expiresAt <= now) {
+            unlink(node);
+            index.remove(key);
+            return null;
+        }
+        return node;
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        pending.prev = pending;
+        pending.next = pending;
+        for (Node[] buckets : wheel) {
+            for (Node head : buckets) {
+                head.prev = head;
+                head.next = head;
+            }
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        return liveNode(key, now()) != null;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        long now = now();
+        Node node = liveNode(key, now);
+        if (node == null) {
+            return null;
+        }
+        if (expireAfterAccess != 0) {
+            unlink(node);
+            node.expiresAt = expiryOf(node, now);
+            schedule(node);
+        }
+        return node.value;
+    }
+
+    @Override
+    public int size() {
+        long now = now();
+        advance(now);
+        sweep(now, Integer.MAX_VALUE);
+        return index.size();
+    }
+
+    @Override
+    public void put(K key, V value) {
+        put(key, value, expireAfterWrite, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Associates the value with the key for the given time to live, overriding expireAfterWrite
+     * for this entry. expireAfterAccess, if set, still applies.
+     *
+     * @param ttl the time to live, or 0 for none
+     */
+    public void put(K key, V value, long ttl, TimeUnit unit) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        if (ttl < 0) {
+            throw new IllegalArgumentException("Illegal ttl: " + ttl);
+        }
+        long now = now();
+        advance(now);
+        sweep(now, SWEEP_BUDGET);
+        Node node = liveNode(key, now);
+        if (node == null) {
+            node = new Node(key, value);
+            index.put(key, node);
+        } else {
+            unlink(node);
+            node.value = value;
+        }
+        node.writeExpiry = plus(now, unit.toNanos(ttl));
+        node.expiresAt = expiryOf(node, now);
+        schedule(node);
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        long now = now();
+        advance(now);
+        sweep(now, SWEEP_BUDGET);
+        Node node = liveNode(key, now);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        index.remove(key);
+        return node.value;
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node node = liveNode(key, now());
+        if (node == null || !java.util.Objects.equals(node.value, value)) {
+            return null;
+        }
+        return remove(key);
+    }
+
+    /**
+     * Iterates the keys that have not expired when the iterator is created.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new ExpiringMapIterator();
+    }
+
+    @Override
+    public Cursor<K, V> cursor() {
+        return new ExpiringMapCursor();
+    }
+
+    /**
+     * Calls the action for every entry that has not expired, without counting accesses.
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        long now = now();
+        index.forEach((key, node) -> {
+            if (node.expiresAt > now) {
+                action.accept(key, node.value);
+            }
+        });
+    }
+}
@@ -0,0 +1,210 @@
+package com.wycode.datastructures.Map;
+
+import java.util.*;
+
+/**
+ * An immutable snapshot of a Map, for maps that are built once and then only read.
+ * <p>
+ * The keys are sorted and stored in Eytzinger (BFS) order: the root of the implicit search
+ * tree is at index 1 and the children of index k are at 2k and 2k + 1. The top levels of
+ * every search share the first few cache lines, and each step down lands right next to its
+ * sibling, so a lookup touches far fewer cache lines than chasing BST node pointers.
+ * The descent has no data-dependent branch: the sign bit of compareTo picks the child.
+ * <p>
+ * The snapshot costs two flat arrays. It does not support put, remove or clear.
+ * <p>
+ * Complexity Summary:
+ * - get / containsKey: O(log n)
+ * - snapshot: O(n log n)
+ * - Space Complexity: O(n), two references per key
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class EytzingerMap<K extends Comparable<K>, V> implements Map<K, V> {
+    private final K[] keys;   // keys[0] is unused
+    private final V[] values;
+    private final int size;
+
+    private class EytzingerIterator implements Iterator<K> {
+        private int index = firstIndex();
+
+        @Override
+        public boolean hasNext() {
+            return index != 0;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = keys[index];
+            index = successor(index);
+            return key;
+        }
+    }
+
+    private class EytzingerCursor implements Cursor<K, V> {
+        private int index = -1; // -1 before the first key, 0 after the last
+
+        @Override
+        public boolean advance() {
+            if (index != 0) {
+                index = index < 0 ? firstIndex() : successor(index);
+            }
+            return index != 0;
+        }
+
+        @Override
+        public K key() {
+            return keys[index];
+        }
+
+        @Override
+        public V value() {
+            return values[index];
+        }
+    }
+
+    private EytzingerMap(K[] sortedKeys, V[] sortedValues) {
+        size = sortedKeys.length;
+        keys = (K[]) new Comparable[size + 1];
+        values = (V[]) new Object[size + 1];
+        fill(sortedKeys, sortedValues, 0, 1);
+    }
+
+    /**
+     * Copies the current contents of a map into a read-only snapshot.
+     * Later changes to the source map are not reflected.
+     *
+     * @param map the map to freeze
+     * @return the snapshot
+     */
+    public static <K extends Comparable<K>, V> EytzingerMap<K, V> snapshot(Map<K, V> map) {
+        K[] sortedKeys = (K[]) new Comparable[map.size()];
+        int i = 0;
+        for (K key : map) {
+            sortedKeys[i++] = key;
+        }
+        Arrays.sort(sortedKeys);
+        V[] sortedValues = (V[]) new Object[sortedKeys.length];
+        for (i = 0; i < sortedKeys.length; i++) {
+            sortedValues[i] = map.get(sortedKeys[i]);
+        }
+        return new EytzingerMap<>(sortedKeys, sortedValues);
+    }
+
+    /**
+     * Places the sorted keys with an in-order walk of the implicit tree.
+     * The recursion is only log n deep.
+     *
+     * @return the next unused position in the sorted arrays
+     */
+    private int fill(K[] sortedKeys, V[] sortedValues, int i, int k) {
+        if (k <= size) {
+            i = fill(sortedKeys, sortedValues, i, 2 * k);
+            keys[k] = sortedKeys[i];
+            values[k] = sortedValues[i];
+            i = fill(sortedKeys, sortedValues, i + 1, 2 * k + 1);
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index of the key, or 0 if it is absent.
+     */
+    private int indexOf(K key) {
+        int k = 1;
+        while (k <= size) {
+            // go right exactly when keys[k] < key
+            k = 2 * k + (keys[k].compareTo(key) >>> 31);
+        }
+        // undo the trailing right turns and the final left turn: k is then the smallest key >= key
+        k = k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+        return (k != 0 && keys[k].compareTo(key) == 0) ? k : 0;
+    }
+
+    private int firstIndex() {
+        if (size == 0) {
+            return 0;
+        }
+        int k = 1;
+        while (2 * k <= size) {
+            k = 2 * k;
+        }
+        return k;
+    }
+
+    /**
+     * Returns the in-order successor of index k, or 0 after the last key.
+     */
+    private int successor(int k) {
+        if (2 * k + 1 <= size) {
+            k = 2 * k + 1;
+            while (2 * k <= size) {
+                k = 2 * k;
+            }
+            return k;
+        }
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("EytzingerMap is immutable");
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        return indexOf(key) != 0;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        return values[indexOf(key)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        throw new UnsupportedOperationException("EytzingerMap is immutable");
+    }
+
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("EytzingerMap is immutable");
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        throw new UnsupportedOperationException("EytzingerMap is immutable");
+    }
+
+    /**
+     * Iterates the keys in ascending order.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new EytzingerIterator();
+    }
+
+    /**
+     * Returns a cursor over the entries in ascending key order.
+     */
+    @Override
+    public Cursor<K, V> cursor() {
+        return new EytzingerCursor();
+    }
+}
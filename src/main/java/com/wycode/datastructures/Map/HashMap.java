@@ -1,6 +1,7 @@
 package com.wycode.datastructures.Map;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  * @author WY
@@ -8,14 +9,28 @@ import java.util.*;
  **/
 
 public class HashMap<K extends Comparable<K>, V> implements Map<K, V> {
+    private static final int MIGRATION_STEP = 4;
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
     private int capacity;
     private int size;
     private double loadFactor = 0.75;
-    private LinkedList<Entry>[] buckets;
+    private Bucket[] buckets;
+
+    /*
+     * Incremental resize state. While oldBuckets is non-null, old buckets below
+     * migrateIndex have already been moved into buckets; the rest still hold their entries.
+     */
+    private boolean incrementalResize;
+    private Bucket[] oldBuckets;
+    private int oldCapacity;
+    private int migrateIndex;
 
     private class Entry {
         K key;
         V value;
+        Entry prev, next; // bucket chain
 
         Entry(K key, V value) {
             this.key = key;
@@ -23,42 +38,136 @@ public class HashMap<K extends Comparable<K>, V> implements Map<K, V> {
         }
     }
 
-    private class HashMapIterator implements Iterator<K> {
+    /**
+     * A bucket is a doubly linked chain of entries. Once it holds more than TREEIFY_THRESHOLD
+     * entries, which only happens with a poor hashCode or adversarial keys, it also indexes
+     * them in a red-black tree ordered by compareTo so lookups stay O(log n). The tree is
+     * dropped when the bucket shrinks to UNTREEIFY_THRESHOLD. Scans always walk the chain,
+     * so they need no iterator objects.
+     * <p>
+     * In tree mode keys are matched by compareTo, so it must be consistent with equals.
+     */
+    private class Bucket {
+        private Entry head;
+        private int count;
+        private TreeMap<K, Entry> tree;
+
+        Entry find(K key) {
+            if (tree != null) {
+                return tree.get(key);
+            }
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                if (entry.key.equals(key)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Adds an entry whose key is known not to be in the bucket yet.
+         */
+        void add(Entry entry) {
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            head = entry;
+            count = count + 1;
+            if (tree != null) {
+                tree.put(entry.key, entry);
+            } else if (count > TREEIFY_THRESHOLD) {
+                tree = new TreeMap<>();
+                for (Entry e = head; e != null; e = e.next) {
+                    tree.put(e.key, e);
+                }
+            }
+        }
+
+        void remove(Entry entry) {
+            if (entry.prev == null) {
+                head = entry.next;
+            } else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            count = count - 1;
+            if (tree != null) {
+                tree.remove(entry.key);
+                if (count <= UNTREEIFY_THRESHOLD) {
+                    tree = null;
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return head == null;
+        }
+    }
+
+    /**
+     * Walks the bucket chains of the current table, then the old buckets not migrated yet.
+     */
+    private class HashMapCursor implements Cursor<K, V> {
+        private Bucket[] table = buckets;
         private int bucketIndex = 0;
-        private Iterator<Entry> bucketIterator;
+        private Entry entry;
+
+        @Override
+        public boolean advance() {
+            if (entry != null) {
+                entry = entry.next;
+            }
+            while (entry == null) {
+                if (bucketIndex < table.length) {
+                    Bucket bucket = table[bucketIndex];
+                    bucketIndex = bucketIndex + 1;
+                    if (bucket != null) {
+                        entry = bucket.head;
+                    }
+                } else if (table == buckets && oldBuckets != null) {
+                    // finish with the old buckets that have not been migrated yet
+                    table = oldBuckets;
+                    bucketIndex = migrateIndex;
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
 
-        public HashMapIterator() {
-            moveToNext();
+        @Override
+        public K key() {
+            return entry.key;
+        }
+
+        @Override
+        public V value() {
+            return entry.value;
         }
+    }
+
+    private class HashMapIterator implements Iterator<K> {
+        private final HashMapCursor cursor = new HashMapCursor();
+        private boolean hasNext = cursor.advance();
 
         @Override
         public boolean hasNext() {
-            return bucketIterator != null && bucketIterator.hasNext();
+            return hasNext;
         }
 
         @Override
         public K next() {
-            if (!hasNext()) {
+            if (!hasNext) {
                 throw new NoSuchElementException();
             }
-            K key = bucketIterator.next().key;
-            if (!bucketIterator.hasNext()) {
-                moveToNext();
-            }
+            K key = cursor.key();
+            hasNext = cursor.advance();
             return key;
         }
-
-        private void moveToNext() {
-            while (bucketIndex < capacity && (buckets[bucketIndex] == null || buckets[bucketIndex].isEmpty())) {
-                bucketIndex = bucketIndex + 1;
-            }
-            if (bucketIndex < capacity) {
-                bucketIterator = buckets[bucketIndex].iterator();
-                bucketIndex = bucketIndex + 1;
-            } else {
-                bucketIterator = null;
-            }
-        }
     }
 
     public HashMap() {
@@ -76,10 +185,20 @@ public class HashMap<K extends Comparable<K>, V> implements Map<K, V> {
         this.loadFactor = loadFactor;
     }
 
+    /**
+     * @param incrementalResize when true, growing the table moves a few buckets on every
+     *                          put/remove instead of rehashing every entry at once
+     */
+    public HashMap(int capacity, double loadFactor, boolean incrementalResize) {
+        this(capacity, loadFactor);
+        this.incrementalResize = incrementalResize;
+    }
+
     @Override
     public void clear() {
         this.capacity = 16;
         buckets = createTable(16);
+        oldBuckets = null;
         size = 0;
     }
 
@@ -96,17 +215,14 @@ public class HashMap<K extends Comparable<K>, V> implements Map<K, V> {
         if (key == null) {
             throw new IllegalArgumentException("key is null");
         }
-        int index = hash(key);
-        if (buckets[index] != null) {
-            for (Entry entry : buckets[index]) {
-                if (entry.key.equals(key)) {
-                    return entry.value;
-                }
+        Bucket bucket = bucketOf(key);
+        if (bucket != null) {
+            Entry entry = bucket.find(key);
+            if (entry != null) {
+                return entry.value;
             }
         }
         return null;
-
-
     }
 
     @Override
@@ -119,78 +235,157 @@ public class HashMap<K extends Comparable<K>, V> implements Map<K, V> {
         if (key == null) {
             throw new IllegalArgumentException("key is null");
         }
+        migrate(MIGRATION_STEP);
         if ((double) size / capacity > loadFactor) {
             resize(capacity * 2);
         }
-        int index = hash(key);
-        if (buckets[index] == null) {
-            Entry entry = createEntry(key, value);
-            buckets[index].add(entry);
-            size = size + 1;
-            return;
+        Bucket bucket = bucketOf(key);
+        if (bucket == null) {
+            bucket = createBucket(key);
         }
-        for (Entry entry : buckets[index]) {
-            if (entry.key.equals(key)) {
-                entry.value = value;
-                return;
-            }
+        Entry entry = bucket.find(key);
+        if (entry != null) {
+            entry.value = value;
+            return;
         }
-        buckets[index].add(createEntry(key, value));
+        bucket.add(createEntry(key, value));
         size = size + 1;
 
     }
 
     @Override
-    public Set<K> keySet() {
-        HashSet<K> set = new HashSet<K>();
-        for (LinkedList<Entry> bucket : buckets) {
-            if (bucket != null) {
-                for (Entry entry : bucket) {
-                    if (entry.key != null) {
-                        set.add(entry.key);
-                    }
-                }
-            }
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
         }
-        return set;
+        migrate(MIGRATION_STEP);
+        Bucket bucket = bucketOf(key);
+        Entry entry = bucket == null ? null : bucket.find(key);
+        if (entry == null) {
+            return null;
+        }
+        bucket.remove(entry);
+        size = size - 1;
+        return entry.value;
     }
 
     @Override
-    public V remove(K key) {
+    public V remove(K key, V value) {
         if (key == null) {
             throw new IllegalArgumentException("key is null");
         }
-        int index = hash(key);
-        if (buckets[index] != null) {
-            for (Entry entry : buckets[index]) {
-                if (key.equals(entry.key)) {
-                    V value = entry.value;
-                    buckets[index].remove(entry);
-                    size = size - 1;
-                    return value;
+        migrate(MIGRATION_STEP);
+        Bucket bucket = bucketOf(key);
+        Entry entry = bucket == null ? null : bucket.find(key);
+        if (entry == null || !value.equals(entry.value)) {
+            return null;
+        }
+        bucket.remove(entry);
+        size = size - 1;
+        return entry.value;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> other) {
+        ensureCapacity((long) size + other.size());
+        other.forEach((key, value) -> put(key, value));
+    }
+
+    /**
+     * Grows the table once for the whole batch, then works through it in chunks of two
+     * passes. The first pass hashes every key of the chunk and loads its bucket; those
+     * loads do not depend on each other, so their cache misses overlap. The second pass
+     * then finds each key in a bucket that is already in cache. While an incremental resize
+     * is in progress keys may live in either table, so it falls back to put, which also
+     * moves the migration along.
+     */
+    @Override
+    public void putAll(K[] keys, V[] values) {
+        Batches.checkPut(keys, values);
+        ensureCapacity((long) size + keys.length);
+        if (oldBuckets != null) {
+            for (int i = 0; i < keys.length; i++) {
+                put(keys[i], values[i]);
+            }
+            return;
+        }
+        int chunk = Math.min(Batches.CHUNK, keys.length);
+        int[] indices = new int[chunk];
+        Bucket[] found = createTable(chunk);
+        for (int from = 0; from < keys.length; from += chunk) {
+            int to = Math.min(from + chunk, keys.length);
+            for (int i = from; i < to; i++) {
+                int index = hash(keys[i], capacity);
+                indices[i - from] = index;
+                found[i - from] = buckets[index];
+            }
+            for (int i = from; i < to; i++) {
+                Bucket bucket = found[i - from];
+                if (bucket == null) {
+                    // an earlier key of this chunk may have created it since
+                    bucket = buckets[indices[i - from]];
+                    if (bucket == null) {
+                        bucket = createBucket();
+                        buckets[indices[i - from]] = bucket;
+                    }
+                }
+                Entry entry = bucket.find(keys[i]);
+                if (entry != null) {
+                    entry.value = values[i];
+                } else {
+                    bucket.add(createEntry(keys[i], values[i]));
+                    size = size + 1;
                 }
             }
         }
-        return null;
     }
 
+    /**
+     * Looks the batch up in chunks, one pass per pointer hop: hash every key, then load every
+     * bucket, then every first entry, then walk the chains. Within a pass the loads do not
+     * depend on each other, so their cache misses overlap instead of queuing behind one
+     * another as they do within a single get. While an incremental resize is in progress keys
+     * may live in either table, so it falls back to get.
+     */
     @Override
-    public V remove(K key, V value) {
-        if (key == null) {
-            throw new IllegalArgumentException("key is null");
+    public void getAll(K[] keys, V[] out) {
+        Batches.checkGet(keys, out);
+        if (oldBuckets != null) {
+            for (int i = 0; i < keys.length; i++) {
+                out[i] = get(keys[i]);
+            }
+            return;
         }
-        int index = hash(key);
-        if (buckets[index] != null) {
-            for (Entry entry : buckets[index]) {
-                if (key.equals(entry.key) && value.equals(entry.value)) {
-                    V remove = entry.value;
-                    buckets[index].remove(entry);
-                    size = size - 1;
-                    return remove;
+        int chunk = Math.min(Batches.CHUNK, keys.length);
+        int[] indices = new int[chunk];
+        Bucket[] found = createTable(chunk);
+        Entry[] heads = new HashMap.Entry[chunk];
+        for (int from = 0; from < keys.length; from += chunk) {
+            int to = Math.min(from + chunk, keys.length);
+            for (int i = from; i < to; i++) {
+                indices[i - from] = hash(keys[i], capacity);
+            }
+            for (int j = 0; j < to - from; j++) {
+                found[j] = buckets[indices[j]];
+            }
+            for (int j = 0; j < to - from; j++) {
+                heads[j] = found[j] == null ? null : found[j].head;
+            }
+            for (int i = from; i < to; i++) {
+                Bucket bucket = found[i - from];
+                Entry entry = null;
+                if (bucket != null && bucket.tree != null) {
+                    entry = bucket.tree.get(keys[i]);
+                } else {
+                    for (entry = heads[i - from]; entry != null; entry = entry.next) {
+                        if (entry.key.equals(keys[i])) {
+                            break;
+                        }
+                    }
                 }
+                out[i] = entry == null ? null : entry.value;
             }
         }
-        return null;
     }
 
     @Override
@@ -198,21 +393,142 @@ public class HashMap<K extends Comparable<K>, V> implements Map<K, V> {
         return new HashMapIterator();
     }
 
-    private void resize(int capacity) {
-        LinkedList<Entry>[] table = createTable(capacity);
-        for (LinkedList<Entry> bucket : buckets) {
-            if (bucket != null) {
-                for (Entry entry : bucket) {
-                    int newIndex = hash(entry.key);
-                    table[newIndex].add(entry);
+    @Override
+    public Cursor<K, V> cursor() {
+        return new HashMapCursor();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(buckets, 0, action);
+        if (oldBuckets != null) {
+            forEach(oldBuckets, migrateIndex, action);
+        }
+    }
+
+    private void forEach(Bucket[] table, int from, BiConsumer<? super K, ? super V> action) {
+        for (int i = from; i < table.length; i++) {
+            if (table[i] != null) {
+                for (Entry entry = table[i].head; entry != null; entry = entry.next) {
+                    action.accept(entry.key, entry.value);
                 }
             }
         }
+    }
+
+    /**
+     * Returns true while entries are still being moved from the old table to the new one.
+     */
+    public boolean isMigrating() {
+        return oldBuckets != null;
+    }
+
+    /**
+     * Returns the fraction of old buckets already moved into the new table,
+     * or 1.0 if no incremental resize is in progress.
+     */
+    public double migrationProgress() {
+        if (oldBuckets == null) {
+            return 1.0;
+        }
+        return (double) migrateIndex / oldCapacity;
+    }
+
+    /**
+     * Moves every remaining old bucket into the new table right away.
+     */
+    public void completeMigration() {
+        if (oldBuckets != null) {
+            migrate(oldCapacity - migrateIndex);
+        }
+    }
+
+    /**
+     * Grows the table once so that the expected number of entries fits within the load
+     * factor and no put of the batch has to resize. Leaves the table, and any migration in
+     * progress, alone if it is already large enough; in incremental mode the puts of the
+     * batch migrate the new resize a few buckets at a time.
+     */
+    private void ensureCapacity(long expected) {
+        int newCapacity = capacity;
+        while (expected > newCapacity * loadFactor && newCapacity < (1 << 30)) {
+            newCapacity = newCapacity * 2;
+        }
+        if (newCapacity != capacity) {
+            resize(newCapacity);
+        }
+    }
+
+    private void resize(int capacity) {
+        completeMigration();
+        oldBuckets = buckets;
+        oldCapacity = this.capacity;
+        migrateIndex = 0;
         this.capacity = capacity;
-        this.buckets = table;
+        this.buckets = createTable(capacity);
+        if (!incrementalResize) {
+            completeMigration();
+        }
+    }
+
+    /**
+     * Moves up to the given number of old buckets into the new table.
+     */
+    private void migrate(int bucketCount) {
+        if (oldBuckets == null) {
+            return;
+        }
+        int end = Math.min(migrateIndex + bucketCount, oldCapacity);
+        for (; migrateIndex < end; migrateIndex++) {
+            Bucket bucket = oldBuckets[migrateIndex];
+            if (bucket == null) {
+                continue;
+            }
+            Entry entry = bucket.head;
+            while (entry != null) {
+                Entry next = entry.next;
+                int newIndex = hash(entry.key, capacity);
+                if (buckets[newIndex] == null) {
+                    buckets[newIndex] = createBucket();
+                }
+                buckets[newIndex].add(entry);
+                entry = next;
+            }
+            oldBuckets[migrateIndex] = null;
+        }
+        if (migrateIndex == oldCapacity) {
+            oldBuckets = null;
+        }
     }
 
-    private int hash(K key) {
+    /**
+     * Returns the bucket the key belongs to: its old bucket if that has not been
+     * migrated yet, otherwise its bucket in the current table. May be null.
+     */
+    private Bucket bucketOf(K key) {
+        if (oldBuckets != null) {
+            int oldIndex = hash(key, oldCapacity);
+            if (oldIndex >= migrateIndex) {
+                return oldBuckets[oldIndex];
+            }
+        }
+        return buckets[hash(key, capacity)];
+    }
+
+    /**
+     * Creates the missing bucket for the key in whichever table bucketOf would look in.
+     */
+    private Bucket createBucket(K key) {
+        Bucket bucket = createBucket();
+        if (oldBuckets != null && hash(key, oldCapacity) >= migrateIndex) {
+            oldBuckets[hash(key, oldCapacity)] = bucket;
+        } else {
+            buckets[hash(key, capacity)] = bucket;
+        }
+        return bucket;
+    }
+
+    private int hash(K key, int capacity) {
         int h = key.hashCode();
         h ^= (h >>> 20) ^ (h >>> 12) ^ (h >>> 7) ^ (h >>> 4);
         return h & (capacity - 1);
@@ -222,15 +538,12 @@ public class HashMap<K extends Comparable<K>, V> implements Map<K, V> {
         return new Entry(key, value);
     }
 
-    private LinkedList<Entry> createBucket() {
-        return new LinkedList<>();
+    private Bucket createBucket() {
+        return new Bucket();
     }
 
-    private LinkedList<Entry>[] createTable(int tableSize) {
-        LinkedList<Entry>[] table = new LinkedList[tableSize];
-        for (int i = 0; i < tableSize; i++) {
-            table[i] = createBucket();
-        }
-        return table;
+    private Bucket[] createTable(int tableSize) {
+        // buckets are created lazily on first insert
+        return new HashMap.Bucket[tableSize];
     }
 }
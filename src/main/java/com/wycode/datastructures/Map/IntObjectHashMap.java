@@ -0,0 +1,211 @@
+package com.wycode.datastructures.Map;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from int keys to object values that never boxes.
+ * <p>
+ * Open addressing with linear probing over an int key array and a parallel value array.
+ * Key 0 marks an empty slot, so a real 0 key is kept in a separate field. Removal shifts
+ * the rest of the probe run back instead of leaving tombstones.
+ * Lookups and updates of existing keys never allocate. get returns null for a missing key;
+ * use containsKey to tell a stored null apart.
+ * <p>
+ * Complexity Summary:
+ * - get / put / remove / containsKey: O(1) expected
+ * - resize: O(n)
+ * - Space Complexity: O(capacity), 4 bytes plus one reference per slot
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class IntObjectHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.5;
+
+    private int[] keys;
+    private V[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public IntObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the number of entries expected without resizing
+     */
+    public IntObjectHashMap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative:" + capacity);
+        }
+        allocate(tableSizeFor(capacity));
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    public V get(int key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : null;
+        }
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void put(int key, V value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size = size + 1;
+            }
+            zeroValue = value;
+            return;
+        }
+        int i = mix(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size = size + 1;
+        if (size > threshold) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @return the removed value, or null if the key was absent
+     */
+    public V remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return null;
+            }
+            V value = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size = size - 1;
+            return value;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V value = values[index];
+        shiftKeys(index);
+        size = size - 1;
+        return value;
+    }
+
+    /**
+     * Returns a new array holding every key, in no particular order.
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int j = 0;
+        if (hasZeroKey) {
+            result[j++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[j++] = key;
+            }
+        }
+        return result;
+    }
+
+    private int indexOf(int key) {
+        int i = mix(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Backward-shift deletion: moves later entries of the probe run into the freed slot
+     * whenever the freed slot lies on their own probe path.
+     */
+    private void shiftKeys(int free) {
+        int i = (free + 1) & mask;
+        while (keys[i] != 0) {
+            int home = mix(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - free) & mask)) {
+                keys[free] = keys[i];
+                values[free] = values[i];
+                free = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[free] = 0;
+        values[free] = null;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        V[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key != 0) {
+                int i = mix(key) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int expected) {
+        int capacity = Integer.highestOneBit(Math.max((int) (expected / LOAD_FACTOR), 2) - 1) << 1;
+        return Math.max(capacity, DEFAULT_CAPACITY);
+    }
+}
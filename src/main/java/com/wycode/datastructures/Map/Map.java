@@ -1,9 +1,33 @@
 package com.wycode.datastructures.Map;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 public interface Map<K,V> extends Iterable<K> {
 
+    /**
+     * A mutable position in a map. One cursor object is moved over every entry,
+     * so a full scan allocates nothing per entry and never looks a key up twice.
+     * <p>
+     * key and value are only defined after advance has returned true. The result of
+     * changing the map while a cursor is in use is undefined, unless the map says otherwise.
+     */
+    interface Cursor<K, V> {
+
+        /**
+         * Moves to the next entry.
+         *
+         * @return false if there are no more entries
+         */
+        boolean advance();
+
+        K key();
+
+        V value();
+    }
+
     void clear();
 
     boolean containsKey(K key);
@@ -14,10 +38,106 @@ public interface Map<K,V> extends Iterable<K> {
 
     void put(K key, V value);
 
-    Set<K> keySet();
+    /**
+     * Puts every entry of the other map. Implementations that resize grow once up front
+     * instead of checking their load on every put.
+     */
+    default void putAll(Map<? extends K, ? extends V> other) {
+        other.forEach((key, value) -> put(key, value));
+    }
+
+    /**
+     * Puts keys[i] with values[i] for every i, as a single batch. Implementations that
+     * resize grow once up front instead of checking their load on every put.
+     *
+     * @throws IllegalArgumentException if the arrays differ in length or a key is null;
+     *                                  nothing is put in that case
+     */
+    default void putAll(K[] keys, V[] values) {
+        Batches.checkPut(keys, values);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Looks up a batch of keys, storing the value of keys[i], or null, in out[i].
+     *
+     * @throws IllegalArgumentException if out is shorter than keys or a key is null
+     */
+    default void getAll(K[] keys, V[] out) {
+        Batches.checkGet(keys, out);
+        for (int i = 0; i < keys.length; i++) {
+            out[i] = get(keys[i]);
+        }
+    }
+
+    /**
+     * Returns a live view of the keys. It copies nothing: contains asks containsKey,
+     * iteration walks the map, and later changes to the map are visible through it.
+     */
+    default Set<K> keySet() {
+        return new MapViews.KeySet<>(this);
+    }
+
+    /**
+     * Returns a live view of the values, iterated with cursor().
+     */
+    default Collection<V> values() {
+        return new MapViews.Values<>(this);
+    }
+
+    /**
+     * Returns a live view of the entries, iterated with cursor(). Each entry is an immutable
+     * copy of one key and value, so prefer cursor() or forEach for allocation-free scans.
+     */
+    default Set<java.util.Map.Entry<K, V>> entrySet() {
+        return new MapViews.EntrySet<>(this);
+    }
 
     V remove(K key);
 
     V remove(K key, V value);
 
+    /**
+     * Returns a cursor positioned before the first entry, visiting entries in iteration order.
+     * The default looks every key up again; implementations override it to walk their entries.
+     */
+    default Cursor<K, V> cursor() {
+        Iterator<K> keys = iterator();
+        return new Cursor<>() {
+            private K key;
+            private V value;
+
+            @Override
+            public boolean advance() {
+                if (!keys.hasNext()) {
+                    return false;
+                }
+                key = keys.next();
+                value = get(key);
+                return true;
+            }
+
+            @Override
+            public K key() {
+                return key;
+            }
+
+            @Override
+            public V value() {
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Calls the action for every entry, in iteration order.
+     */
+    default void forEach(BiConsumer<? super K, ? super V> action) {
+        Cursor<K, V> cursor = cursor();
+        while (cursor.advance()) {
+            action.accept(cursor.key(), cursor.value());
+        }
+    }
 }
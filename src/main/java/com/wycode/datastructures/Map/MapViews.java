@@ -0,0 +1,201 @@
+package com.wycode.datastructures.Map;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Live views of a {@link Map}, returned by its keySet, values and entrySet defaults.
+ * A view holds only a reference to its map: creating one copies nothing, every query is
+ * answered by the map, and changes to the map show up in the view at once.
+ * <p>
+ * Removing through a view, or through a view iterator's remove, removes from the map;
+ * adding through a view is not supported. Iterators follow the map's cursor, so their
+ * behavior under other concurrent changes is the map's.
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+final class MapViews {
+
+    private MapViews() {
+    }
+
+    /**
+     * Adapts a cursor to an Iterator, reading one element from each position. The cursor
+     * advances only when hasNext needs it, so given the map, remove deletes the key last
+     * returned while the cursor still stands on it, and the map's cursor resumes after it.
+     */
+    static final class CursorIterator<K, V, T> implements Iterator<T> {
+        private final Map<K, V> map; // null when remove is not supported
+        private final Map.Cursor<K, V> cursor;
+        private final Function<Map.Cursor<K, V>, T> read;
+        private boolean hasNext;
+        private boolean advanced; // whether hasNext already holds the cursor's next answer
+        private K lastKey; // null until next is called, and again after remove
+
+        CursorIterator(Map.Cursor<K, V> cursor, Function<Map.Cursor<K, V>, T> read) {
+            this(null, cursor, read);
+        }
+
+        CursorIterator(Map<K, V> map, Map.Cursor<K, V> cursor, Function<Map.Cursor<K, V>, T> read) {
+            this.map = map;
+            this.cursor = cursor;
+            this.read = read;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!advanced) {
+                hasNext = cursor.advance();
+                advanced = true;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advanced = false;
+            lastKey = cursor.key();
+            return read.apply(cursor);
+        }
+
+        @Override
+        public void remove() {
+            if (map == null) {
+                throw new UnsupportedOperationException("remove");
+            }
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            map.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    static final class KeySet<K, V> extends AbstractSet<K> {
+        private final Map<K, V> map;
+
+        KeySet(Map<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o != null && map.containsKey((K) o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            map.remove((K) o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new CursorIterator<>(map, map.cursor(), Map.Cursor::key);
+        }
+    }
+
+    static final class Values<K, V> extends AbstractCollection<V> {
+        private final Map<K, V> map;
+
+        Values(Map<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new CursorIterator<>(map, map.cursor(), Map.Cursor::value);
+        }
+    }
+
+    /**
+     * Entries are immutable snapshots of one key and value; use put to change a value.
+     */
+    static final class EntrySet<K, V> extends AbstractSet<java.util.Map.Entry<K, V>> {
+        private final Map<K, V> map;
+
+        EntrySet(Map<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        /**
+         * Reads the value with the cursor rather than get, which caches count as an access.
+         * containsKey rejects absent keys at once; a present key costs a scan, O(n).
+         */
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof java.util.Map.Entry<?, ?> entry) || entry.getKey() == null) {
+                return false;
+            }
+            K key = (K) entry.getKey();
+            if (!map.containsKey(key)) {
+                return false;
+            }
+            Map.Cursor<K, V> cursor = map.cursor();
+            while (cursor.advance()) {
+                if (key.equals(cursor.key())) {
+                    return Objects.equals(cursor.value(), entry.getValue());
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            map.remove((K) ((java.util.Map.Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Iterator<java.util.Map.Entry<K, V>> iterator() {
+            return new CursorIterator<>(map, map.cursor(),
+                    cursor -> new AbstractMap.SimpleImmutableEntry<>(cursor.key(), cursor.value()));
+        }
+    }
+}
@@ -0,0 +1,539 @@
+package com.wycode.datastructures.Map;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * A persistent hash map that keeps its table and entries in a memory-mapped file.
+ * Reopening the file serves lookups at once, with no rebuild step.
+ * <p>
+ * Keys and values are stored as bytes produced by a {@link Codec}. Keys are equal when their
+ * encoded bytes are equal, so byte[] keys compare by content.
+ * <p>
+ * File layout:
+ * - header: magic, slot count, entry count, end of the data region
+ * - slot table: open addressing with linear probing, each slot a record offset and the key hash
+ * - data region: append-only records (key length, value length, key bytes, value bytes),
+ *   mapped in fixed-size chunks that no record straddles
+ * <p>
+ * Every write goes to the data region first and only then publishes the record by storing
+ * its offset into a slot. A process that dies mid-update therefore leaves either the old
+ * or the new entry reachable, never a torn one. The entry count is recounted from the slots
+ * on open. Growing the table writes a new file beside the old one and renames it over the
+ * original, so a crash during a rebuild leaves the original intact.
+ * Call {@link #flush()} to force the pages to disk as well, which also covers an OS crash.
+ * <p>
+ * Overwritten and removed records stay in the data region until the next rebuild or {@link #compact()}.
+ * <p>
+ * Complexity Summary:
+ * - get / put / remove / containsKey: O(1) expected
+ * - open: O(capacity) to recount the slots
+ * - Space Complexity: O(n) on disk, O(1) on the heap
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class MappedHashMap<K, V> implements Map<K, V>, Closeable {
+    private static final int MAGIC = 0x4D484D31;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int SIZE_OFFSET = 8;
+    private static final int DATA_END_OFFSET = 16;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 16; // long record offset, int hash, 4 bytes padding
+    private static final int CHUNK_SIZE = 1 << 26;
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    private static final int MAX_CAPACITY = 1 << 26; // keeps the slot table within one mapping
+    private static final long EMPTY = 0;
+    private static final long TOMBSTONE = 1;
+    private static final int NULL_VALUE = -1;
+
+    private final Path path;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private FileChannel channel;
+    private MappedByteBuffer table; // header followed by the slots
+    private List<MappedByteBuffer> chunks;
+    private int capacity;
+    private long dataStart;
+    private long dataEnd;
+    private int size;
+    private int used; // live slots plus tombstones
+
+    private class MappedHashMapIterator implements Iterator<K> {
+        private int slot = nextLive(0);
+
+        private int nextLive(int from) {
+            while (from < capacity && slotOffset(from) <= TOMBSTONE) {
+                from = from + 1;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return slot < capacity;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = keyCodec.decode(readKey(slotOffset(slot)));
+            slot = nextLive(slot + 1);
+            return key;
+        }
+    }
+
+    /**
+     * Decodes each entry once, reading the key and the value from the same record.
+     * The decoded objects are new, as with get.
+     */
+    private class MappedHashMapCursor implements Cursor<K, V> {
+        private int slot = -1;
+        private K key;
+        private V value;
+
+        @Override
+        public boolean advance() {
+            slot = slot + 1;
+            while (slot < capacity && slotOffset(slot) <= TOMBSTONE) {
+                slot = slot + 1;
+            }
+            if (slot >= capacity) {
+                slot = capacity;
+                return false;
+            }
+            long offset = slotOffset(slot);
+            key = keyCodec.decode(readKey(offset));
+            byte[] bytes = readValue(offset);
+            value = bytes == null ? null : valueCodec.decode(bytes);
+            return true;
+        }
+
+        @Override
+        public K key() {
+            return key;
+        }
+
+        @Override
+        public V value() {
+            return value;
+        }
+    }
+
+    /**
+     * Creates a new file with the given capacity, or opens the existing file when capacity is 0.
+     */
+    private MappedHashMap(Path path, Codec<K> keyCodec, Codec<V> valueCodec, int capacity) throws IOException {
+        this.path = path;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        if (capacity > 0) {
+            create(capacity);
+        } else {
+            openExisting();
+        }
+    }
+
+    /**
+     * Opens the map stored at path, creating an empty one if the file does not exist.
+     *
+     * @throws IOException if the file cannot be mapped or is not a MappedHashMap file
+     */
+    public static <K, V> MappedHashMap<K, V> open(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        // a leftover from a rebuild that never reached its rename
+        Files.deleteIfExists(rebuildPath(path));
+        boolean exists = Files.exists(path) && Files.size(path) > 0;
+        return new MappedHashMap<>(path, keyCodec, valueCodec, exists ? 0 : DEFAULT_CAPACITY);
+    }
+
+    private static Path rebuildPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".rebuild");
+    }
+
+    private static long dataStart(int capacity) {
+        long tableEnd = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+        return (tableEnd + 4095) & ~4095L;
+    }
+
+    private void create(int capacity) throws IOException {
+        channel = FileChannel.open(path, CREATE, READ, WRITE, TRUNCATE_EXISTING);
+        table = channel.map(READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+        table.putInt(CAPACITY_OFFSET, capacity);
+        table.putInt(SIZE_OFFSET, 0);
+        table.putLong(DATA_END_OFFSET, dataStart(capacity));
+        // written last: a file without the magic number is never mistaken for a map
+        table.putInt(MAGIC_OFFSET, MAGIC);
+        load();
+    }
+
+    private void openExisting() throws IOException {
+        channel = FileChannel.open(path, READ, WRITE);
+        // check the size first, mapping past the end would silently grow the file
+        MappedByteBuffer header = channel.size() < HEADER_SIZE ? null : channel.map(READ_WRITE, 0, HEADER_SIZE);
+        if (header == null || header.getInt(MAGIC_OFFSET) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a MappedHashMap file: " + path);
+        }
+        table = channel.map(READ_WRITE, 0, HEADER_SIZE + (long) header.getInt(CAPACITY_OFFSET) * SLOT_SIZE);
+        load();
+    }
+
+    /**
+     * Reads the header and recounts the slots, since a crash may have left the stored count stale.
+     */
+    private void load() {
+        capacity = table.getInt(CAPACITY_OFFSET);
+        dataStart = dataStart(capacity);
+        dataEnd = table.getLong(DATA_END_OFFSET);
+        chunks = new ArrayList<>();
+        size = 0;
+        used = 0;
+        for (int i = 0; i < capacity; i++) {
+            long offset = slotOffset(i);
+            if (offset != EMPTY) {
+                used = used + 1;
+                if (offset != TOMBSTONE) {
+                    size = size + 1;
+                }
+            }
+        }
+        table.putInt(SIZE_OFFSET, size);
+    }
+
+    private long slotOffset(int slot) {
+        return table.getLong(HEADER_SIZE + slot * SLOT_SIZE);
+    }
+
+    private int slotHash(int slot) {
+        return table.getInt(HEADER_SIZE + slot * SLOT_SIZE + 8);
+    }
+
+    private void setSlot(int slot, long offset) {
+        table.putLong(HEADER_SIZE + slot * SLOT_SIZE, offset);
+    }
+
+    private MappedByteBuffer chunk(int index) {
+        try {
+            while (chunks.size() <= index) {
+                chunks.add(channel.map(READ_WRITE, dataStart + (long) chunks.size() * CHUNK_SIZE, CHUNK_SIZE));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunks.get(index);
+    }
+
+    private MappedByteBuffer chunkOf(long offset) {
+        return chunk((int) ((offset - dataStart) / CHUNK_SIZE));
+    }
+
+    private static int positionOf(long offset, long dataStart) {
+        return (int) ((offset - dataStart) % CHUNK_SIZE);
+    }
+
+    private byte[] readKey(long offset) {
+        MappedByteBuffer chunk = chunkOf(offset);
+        int pos = positionOf(offset, dataStart);
+        byte[] key = new byte[chunk.getInt(pos)];
+        chunk.get(pos + 8, key);
+        return key;
+    }
+
+    private byte[] readValue(long offset) {
+        MappedByteBuffer chunk = chunkOf(offset);
+        int pos = positionOf(offset, dataStart);
+        int valueLength = chunk.getInt(pos + 4);
+        if (valueLength == NULL_VALUE) {
+            return null;
+        }
+        byte[] value = new byte[valueLength];
+        chunk.get(pos + 8 + chunk.getInt(pos), value);
+        return value;
+    }
+
+    private boolean keyEquals(long offset, byte[] key) {
+        MappedByteBuffer chunk = chunkOf(offset);
+        int pos = positionOf(offset, dataStart);
+        if (chunk.getInt(pos) != key.length) {
+            return false;
+        }
+        pos = pos + 8;
+        for (int i = 0; i < key.length; i++) {
+            if (chunk.get(pos + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the slot holding the key, or -1 if it is absent.
+     */
+    private int findSlot(byte[] key, int hash) {
+        int i = hash & (capacity - 1);
+        while (true) {
+            long offset = slotOffset(i);
+            if (offset == EMPTY) {
+                return -1;
+            }
+            if (offset != TOMBSTONE && slotHash(i) == hash && keyEquals(offset, key)) {
+                return i;
+            }
+            i = (i + 1) & (capacity - 1);
+        }
+    }
+
+    /**
+     * Writes a record at the end of the data region and returns its offset.
+     * The record is not reachable until a slot points to it.
+     */
+    private long append(byte[] key, byte[] value) {
+        int length = 8 + key.length + (value == null ? 0 : value.length);
+        if (length > CHUNK_SIZE) {
+            throw new IllegalArgumentException("Entry too large: " + length + " bytes");
+        }
+        long offset = dataEnd;
+        if (positionOf(offset, dataStart) + length > CHUNK_SIZE) {
+            // start the next chunk rather than split the record
+            offset = dataStart + ((offset - dataStart) / CHUNK_SIZE + 1) * CHUNK_SIZE;
+        }
+        MappedByteBuffer chunk = chunkOf(offset);
+        int pos = positionOf(offset, dataStart);
+        chunk.putInt(pos, key.length);
+        chunk.putInt(pos + 4, value == null ? NULL_VALUE : value.length);
+        chunk.put(pos + 8, key);
+        if (value != null) {
+            chunk.put(pos + 8 + key.length, value);
+        }
+        dataEnd = offset + length;
+        table.putLong(DATA_END_OFFSET, dataEnd);
+        return offset;
+    }
+
+    /**
+     * Stores a key known to be absent in the first free slot of its probe sequence.
+     */
+    private void insertNew(int hash, byte[] key, byte[] value) {
+        long offset = append(key, value);
+        int i = hash & (capacity - 1);
+        while (slotOffset(i) > TOMBSTONE) {
+            i = (i + 1) & (capacity - 1);
+        }
+        if (slotOffset(i) == EMPTY) {
+            used = used + 1;
+        }
+        table.putInt(HEADER_SIZE + i * SLOT_SIZE + 8, hash);
+        setSlot(i, offset);
+        size = size + 1;
+        table.putInt(SIZE_OFFSET, size);
+    }
+
+    /**
+     * Rebuilds the file once if the expected number of entries would otherwise make a put of
+     * the batch rebuild it, sized with the same headroom that put leaves.
+     */
+    private void ensureCapacity(long expected) {
+        if ((used + expected - size) * 2 <= capacity) {
+            return;
+        }
+        long newCapacity = capacity;
+        while (expected * 4 > newCapacity && newCapacity < MAX_CAPACITY) {
+            newCapacity = newCapacity * 2;
+        }
+        rebuild((int) newCapacity);
+    }
+
+    /**
+     * Copies the live entries into a new file and renames it over this one.
+     */
+    private void rebuild(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("MappedHashMap is full");
+        }
+        Path rebuildPath = rebuildPath(path);
+        try {
+            try (MappedHashMap<K, V> target = new MappedHashMap<>(rebuildPath, keyCodec, valueCodec, newCapacity)) {
+                for (int i = 0; i < capacity; i++) {
+                    long offset = slotOffset(i);
+                    if (offset > TOMBSTONE) {
+                        target.insertNew(slotHash(i), readKey(offset), readValue(offset));
+                    }
+                }
+            }
+            channel.close();
+            Files.move(rebuildPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            openExisting();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rewrites the file with only the live entries, dropping overwritten and removed records.
+     */
+    public void compact() {
+        rebuild(capacity);
+    }
+
+    /**
+     * Forces every change to the storage device.
+     */
+    public void flush() {
+        table.force();
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    /**
+     * Flushes and closes the file. The map must not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    @Override
+    public void clear() {
+        // unpublish every record before the data region can be reused
+        for (int i = 0; i < capacity; i++) {
+            setSlot(i, EMPTY);
+        }
+        size = 0;
+        used = 0;
+        table.putInt(SIZE_OFFSET, 0);
+        dataEnd = dataStart;
+        table.putLong(DATA_END_OFFSET, dataEnd);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        byte[] keyBytes = keyCodec.encode(key);
+        return findSlot(keyBytes, Codec.hash(keyBytes)) >= 0;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        byte[] keyBytes = keyCodec.encode(key);
+        int slot = findSlot(keyBytes, Codec.hash(keyBytes));
+        if (slot < 0) {
+            return null;
+        }
+        byte[] value = readValue(slotOffset(slot));
+        return value == null ? null : valueCodec.decode(value);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        byte[] keyBytes = keyCodec.encode(key);
+        byte[] valueBytes = value == null ? null : valueCodec.encode(value);
+        int hash = Codec.hash(keyBytes);
+        int slot = findSlot(keyBytes, hash);
+        if (slot >= 0) {
+            setSlot(slot, append(keyBytes, valueBytes));
+            return;
+        }
+        if ((used + 1) * 2 > capacity) {
+            // grow if live entries need it, otherwise just drop the tombstones
+            int newCapacity = capacity;
+            while ((size + 1) * 4 > newCapacity) {
+                newCapacity = newCapacity * 2;
+            }
+            rebuild(newCapacity);
+        }
+        insertNew(hash, keyBytes, valueBytes);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> other) {
+        ensureCapacity((long) size + other.size());
+        other.forEach((key, value) -> put(key, value));
+    }
+
+    @Override
+    public void putAll(K[] keys, V[] values) {
+        Batches.checkPut(keys, values);
+        ensureCapacity((long) size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        byte[] keyBytes = keyCodec.encode(key);
+        int slot = findSlot(keyBytes, Codec.hash(keyBytes));
+        if (slot < 0) {
+            return null;
+        }
+        byte[] value = readValue(slotOffset(slot));
+        removeSlot(slot);
+        return value == null ? null : valueCodec.decode(value);
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        byte[] keyBytes = keyCodec.encode(key);
+        int slot = findSlot(keyBytes, Codec.hash(keyBytes));
+        if (slot < 0) {
+            return null;
+        }
+        byte[] stored = readValue(slotOffset(slot));
+        if (!Arrays.equals(stored, value == null ? null : valueCodec.encode(value))) {
+            return null;
+        }
+        removeSlot(slot);
+        return value;
+    }
+
+    private void removeSlot(int slot) {
+        setSlot(slot, TOMBSTONE);
+        size = size - 1;
+        table.putInt(SIZE_OFFSET, size);
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new MappedHashMapIterator();
+    }
+
+    @Override
+    public Cursor<K, V> cursor() {
+        return new MappedHashMapCursor();
+    }
+}
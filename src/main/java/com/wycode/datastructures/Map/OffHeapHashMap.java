@@ -0,0 +1,525 @@
+package com.wycode.datastructures.Map;
+
+import java.io.Closeable;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.*;
+
+/**
+ * A hash map whose keys and values live in native memory, outside the garbage-collected heap.
+ * <p>
+ * Entries are encoded with a {@link Codec} and appended as records to fixed-size native chunks
+ * allocated from an {@link Arena}. The only heap structure is the index, a single long[]
+ * using linear probing. Each slot packs 24 bits of the key hash above the record offset, so
+ * most mismatches are rejected without touching native memory. However many entries the map
+ * holds, the collector sees one array and no per-entry objects.
+ * <p>
+ * Removal shifts later slots back instead of leaving tombstones. Overwritten and removed
+ * records become garbage, and once it outweighs the live data the records are copied into
+ * a fresh arena and the old one is freed.
+ * <p>
+ * Native memory is released by {@link #close()}, or by clear(), never by the collector.
+ * The map must not be used after close().
+ * <p>
+ * Complexity Summary:
+ * - get / put / remove / containsKey: O(1) expected
+ * - Space Complexity: O(n) native, 8 bytes per slot on the heap
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class OffHeapHashMap<K, V> implements Map<K, V>, Closeable {
+    private static final int CHUNK_SIZE = 1 << 22;
+    private static final int RECORD_HEADER = 12; // int hash, int key length, int value length
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int NULL_VALUE = -1;
+    private static final long EMPTY = 0;
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private Arena arena;
+    private List<MemorySegment> chunks;
+    private long dataEnd;
+    private long liveBytes;
+    private long garbageBytes;
+    private long[] index;
+    private int size;
+    private boolean closed;
+
+    /**
+     * Walks the slots downwards, cyclically, from an EMPTY slot back to it. Removal only
+     * shifts entries down into the hole from slots above it in the same cluster, and the
+     * walk has already passed those, so removing the entry just returned neither skips
+     * nor repeats one.
+     */
+    private class OffHeapHashMapIterator implements Iterator<K> {
+        private final int start = firstEmpty();
+        private int slot = nextLive(start, start);
+
+        @Override
+        public boolean hasNext() {
+            return slot != start;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = keyCodec.decode(readKey(offsetOf(index[slot])));
+            slot = nextLive(slot, start);
+            return key;
+        }
+    }
+
+    /**
+     * Decodes each entry once, reading the key and the value from the same record.
+     * The decoded objects are new, as with get. Slots are visited in the iterator's order.
+     */
+    private class OffHeapHashMapCursor implements Cursor<K, V> {
+        private final int start = firstEmpty();
+        private int slot = start;
+        private boolean done;
+        private K key;
+        private V value;
+
+        @Override
+        public boolean advance() {
+            if (done) {
+                return false;
+            }
+            slot = nextLive(slot, start);
+            if (slot == start) {
+                done = true;
+                return false;
+            }
+            long offset = offsetOf(index[slot]);
+            key = keyCodec.decode(readKey(offset));
+            byte[] bytes = readValue(offset);
+            value = bytes == null ? null : valueCodec.decode(bytes);
+            return true;
+        }
+
+        @Override
+        public K key() {
+            return key;
+        }
+
+        @Override
+        public V value() {
+            return value;
+        }
+    }
+
+    public OffHeapHashMap(Codec<K> keyCodec, Codec<V> valueCodec) {
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.index = new long[DEFAULT_CAPACITY];
+        this.arena = Arena.ofShared();
+        this.chunks = new ArrayList<>();
+    }
+
+    private static long slotOf(int hash, long offset) {
+        return ((long) (hash >>> 8) << OFFSET_BITS) | (offset + 1);
+    }
+
+    private static long offsetOf(long slot) {
+        return (slot & OFFSET_MASK) - 1;
+    }
+
+    private static boolean tagMatches(long slot, int hash) {
+        return (slot >>> OFFSET_BITS) == (hash >>> 8);
+    }
+
+    private MemorySegment chunkOf(long offset) {
+        return chunks.get((int) (offset / CHUNK_SIZE));
+    }
+
+    private static long positionOf(long offset) {
+        return offset % CHUNK_SIZE;
+    }
+
+    private int hashAt(long offset) {
+        return chunkOf(offset).get(ValueLayout.JAVA_INT, positionOf(offset));
+    }
+
+    private static int recordLength(int keyLength, int valueLength) {
+        int length = RECORD_HEADER + keyLength + Math.max(valueLength, 0);
+        return (length + 7) & ~7; // keep every record 8-byte aligned
+    }
+
+    private int recordLengthAt(long offset) {
+        MemorySegment chunk = chunkOf(offset);
+        long pos = positionOf(offset);
+        return recordLength(chunk.get(ValueLayout.JAVA_INT, pos + 4), chunk.get(ValueLayout.JAVA_INT, pos + 8));
+    }
+
+    private byte[] readKey(long offset) {
+        MemorySegment chunk = chunkOf(offset);
+        long pos = positionOf(offset);
+        byte[] key = new byte[chunk.get(ValueLayout.JAVA_INT, pos + 4)];
+        MemorySegment.copy(chunk, ValueLayout.JAVA_BYTE, pos + RECORD_HEADER, key, 0, key.length);
+        return key;
+    }
+
+    private byte[] readValue(long offset) {
+        MemorySegment chunk = chunkOf(offset);
+        long pos = positionOf(offset);
+        int keyLength = chunk.get(ValueLayout.JAVA_INT, pos + 4);
+        int valueLength = chunk.get(ValueLayout.JAVA_INT, pos + 8);
+        if (valueLength == NULL_VALUE) {
+            return null;
+        }
+        byte[] value = new byte[valueLength];
+        MemorySegment.copy(chunk, ValueLayout.JAVA_BYTE, pos + RECORD_HEADER + keyLength, value, 0, valueLength);
+        return value;
+    }
+
+    private boolean keyEquals(long offset, byte[] key) {
+        MemorySegment chunk = chunkOf(offset);
+        long pos = positionOf(offset);
+        if (chunk.get(ValueLayout.JAVA_INT, pos + 4) != key.length) {
+            return false;
+        }
+        pos = pos + RECORD_HEADER;
+        for (int i = 0; i < key.length; i++) {
+            if (chunk.get(ValueLayout.JAVA_BYTE, pos + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a record at the end of the data and returns its offset.
+     */
+    private long append(int hash, byte[] key, byte[] value) {
+        int length = recordLength(key.length, value == null ? NULL_VALUE : value.length);
+        if (length > CHUNK_SIZE) {
+            throw new IllegalArgumentException("Entry too large: " + length + " bytes");
+        }
+        long offset = reserve(length);
+        MemorySegment chunk = chunkOf(offset);
+        long pos = positionOf(offset);
+        chunk.set(ValueLayout.JAVA_INT, pos, hash);
+        chunk.set(ValueLayout.JAVA_INT, pos + 4, key.length);
+        chunk.set(ValueLayout.JAVA_INT, pos + 8, value == null ? NULL_VALUE : value.length);
+        MemorySegment.copy(key, 0, chunk, ValueLayout.JAVA_BYTE, pos + RECORD_HEADER, key.length);
+        if (value != null) {
+            MemorySegment.copy(value, 0, chunk, ValueLayout.JAVA_BYTE, pos + RECORD_HEADER + key.length, value.length);
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the slot holding the key, or -1 if it is absent.
+     */
+    private int findSlot(byte[] key, int hash) {
+        int mask = index.length - 1;
+        int i = hash & mask;
+        while (index[i] != EMPTY) {
+            if (tagMatches(index[i], hash) && keyEquals(offsetOf(index[i]), key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a slot that is EMPTY; the index is never more than half full.
+     */
+    private int firstEmpty() {
+        int i = 0;
+        while (index[i] != EMPTY) {
+            i = i + 1;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the first live slot below the given one, wrapping around, or start if the walk
+     * gets back to it first.
+     */
+    private int nextLive(int slot, int start) {
+        int mask = index.length - 1;
+        do {
+            slot = (slot - 1) & mask;
+        } while (slot != start && index[slot] == EMPTY);
+        return slot;
+    }
+
+    private void place(long[] table, long slot, int hash) {
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot;
+    }
+
+    /**
+     * Grows the index once so that no put of a batch of the expected size has to resize it.
+     */
+    private void ensureCapacity(long expected) {
+        ensureOpen();
+        int length = index.length;
+        while (expected * 2 > length && length < (1 << 30)) {
+            length = length * 2;
+        }
+        if (length != index.length) {
+            resize(length);
+        }
+    }
+
+    /**
+     * Doubles the index. Only the hashes are read back from native memory; no record moves.
+     */
+    private void resize(int length) {
+        long[] newIndex = new long[length];
+        for (long slot : index) {
+            if (slot != EMPTY) {
+                place(newIndex, slot, hashAt(offsetOf(slot)));
+            }
+        }
+        index = newIndex;
+    }
+
+    /**
+     * Copies the live records into a new arena and frees the old one in a single call.
+     */
+    private void compact() {
+        Arena oldArena = arena;
+        List<MemorySegment> oldChunks = chunks;
+        arena = Arena.ofShared();
+        chunks = new ArrayList<>();
+        dataEnd = 0;
+        liveBytes = 0;
+        garbageBytes = 0;
+        for (int i = 0; i < index.length; i++) {
+            if (index[i] != EMPTY) {
+                long oldOffset = offsetOf(index[i]);
+                MemorySegment chunk = oldChunks.get((int) (oldOffset / CHUNK_SIZE));
+                long pos = positionOf(oldOffset);
+                int hash = chunk.get(ValueLayout.JAVA_INT, pos);
+                int length = recordLength(chunk.get(ValueLayout.JAVA_INT, pos + 4), chunk.get(ValueLayout.JAVA_INT, pos + 8));
+                long newOffset = reserve(length);
+                MemorySegment.copy(chunk, pos, chunkOf(newOffset), positionOf(newOffset), length);
+                index[i] = slotOf(hash, newOffset);
+            }
+        }
+        oldArena.close();
+    }
+
+    /**
+     * Reserves space for a record at the end of the data, starting a new chunk rather than splitting it.
+     */
+    private long reserve(int length) {
+        long offset = dataEnd;
+        if (positionOf(offset) + length > CHUNK_SIZE) {
+            offset = (offset / CHUNK_SIZE + 1) * CHUNK_SIZE;
+        }
+        if (offset / CHUNK_SIZE == chunks.size()) {
+            chunks.add(arena.allocate(CHUNK_SIZE, 8));
+        }
+        dataEnd = offset + length;
+        liveBytes = liveBytes + length;
+        return offset;
+    }
+
+    private void discard(long offset) {
+        int length = recordLengthAt(offset);
+        liveBytes = liveBytes - length;
+        garbageBytes = garbageBytes + length;
+    }
+
+    private void compactIfWasteful() {
+        if (garbageBytes > CHUNK_SIZE && garbageBytes > liveBytes) {
+            compact();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("OffHeapHashMap is closed");
+        }
+    }
+
+    /**
+     * Returns the native memory currently reserved for records, in bytes.
+     */
+    public long offHeapBytes() {
+        return (long) chunks.size() * CHUNK_SIZE;
+    }
+
+    /**
+     * Frees all native memory. Calling close more than once has no further effect.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            arena.close();
+            chunks = new ArrayList<>();
+            index = new long[DEFAULT_CAPACITY];
+            size = 0;
+        }
+    }
+
+    @Override
+    public void clear() {
+        ensureOpen();
+        arena.close();
+        arena = Arena.ofShared();
+        chunks = new ArrayList<>();
+        index = new long[DEFAULT_CAPACITY];
+        dataEnd = 0;
+        liveBytes = 0;
+        garbageBytes = 0;
+        size = 0;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        ensureOpen();
+        byte[] keyBytes = keyCodec.encode(key);
+        return findSlot(keyBytes, Codec.hash(keyBytes)) >= 0;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        ensureOpen();
+        byte[] keyBytes = keyCodec.encode(key);
+        int slot = findSlot(keyBytes, Codec.hash(keyBytes));
+        if (slot < 0) {
+            return null;
+        }
+        byte[] value = readValue(offsetOf(index[slot]));
+        return value == null ? null : valueCodec.decode(value);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        ensureOpen();
+        byte[] keyBytes = keyCodec.encode(key);
+        byte[] valueBytes = value == null ? null : valueCodec.encode(value);
+        int hash = Codec.hash(keyBytes);
+        int slot = findSlot(keyBytes, hash);
+        if (slot >= 0) {
+            discard(offsetOf(index[slot]));
+            index[slot] = slotOf(hash, append(hash, keyBytes, valueBytes));
+            compactIfWasteful();
+            return;
+        }
+        if ((size + 1) * 2 > index.length) {
+            resize(index.length * 2);
+        }
+        place(index, slotOf(hash, append(hash, keyBytes, valueBytes)), hash);
+        size = size + 1;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> other) {
+        ensureCapacity((long) size + other.size());
+        other.forEach((key, value) -> put(key, value));
+    }
+
+    @Override
+    public void putAll(K[] keys, V[] values) {
+        Batches.checkPut(keys, values);
+        ensureCapacity((long) size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        ensureOpen();
+        byte[] keyBytes = keyCodec.encode(key);
+        int slot = findSlot(keyBytes, Codec.hash(keyBytes));
+        if (slot < 0) {
+            return null;
+        }
+        byte[] value = readValue(offsetOf(index[slot]));
+        removeSlot(slot);
+        return value == null ? null : valueCodec.decode(value);
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        ensureOpen();
+        byte[] keyBytes = keyCodec.encode(key);
+        int slot = findSlot(keyBytes, Codec.hash(keyBytes));
+        if (slot < 0) {
+            return null;
+        }
+        byte[] stored = readValue(offsetOf(index[slot]));
+        if (!Arrays.equals(stored, value == null ? null : valueCodec.encode(value))) {
+            return null;
+        }
+        removeSlot(slot);
+        return value;
+    }
+
+    /**
+     * Empties the slot and shifts back any later slot of the cluster that may no longer be reachable.
+     */
+    private void removeSlot(int hole) {
+        discard(offsetOf(index[hole]));
+        int mask = index.length - 1;
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            long slot = index[j];
+            if (slot == EMPTY) {
+                break;
+            }
+            int home = hashAt(offsetOf(slot)) & mask;
+            // move it unless its home lies cyclically in (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                index[hole] = slot;
+                hole = j;
+            }
+        }
+        index[hole] = EMPTY;
+        size = size - 1;
+        compactIfWasteful();
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        ensureOpen();
+        return new OffHeapHashMapIterator();
+    }
+
+    @Override
+    public Cursor<K, V> cursor() {
+        ensureOpen();
+        return new OffHeapHashMapCursor();
+    }
+}
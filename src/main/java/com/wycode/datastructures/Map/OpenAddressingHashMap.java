@@ -0,0 +1,319 @@
+package com.wycode.datastructures.Map;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map that uses open addressing with linear probing instead of bucket lists.
+ * Keys and values live in two flat parallel arrays, so a lookup touches consecutive
+ * slots rather than chasing Entry and list node pointers.
+ * <p>
+ * Removed slots are marked with a tombstone so that later probes keep walking past them;
+ * tombstones are dropped whenever the table is rebuilt.
+ * <p>
+ * Complexity Summary:
+ * - get / put / remove / containsKey: O(1) expected
+ * - resize: O(n)
+ * - Space Complexity: O(capacity), two references per slot
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class OpenAddressingHashMap<K extends Comparable<K>, V> implements Map<K, V> {
+    private static final Object TOMBSTONE = new Object();
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int capacity;
+    private int size;
+    private int tombstones;
+    private double loadFactor = 0.5;
+    private Object[] keys;
+    private V[] values;
+
+    private class OpenAddressingIterator implements Iterator<K> {
+        private int index = 0;
+
+        public OpenAddressingIterator() {
+            moveToNext();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < capacity;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = (K) keys[index];
+            index = index + 1;
+            moveToNext();
+            return key;
+        }
+
+        private void moveToNext() {
+            while (index < capacity && (keys[index] == null || keys[index] == TOMBSTONE)) {
+                index = index + 1;
+            }
+        }
+    }
+
+    private class OpenAddressingCursor implements Cursor<K, V> {
+        private final Object[] keys = OpenAddressingHashMap.this.keys;
+        private final V[] values = OpenAddressingHashMap.this.values;
+        private int index = -1;
+
+        @Override
+        public boolean advance() {
+            index = index + 1;
+            while (index < keys.length && (keys[index] == null || keys[index] == TOMBSTONE)) {
+                index = index + 1;
+            }
+            return index < keys.length;
+        }
+
+        @Override
+        public K key() {
+            return (K) keys[index];
+        }
+
+        @Override
+        public V value() {
+            return values[index];
+        }
+    }
+
+    public OpenAddressingHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public OpenAddressingHashMap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0:" + capacity);
+        }
+        this.capacity = tableSizeFor(capacity);
+        keys = new Object[this.capacity];
+        values = (V[]) new Object[this.capacity];
+        size = 0;
+        tombstones = 0;
+    }
+
+    public OpenAddressingHashMap(int capacity, double loadFactor) {
+        this(capacity);
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1:" + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+    }
+
+    @Override
+    public void clear() {
+        capacity = DEFAULT_CAPACITY;
+        keys = new Object[capacity];
+        values = (V[]) new Object[capacity];
+        size = 0;
+        tombstones = 0;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        return findSlot(key) >= 0;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int slot = findSlot(key);
+        return slot < 0 ? null : values[slot];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        if ((double) (size + tombstones + 1) / capacity > loadFactor) {
+            // Only grow when live entries need the room; otherwise rebuilding just drops tombstones.
+            resize(size + 1 > capacity * loadFactor / 2 ? capacity * 2 : capacity);
+        }
+        int mask = capacity - 1;
+        int firstTombstone = -1;
+        for (int i = hash(key); ; i = (i + 1) & mask) {
+            Object k = keys[i];
+            if (k == null) {
+                if (firstTombstone >= 0) {
+                    i = firstTombstone;
+                    tombstones = tombstones - 1;
+                }
+                keys[i] = key;
+                values[i] = value;
+                size = size + 1;
+                return;
+            }
+            if (k == TOMBSTONE) {
+                if (firstTombstone < 0) {
+                    firstTombstone = i;
+                }
+            } else if (k.equals(key)) {
+                values[i] = value;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V value = values[slot];
+        deleteSlot(slot);
+        return value;
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int slot = findSlot(key);
+        if (slot < 0 || !value.equals(values[slot])) {
+            return null;
+        }
+        V remove = values[slot];
+        deleteSlot(slot);
+        return remove;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> other) {
+        ensureCapacity((long) size + other.size());
+        other.forEach((key, value) -> put(key, value));
+    }
+
+    @Override
+    public void putAll(K[] keys, V[] values) {
+        Batches.checkPut(keys, values);
+        ensureCapacity((long) size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new OpenAddressingIterator();
+    }
+
+    @Override
+    public Cursor<K, V> cursor() {
+        return new OpenAddressingCursor();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < capacity; i++) {
+            Object k = keys[i];
+            if (k != null && k != TOMBSTONE) {
+                action.accept((K) k, values[i]);
+            }
+        }
+    }
+
+    /**
+     * Walks the probe sequence of the key.
+     *
+     * @return the slot holding the key, or -1 if the key is absent
+     */
+    private int findSlot(K key) {
+        int mask = capacity - 1;
+        for (int i = hash(key); ; i = (i + 1) & mask) {
+            Object k = keys[i];
+            if (k == null) {
+                return -1;
+            }
+            if (k != TOMBSTONE && k.equals(key)) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * Empties a slot. If the next slot is already empty no probe sequence runs through
+     * this one, so it can be cleared outright instead of leaving a tombstone.
+     */
+    private void deleteSlot(int slot) {
+        values[slot] = null;
+        if (keys[(slot + 1) & (capacity - 1)] == null) {
+            keys[slot] = null;
+        } else {
+            keys[slot] = TOMBSTONE;
+            tombstones = tombstones + 1;
+        }
+        size = size - 1;
+    }
+
+    /**
+     * Rebuilds the table once so that the expected number of entries fits within the load
+     * factor, tombstones included, and no put of a batch has to resize.
+     */
+    private void ensureCapacity(long expected) {
+        int newCapacity = capacity;
+        while (expected > newCapacity * loadFactor && newCapacity < (1 << 30)) {
+            newCapacity = newCapacity * 2;
+        }
+        if (newCapacity != capacity || expected + tombstones > capacity * loadFactor) {
+            resize(newCapacity);
+        }
+    }
+
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        V[] oldValues = values;
+        this.capacity = capacity;
+        keys = new Object[capacity];
+        values = (V[]) new Object[capacity];
+        tombstones = 0;
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            Object k = oldKeys[j];
+            if (k == null || k == TOMBSTONE) {
+                continue;
+            }
+            int i = hash((K) k);
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = k;
+            values[i] = oldValues[j];
+        }
+    }
+
+    private int hash(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 20) ^ (h >>> 12) ^ (h >>> 7) ^ (h >>> 4);
+        return h & (capacity - 1);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Integer.highestOneBit(capacity);
+        return n == capacity ? n : n << 1;
+    }
+}
@@ -0,0 +1,71 @@
+package com.wycode.datastructures.Map;
+
+import java.util.Iterator;
+
+/**
+ * A Map whose keys are kept in sorted order, supporting ordered navigation.
+ *
+ * @param <K> the type of keys, compared with compareTo
+ * @param <V> the type of values
+ */
+public interface OrderedMap<K extends Comparable<K>, V> extends Map<K, V> {
+
+    /**
+     * Returns the smallest key
+     *
+     * @return the smallest key
+     * @throws java.util.NoSuchElementException if the map is empty
+     */
+    K min();
+
+    /**
+     * Returns the largest key
+     *
+     * @return the largest key
+     * @throws java.util.NoSuchElementException if the map is empty
+     */
+    K max();
+
+    /**
+     * Returns the largest key less than or equal to the given key
+     *
+     * @param key the key to look for
+     * @return the floor key, or null if there is none
+     */
+    K floor(K key);
+
+    /**
+     * Returns the smallest key greater than or equal to the given key
+     *
+     * @param key the key to look for
+     * @return the ceiling key, or null if there is none
+     */
+    K ceiling(K key);
+
+    /**
+     * Returns the number of keys strictly less than the given key
+     *
+     * @param key the key to rank, which need not be in the map
+     * @return the rank of the key
+     */
+    int rank(K key);
+
+    /**
+     * Returns the key of the given rank, so that select(rank(key)) == key
+     *
+     * @param rank the 0-based rank
+     * @return the key with exactly rank smaller keys
+     * @throws IndexOutOfBoundsException if rank is negative or not less than size()
+     */
+    K select(int rank);
+
+    /**
+     * Returns a lazy iterator over the keys in [lo, hi] in ascending order.
+     * Only the nodes on the way to lo and the keys in range are visited.
+     *
+     * @param lo the smallest key to include
+     * @param hi the largest key to include
+     * @return an iterator over the keys in range
+     */
+    Iterator<K> rangeIterator(K lo, K hi);
+}
@@ -0,0 +1,623 @@
+package com.wycode.datastructures.Map;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * A persistent hash array mapped trie (HAMT): every version of the map is immutable, and an
+ * update copies only the path from the root to the changed entry, sharing the rest.
+ * <p>
+ * Each node covers 5 bits of the key hash. A bitmap says which of its 32 children exist and
+ * the children are packed into an array of key/value pairs, where a null key marks a pair
+ * whose value is a sub-node. Keys whose whole hash is equal share a collision node.
+ * <p>
+ * The map itself is a handle on the current version, published through an AtomicReference:
+ * - Readers never lock. get, iteration and cursor() see one complete version.
+ * - put and remove build the next version and publish it with a compare-and-set,
+ * retrying on a race, so writers do not lock either.
+ * - snapshot() is O(1): it hands out the current version as an immutable map.
+ * - A {@link Builder} is the transient form for bulk loading. It owns the nodes it creates
+ * and changes them in place instead of copying a path per put.
+ * <p>
+ * Complexity Summary:
+ * - get / put / remove / containsKey: O(log32 n)
+ * - snapshot: O(1)
+ * - Builder.put: O(log32 n), without copying nodes the builder already owns
+ * - Space Complexity: O(n); versions share all unchanged nodes
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class PersistentHashMap<K extends Comparable<K>, V> implements Map<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_DEPTH = 8; // 7 bitmap levels cover 32 hash bits, then a collision node
+    private static final Object NOT_FOUND = new Object();
+    private static final Root EMPTY = new Root(null, 0);
+
+    /**
+     * One version of the map.
+     */
+    private static final class Root {
+        final Node node; // null when empty
+        final int size;
+
+        Root(Node node, int size) {
+            this.node = node;
+            this.size = size;
+        }
+    }
+
+    /**
+     * What an update did, reported back up the recursion.
+     */
+    private static final class Change {
+        boolean added;
+        boolean removed;
+        Object old;
+    }
+
+    /**
+     * Both kinds of node keep key/value pairs in array. A node may be changed in place only
+     * by the builder whose edit token it carries; all other updates copy it.
+     */
+    private abstract static class Node {
+        final Object edit;
+        Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        boolean ownedBy(Object edit) {
+            return edit != null && this.edit == edit;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node put(Object edit, int shift, int hash, Object key, Object value, Change change);
+
+        /**
+         * @return the node without the key, or null if nothing is left
+         */
+        abstract Node remove(Object edit, int shift, int hash, Object key, Change change);
+    }
+
+    private static final class BitmapNode extends Node {
+        int bitmap;
+
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            super(edit, array);
+            this.bitmap = bitmap;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            if (k == null) {
+                return ((Node) array[i + 1]).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node put(Object edit, int shift, int hash, Object key, Object value, Change change) {
+            int bit = bit(hash, shift);
+            int i = 2 * index(bit);
+            if ((bitmap & bit) == 0) {
+                change.added = true;
+                Object[] grown = new Object[array.length + 2];
+                System.arraycopy(array, 0, grown, 0, i);
+                grown[i] = key;
+                grown[i + 1] = value;
+                System.arraycopy(array, i, grown, i + 2, array.length - i);
+                if (ownedBy(edit)) {
+                    array = grown;
+                    bitmap = bitmap | bit;
+                    return this;
+                }
+                return new BitmapNode(edit, bitmap | bit, grown);
+            }
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child = ((Node) v).put(edit, shift + BITS, hash, key, value, change);
+                return child == v ? this : with(edit, i, null, child);
+            }
+            if (key.equals(k)) {
+                change.old = v;
+                return v == value ? this : with(edit, i, k, value);
+            }
+            change.added = true;
+            return with(edit, i, null, pair(edit, shift + BITS, PersistentHashMap.hash(k), k, v, hash, key, value));
+        }
+
+        @Override
+        Node remove(Object edit, int shift, int hash, Object key, Change change) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child = ((Node) v).remove(edit, shift + BITS, hash, key, change);
+                if (child == v) {
+                    return this;
+                }
+                if (child != null) {
+                    return with(edit, i, null, child);
+                }
+            } else if (key.equals(k)) {
+                change.removed = true;
+                change.old = v;
+            } else {
+                return this;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, i);
+            System.arraycopy(array, i + 2, shrunk, i, array.length - i - 2);
+            if (ownedBy(edit)) {
+                array = shrunk;
+                bitmap = bitmap ^ bit;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap ^ bit, shrunk);
+        }
+
+        /**
+         * Returns this node with the pair at i replaced, in place if the editor owns it.
+         */
+        private BitmapNode with(Object edit, int i, Object key, Object value) {
+            BitmapNode node = ownedBy(edit) ? this : new BitmapNode(edit, bitmap, array.clone());
+            node.array[i] = key;
+            node.array[i + 1] = value;
+            return node;
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        final int hash;
+
+        CollisionNode(Object edit, int hash, Object[] array) {
+            super(edit, array);
+            this.hash = hash;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int i = hash == this.hash ? indexOf(key) : -1;
+            return i < 0 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        Node put(Object edit, int shift, int hash, Object key, Object value, Change change) {
+            if (hash != this.hash) {
+                // a key with a different hash: push this node one level down beside it
+                BitmapNode parent = new BitmapNode(edit, bit(this.hash, shift), new Object[]{null, this});
+                return parent.put(edit, shift, hash, key, value, change);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                change.old = array[i + 1];
+                if (array[i + 1] == value) {
+                    return this;
+                }
+                CollisionNode node = ownedBy(edit) ? this : new CollisionNode(edit, hash, array.clone());
+                node.array[i + 1] = value;
+                return node;
+            }
+            change.added = true;
+            Object[] grown = new Object[array.length + 2];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            grown[array.length] = key;
+            grown[array.length + 1] = value;
+            if (ownedBy(edit)) {
+                array = grown;
+                return this;
+            }
+            return new CollisionNode(edit, hash, grown);
+        }
+
+        @Override
+        Node remove(Object edit, int shift, int hash, Object key, Change change) {
+            int i = hash == this.hash ? indexOf(key) : -1;
+            if (i < 0) {
+                return this;
+            }
+            change.removed = true;
+            change.old = array[i + 1];
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, i);
+            System.arraycopy(array, i + 2, shrunk, i, array.length - i - 2);
+            if (ownedBy(edit)) {
+                array = shrunk;
+                return this;
+            }
+            return new CollisionNode(edit, hash, shrunk);
+        }
+    }
+
+    /**
+     * Walks one version depth first with a fixed stack of arrays, so it allocates nothing per entry.
+     */
+    private final class TrieCursor implements Cursor<K, V> {
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth;
+        private Object key, value;
+
+        TrieCursor(Node root) {
+            if (root == null) {
+                depth = -1;
+            } else {
+                arrays[0] = root.array;
+            }
+        }
+
+        @Override
+        public boolean advance() {
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int position = positions[depth];
+                if (position == array.length) {
+                    depth = depth - 1;
+                    continue;
+                }
+                positions[depth] = position + 2;
+                if (array[position] == null) {
+                    depth = depth + 1;
+                    arrays[depth] = ((Node) array[position + 1]).array;
+                    positions[depth] = 0;
+                } else {
+                    key = array[position];
+                    value = array[position + 1];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public K key() {
+            return (K) key;
+        }
+
+        @Override
+        public V value() {
+            return (V) value;
+        }
+    }
+
+    /**
+     * A transient, single-threaded copy of a version for building a new one in bulk. Nodes the
+     * builder creates carry its edit token and are changed in place by its later puts, while
+     * nodes shared with published versions are still copied. build() publishes the result and
+     * takes a new token, so the built map never changes under its readers.
+     */
+    public static final class Builder<K extends Comparable<K>, V> {
+        private Object edit = new Object();
+        private Node node;
+        private int size;
+
+        private Builder(Root root) {
+            this.node = root.node;
+            this.size = root.size;
+        }
+
+        public Builder<K, V> put(K key, V value) {
+            if (key == null) {
+                throw new IllegalArgumentException("key is null");
+            }
+            Change change = new Change();
+            node = PersistentHashMap.put(node, edit, key, value, change);
+            if (change.added) {
+                size = size + 1;
+            }
+            return this;
+        }
+
+        public Builder<K, V> remove(K key) {
+            if (key == null) {
+                throw new IllegalArgumentException("key is null");
+            }
+            Change change = new Change();
+            node = PersistentHashMap.remove(node, edit, key, change);
+            if (change.removed) {
+                size = size - 1;
+            }
+            return this;
+        }
+
+        public V get(K key) {
+            if (key == null) {
+                throw new IllegalArgumentException("key is null");
+            }
+            Object value = node == null ? NOT_FOUND : node.find(0, hash(key), key);
+            return value == NOT_FOUND ? null : (V) value;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns a map holding the current contents. The builder stays usable, but from now
+         * on it copies the nodes it shares with that map.
+         */
+        public PersistentHashMap<K, V> build() {
+            edit = new Object();
+            return new PersistentHashMap<>(new Root(node, size), false);
+        }
+    }
+
+    private final AtomicReference<Root> root;
+    private final boolean frozen;
+
+    public PersistentHashMap() {
+        this(EMPTY, false);
+    }
+
+    private PersistentHashMap(Root root, boolean frozen) {
+        this.root = new AtomicReference<>(root);
+        this.frozen = frozen;
+    }
+
+    /**
+     * Returns a builder for a new map.
+     */
+    public static <K extends Comparable<K>, V> Builder<K, V> builder() {
+        return new Builder<>(EMPTY);
+    }
+
+    /**
+     * Returns a builder starting from the current version of this map.
+     */
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(root.get());
+    }
+
+    /**
+     * Returns the current version as an immutable map, in O(1). Later changes to this map
+     * do not affect it; its own put, remove and clear throw UnsupportedOperationException.
+     */
+    public PersistentHashMap<K, V> snapshot() {
+        return frozen ? this : new PersistentHashMap<>(root.get(), true);
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 20) ^ (h >>> 12) ^ (h >>> 7) ^ (h >>> 4);
+        return h;
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Builds the smallest subtree holding two keys that share a parent slot.
+     */
+    private static Node pair(Object edit, int shift, int hash1, Object key1, Object value1,
+                             int hash2, Object key2, Object value2) {
+        if (hash1 == hash2) {
+            return new CollisionNode(edit, hash1, new Object[]{key1, value1, key2, value2});
+        }
+        int bit1 = bit(hash1, shift);
+        int bit2 = bit(hash2, shift);
+        if (bit1 == bit2) {
+            return new BitmapNode(edit, bit1,
+                    new Object[]{null, pair(edit, shift + BITS, hash1, key1, value1, hash2, key2, value2)});
+        }
+        // compare unsigned: bit 31 is negative as an int
+        Object[] array = Integer.compareUnsigned(bit1, bit2) < 0
+                ? new Object[]{key1, value1, key2, value2}
+                : new Object[]{key2, value2, key1, value1};
+        return new BitmapNode(edit, bit1 | bit2, array);
+    }
+
+    private static Node put(Node node, Object edit, Object key, Object value, Change change) {
+        int hash = hash(key);
+        if (node == null) {
+            change.added = true;
+            return new BitmapNode(edit, bit(hash, 0), new Object[]{key, value});
+        }
+        return node.put(edit, 0, hash, key, value, change);
+    }
+
+    private static Node remove(Node node, Object edit, Object key, Change change) {
+        return node == null ? null : node.remove(edit, 0, hash(key), key, change);
+    }
+
+    private void checkWritable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("PersistentHashMap snapshot is immutable");
+        }
+    }
+
+    private Object find(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node node = root.get().node;
+        return node == null ? NOT_FOUND : node.find(0, hash(key), key);
+    }
+
+    @Override
+    public void clear() {
+        checkWritable();
+        root.set(EMPTY);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(key) != NOT_FOUND;
+    }
+
+    @Override
+    public V get(K key) {
+        Object value = find(key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    public int size() {
+        return root.get().size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        checkWritable();
+        while (true) {
+            Root current = root.get();
+            Change change = new Change();
+            Node node = put(current.node, null, key, value, change);
+            if (node == current.node
+                    || root.compareAndSet(current, new Root(node, current.size + (change.added ? 1 : 0)))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Loads the batch through a builder, so nodes are copied at most once rather than once
+     * per put, and publishes the result with a single compare-and-set.
+     */
+    @Override
+    public void putAll(K[] keys, V[] values) {
+        Batches.checkPut(keys, values);
+        checkWritable();
+        while (true) {
+            Root current = root.get();
+            Builder<K, V> builder = new Builder<>(current);
+            for (int i = 0; i < keys.length; i++) {
+                builder.put(keys[i], values[i]);
+            }
+            if (root.compareAndSet(current, new Root(builder.node, builder.size))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> other) {
+        checkWritable();
+        while (true) {
+            Root current = root.get();
+            Builder<K, V> builder = new Builder<>(current);
+            other.forEach((key, value) -> builder.put(key, value));
+            if (root.compareAndSet(current, new Root(builder.node, builder.size))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        checkWritable();
+        while (true) {
+            Root current = root.get();
+            Change change = new Change();
+            Node node = remove(current.node, null, key, change);
+            if (!change.removed) {
+                return null;
+            }
+            if (root.compareAndSet(current, new Root(node, current.size - 1))) {
+                return (V) change.old;
+            }
+        }
+    }
+
+    /**
+     * Removes the key only if it is mapped to an equal value in the version being replaced.
+     */
+    @Override
+    public V remove(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        checkWritable();
+        while (true) {
+            Root current = root.get();
+            Change change = new Change();
+            Node node = remove(current.node, null, key, change);
+            if (!change.removed || !Objects.equals(change.old, value)) {
+                return null;
+            }
+            if (root.compareAndSet(current, new Root(node, current.size - 1))) {
+                return (V) change.old;
+            }
+        }
+    }
+
+    /**
+     * Iterates the version that is current when the iterator is created.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new MapViews.CursorIterator<>(cursor(), Cursor::key);
+    }
+
+    /**
+     * Returns a cursor over the version that is current when it is created; later changes
+     * to the map never affect it.
+     */
+    @Override
+    public Cursor<K, V> cursor() {
+        return new TrieCursor(root.get().node);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Node node = root.get().node;
+        if (node != null) {
+            forEach(node, action);
+        }
+    }
+
+    private void forEach(Node node, BiConsumer<? super K, ? super V> action) {
+        Object[] array = node.array;
+        for (int i = 0; i < array.length; i += 2) {
+            if (array[i] == null) {
+                forEach((Node) array[i + 1], action);
+            } else {
+                action.accept((K) array[i], (V) array[i + 1]);
+            }
+        }
+    }
+}
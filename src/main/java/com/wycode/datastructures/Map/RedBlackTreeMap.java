@@ -1,39 +1,149 @@
 package com.wycode.datastructures.Map;
 
+import java.util.ArrayDeque;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 /**
+ * A left-leaning red-black tree (LLRB) map.
+ * <p>
+ * Red links lean left and no node has two red links, which keeps the tree in
+ * 1-1 correspondence with a 2-3 tree, so its height stays below 2 log n even for sorted input.
+ * <p>
+ * Complexity Summary:
+ * - get / put / remove / containsKey: O(log n)
+ * - deleteMin / deleteMax: O(log n)
+ * - min / max / floor / ceiling / rank / select: O(log n)
+ * - rangeIterator: O(log n + k) for k keys in range
+ * - iteration in key order: O(n)
+ * - Space Complexity: O(n)
+ *
  * @author WY
  * @version 1.0
  **/
 
-public class RedBlackTreeMap<K extends Comparable<K>, V> implements Map<K, V> {
+public class RedBlackTreeMap<K extends Comparable<K>, V> implements OrderedMap<K, V> {
     private static final boolean RED = true;
     private static final boolean BLACK = false;
 
     private Node root;
     private int size;
+    private int modCount; // structural changes, so iterators know to find their place again
 
     private class Node {
         private K key;
         private V value;
         private Node left, right;
         private boolean color;
+        private int size; // number of nodes in the subtree rooted here
         public Node(K k,V v,boolean color) {
             this.key = k;
             this.value = v;
             this.color = color;
+            this.size = 1;
+        }
+    }
+
+    /**
+     * In-order iterator over the keys in [lo, hi]; a null bound means unbounded.
+     * Deletion rotates nodes and moves keys between them, so after any structural change the
+     * stack is rebuilt from the root, resuming after the key last returned.
+     */
+    private class RedBlackTreeMapIterator implements Iterator<K> {
+        private ArrayDeque<Node> stack;
+        private K lo, hi;
+        private K last; // the key last returned, null before the first
+        private int expectedModCount = modCount;
+
+        public RedBlackTreeMapIterator() {
+            this(null, null);
+        }
+
+        public RedBlackTreeMapIterator(K lo, K hi) {
+            this.lo = lo;
+            this.hi = hi;
+            stack = new ArrayDeque<>();
+            pushLeft(root);
+        }
+
+        private void pushLeft(Node n) {
+            while (n != null) {
+                if (last != null ? n.key.compareTo(last) <= 0 : lo != null && n.key.compareTo(lo) < 0) {
+                    // this key and its whole left subtree are below the range, or already returned
+                    n = n.right;
+                } else {
+                    stack.push(n);
+                    n = n.left;
+                }
+            }
+        }
+
+        private void resync() {
+            if (expectedModCount != modCount) {
+                expectedModCount = modCount;
+                stack.clear();
+                pushLeft(root);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            resync();
+            return !stack.isEmpty() && (hi == null || stack.peek().key.compareTo(hi) <= 0);
+        }
+
+        @Override
+        public K next() {
+            return nextNode().key;
+        }
+
+        Node nextNode() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Node n = stack.pop();
+            last = n.key;
+            pushLeft(n.right);
+            return n;
+        }
+    }
+
+    private class RedBlackTreeMapCursor implements Cursor<K, V> {
+        private final RedBlackTreeMapIterator nodes = new RedBlackTreeMapIterator();
+        private Node n;
+
+        @Override
+        public boolean advance() {
+            if (!nodes.hasNext()) {
+                return false;
+            }
+            n = nodes.nextNode();
+            return true;
+        }
+
+        @Override
+        public K key() {
+            return n.key;
+        }
+
+        @Override
+        public V value() {
+            return n.value;
         }
     }
 
 
     @Override
     public V get(K key){
-        return get(root,key);
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node n = get(root, key);
+        return n == null ? null : n.value;
     }
 
-    private V get(Node n,K key){
+    private Node get(Node n,K key){
         while (n != null) {
             int cmp = key.compareTo(n.key);
             if (cmp < 0) {
@@ -41,7 +151,7 @@ public class RedBlackTreeMap<K extends Comparable<K>, V> implements Map<K, V> {
             }else if (cmp > 0) {
                 n = n.right;
             } else {
-                return n.value;
+                return n;
             }
         }
         return null;
@@ -51,11 +161,15 @@ public class RedBlackTreeMap<K extends Comparable<K>, V> implements Map<K, V> {
     public void clear() {
         root = null;
         size = 0;
+        modCount = modCount + 1;
     }
 
     @Override
     public boolean containsKey(K key) {
-        return get(key) != null;
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        return get(root, key) != null;
     }
 
 
@@ -64,6 +178,10 @@ public class RedBlackTreeMap<K extends Comparable<K>, V> implements Map<K, V> {
         return size;
     }
 
+    private int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
     private boolean isRed(Node n) {
         if(n == null) {return false;}
         return n.color == RED;
@@ -72,35 +190,401 @@ public class RedBlackTreeMap<K extends Comparable<K>, V> implements Map<K, V> {
         assert (h!=null) && isRed(h.left);
         Node x = h.left;
         h.left = x.right;
+        x.right = h;
+        x.color = h.color;
+        h.color = RED;
+        h.size = 1 + size(h.left) + size(h.right);
+        x.size = 1 + size(x.left) + size(x.right);
+        return x;
+    }
+
+    private Node rotateLeft(Node h) {
+        assert (h != null) && isRed(h.right);
+        Node x = h.right;
+        h.right = x.left;
         x.left = h;
         x.color = h.color;
         h.color = RED;
+        h.size = 1 + size(h.left) + size(h.right);
+        x.size = 1 + size(x.left) + size(x.right);
         return x;
     }
 
+    private void flipColors(Node h) {
+        h.color = !h.color;
+        h.left.color = !h.left.color;
+        h.right.color = !h.right.color;
+    }
+
 
     @Override
     public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        root = put(root, key, value);
+        root.color = BLACK;
+    }
+
+    private Node put(Node h, K key, V value) {
+        if (h == null) {
+            size = size + 1;
+            modCount = modCount + 1;
+            return new Node(key, value, RED);
+        }
+        int cmp = key.compareTo(h.key);
+        if (cmp < 0) {
+            h.left = put(h.left, key, value);
+        } else if (cmp > 0) {
+            h.right = put(h.right, key, value);
+        } else {
+            h.value = value;
+        }
 
+        if (isRed(h.right) && !isRed(h.left)) {
+            h = rotateLeft(h);
+        }
+        if (isRed(h.left) && isRed(h.left.left)) {
+            h = rotateRight(h);
+        }
+        if (isRed(h.left) && isRed(h.right)) {
+            flipColors(h);
+        }
+        h.size = 1 + size(h.left) + size(h.right);
+        return h;
     }
 
-    @Override
-    public Set<K> keySet() {
-        return Set.of();
+    /**
+     * Removes the smallest key.
+     *
+     * @throws NoSuchElementException if the map is empty
+     */
+    public void deleteMin() {
+        if (root == null) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        if (!isRed(root.left) && !isRed(root.right)) {
+            root.color = RED;
+        }
+        root = deleteMin(root);
+        size = size - 1;
+        modCount = modCount + 1;
+        if (root != null) {
+            root.color = BLACK;
+        }
+    }
+
+    private Node deleteMin(Node h) {
+        if (h.left == null) {
+            return null;
+        }
+        if (!isRed(h.left) && !isRed(h.left.left)) {
+            h = moveRedLeft(h);
+        }
+        h.left = deleteMin(h.left);
+        return balance(h);
+    }
+
+    /**
+     * Removes the largest key.
+     *
+     * @throws NoSuchElementException if the map is empty
+     */
+    public void deleteMax() {
+        if (root == null) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        if (!isRed(root.left) && !isRed(root.right)) {
+            root.color = RED;
+        }
+        root = deleteMax(root);
+        size = size - 1;
+        modCount = modCount + 1;
+        if (root != null) {
+            root.color = BLACK;
+        }
+    }
+
+    private Node deleteMax(Node h) {
+        if (isRed(h.left)) {
+            h = rotateRight(h);
+        }
+        if (h.right == null) {
+            return null;
+        }
+        if (!isRed(h.right) && !isRed(h.right.left)) {
+            h = moveRedRight(h);
+        }
+        h.right = deleteMax(h.right);
+        return balance(h);
     }
 
     @Override
     public V remove(K key) {
-        return null;
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node removed = get(root, key);
+        if (removed == null) {
+            return null;
+        }
+        V deletedValue = removed.value;
+        delete(key);
+        return deletedValue;
     }
 
     @Override
     public V remove(K key, V value) {
-        return null;
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        Node removed = get(root, key);
+        if (removed == null || !removed.value.equals(value)) {
+            return null;
+        }
+        V deletedValue = removed.value;
+        delete(key);
+        return deletedValue;
+    }
+
+    /**
+     * Deletes a key known to be present, keeping the tree balanced on the way back up.
+     */
+    private void delete(K key) {
+        if (!isRed(root.left) && !isRed(root.right)) {
+            root.color = RED;
+        }
+        root = delete(root, key);
+        size = size - 1;
+        modCount = modCount + 1;
+        if (root != null) {
+            root.color = BLACK;
+        }
+    }
+
+    private Node delete(Node h, K key) {
+        if (key.compareTo(h.key) < 0) {
+            if (!isRed(h.left) && !isRed(h.left.left)) {
+                h = moveRedLeft(h);
+            }
+            h.left = delete(h.left, key);
+        } else {
+            if (isRed(h.left)) {
+                h = rotateRight(h);
+            }
+            if (key.compareTo(h.key) == 0 && h.right == null) {
+                return null;
+            }
+            if (!isRed(h.right) && !isRed(h.right.left)) {
+                h = moveRedRight(h);
+            }
+            if (key.compareTo(h.key) == 0) {
+                Node successor = min(h.right);
+                h.key = successor.key;
+                h.value = successor.value;
+                h.right = deleteMin(h.right);
+            } else {
+                h.right = delete(h.right, key);
+            }
+        }
+        return balance(h);
+    }
+
+    /**
+     * Assuming h is red and both h.left and h.left.left are black,
+     * makes h.left or one of its children red.
+     */
+    private Node moveRedLeft(Node h) {
+        flipColors(h);
+        if (isRed(h.right.left)) {
+            h.right = rotateRight(h.right);
+            h = rotateLeft(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Assuming h is red and both h.right and h.right.left are black,
+     * makes h.right or one of its children red.
+     */
+    private Node moveRedRight(Node h) {
+        flipColors(h);
+        if (isRed(h.left.left)) {
+            h = rotateRight(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Restores the left-leaning invariants on the way up after a deletion.
+     */
+    private Node balance(Node h) {
+        if (isRed(h.right) && !isRed(h.left)) {
+            h = rotateLeft(h);
+        }
+        if (isRed(h.left) && isRed(h.left.left)) {
+            h = rotateRight(h);
+        }
+        if (isRed(h.left) && isRed(h.right)) {
+            flipColors(h);
+        }
+        h.size = 1 + size(h.left) + size(h.right);
+        return h;
+    }
+
+    private Node min(Node n) {
+        while (n.left != null) {
+            n = n.left;
+        }
+        return n;
+    }
+
+    @Override
+    public K min() {
+        if (root == null) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        return min(root).key;
+    }
+
+    @Override
+    public K max() {
+        if (root == null) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        return max(root).key;
+    }
+
+    private Node max(Node n) {
+        while (n.right != null) {
+            n = n.right;
+        }
+        return n;
+    }
+
+    @Override
+    public K floor(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        K floor = null;
+        Node n = root;
+        while (n != null) {
+            int cmp = key.compareTo(n.key);
+            if (cmp == 0) {
+                return n.key;
+            } else if (cmp < 0) {
+                n = n.left;
+            } else {
+                floor = n.key;
+                n = n.right;
+            }
+        }
+        return floor;
+    }
+
+    @Override
+    public K ceiling(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        K ceiling = null;
+        Node n = root;
+        while (n != null) {
+            int cmp = key.compareTo(n.key);
+            if (cmp == 0) {
+                return n.key;
+            } else if (cmp > 0) {
+                n = n.right;
+            } else {
+                ceiling = n.key;
+                n = n.left;
+            }
+        }
+        return ceiling;
+    }
+
+    /**
+     * Walks down to the key, adding up the sizes of the subtrees passed on the left.
+     * Time Complexity: O(h)
+     */
+    @Override
+    public int rank(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int rank = 0;
+        Node n = root;
+        while (n != null) {
+            int cmp = key.compareTo(n.key);
+            if (cmp < 0) {
+                n = n.left;
+            } else if (cmp > 0) {
+                rank = rank + 1 + size(n.left);
+                n = n.right;
+            } else {
+                return rank + size(n.left);
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Uses the left subtree size at each step to decide which side holds the key.
+     * Time Complexity: O(h)
+     */
+    @Override
+    public K select(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Rank: " + rank + ", Size: " + size);
+        }
+        Node n = root;
+        while (true) {
+            int leftSize = size(n.left);
+            if (rank < leftSize) {
+                n = n.left;
+            } else if (rank > leftSize) {
+                rank = rank - leftSize - 1;
+                n = n.right;
+            } else {
+                return n.key;
+            }
+        }
+    }
+
+    @Override
+    public Iterator<K> rangeIterator(K lo, K hi) {
+        if (lo == null || hi == null) {
+            throw new IllegalArgumentException("range bound is null");
+        }
+        return new RedBlackTreeMapIterator(lo, hi);
     }
 
     @Override
     public Iterator<K> iterator() {
-        return null;
+        return new RedBlackTreeMapIterator();
+    }
+
+    @Override
+    public Cursor<K, V> cursor() {
+        return new RedBlackTreeMapCursor();
+    }
+
+    /**
+     * Visits the entries in key order by recursion, which is safe since the height stays below 2 log n.
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, action);
+    }
+
+    private void forEach(Node n, BiConsumer<? super K, ? super V> action) {
+        while (n != null) {
+            forEach(n.left, action);
+            action.accept(n.key, n.value);
+            n = n.right;
+        }
     }
 }
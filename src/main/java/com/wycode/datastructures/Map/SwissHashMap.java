@@ -0,0 +1,363 @@
+package com.wycode.datastructures.Map;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A Swiss-table hash map: open addressing over groups of 16 slots, each slot described by
+ * one control byte, so a probe looks at 16 candidates with a few word operations before it
+ * touches any key.
+ * <p>
+ * - A control byte is EMPTY, DELETED or, for a full slot, the top 7 bits of the key hash
+ * (the tag). The control bytes are packed 8 to a long, two longs per group.
+ * - A lookup starts at the group picked by the rest of the hash. It compares the tag with
+ * 8 bytes at once (SWAR: SIMD within a register) and checks only the keys whose tag
+ * matches. It stops at the first group that has an EMPTY byte, so a miss usually costs
+ * one word compare and no key compare at all.
+ * - Groups are probed in triangular order, which visits every group of a power-of-two table.
+ * - Removal leaves DELETED only if the group is full, since a group with an EMPTY byte
+ * already ends every probe that reaches it.
+ * - The table holds up to 7/8 of its slots, and is rebuilt when inserts have used up the
+ * EMPTY slots, in place if it is mostly DELETED.
+ * <p>
+ * Complexity Summary:
+ * - get / put / remove / containsKey: O(1) expected
+ * - resize: O(n)
+ * - Space Complexity: O(capacity), two references and one byte per slot
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class SwissHashMap<K extends Comparable<K>, V> implements Map<K, V> {
+    private static final int WORD = 8; // control bytes per long
+    private static final int GROUP = 16;
+    private static final long EMPTY = 0xFFL;
+    private static final long DELETED = 0x80L;
+    private static final long LSB = 0x0101010101010101L; // lowest bit of every byte
+    private static final long MSB = 0x8080808080808080L; // highest bit of every byte
+    private static final long ALL_EMPTY = -1L;
+    private static final int DEFAULT_GROUPS = 1;
+
+    private long[] control;
+    private Object[] table; // slot i holds its key at 2i and its value at 2i + 1
+    private int size;
+    private int growthLeft; // inserts that may still turn an EMPTY slot full
+
+    private class SwissCursor implements Cursor<K, V> {
+        private final Object[] table = SwissHashMap.this.table;
+        private final long[] control = SwissHashMap.this.control;
+        private int word = -1;
+        private long full; // full slots of the current word not yet visited
+        private int slot;
+
+        @Override
+        public boolean advance() {
+            while (full == 0) {
+                word = word + 1;
+                if (word >= control.length) {
+                    return false;
+                }
+                full = matchFull(control[word]);
+            }
+            slot = word * WORD + (Long.numberOfTrailingZeros(full) >>> 3);
+            full = full & (full - 1);
+            return true;
+        }
+
+        @Override
+        public K key() {
+            return (K) table[2 * slot];
+        }
+
+        @Override
+        public V value() {
+            return (V) table[2 * slot + 1];
+        }
+    }
+
+    public SwissHashMap() {
+        this(DEFAULT_GROUPS * GROUP * 7 / 8);
+    }
+
+    /**
+     * @param capacity the number of entries to make room for without resizing
+     */
+    public SwissHashMap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0:" + capacity);
+        }
+        allocate(groupsFor(capacity));
+    }
+
+    private static int groupsFor(long capacity) {
+        int groups = DEFAULT_GROUPS;
+        while ((long) groups * GROUP * 7 / 8 < capacity && groups < (1 << 25)) {
+            groups = groups * 2;
+        }
+        return groups;
+    }
+
+    private void allocate(int groups) {
+        control = new long[groups * (GROUP / WORD)];
+        Arrays.fill(control, ALL_EMPTY);
+        table = new Object[2 * groups * GROUP];
+        growthLeft = groups * GROUP * 7 / 8;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return the high bit of every byte of the group equal to the tag; a byte just above a
+     * real match may be reported too, which the key compare then rejects
+     */
+    private static long matchTag(long group, int tag) {
+        long x = group ^ (LSB * tag);
+        return (x - LSB) & ~x & MSB;
+    }
+
+    private static long matchEmpty(long group) {
+        return group & (group << 1) & MSB; // only EMPTY has its two top bits set
+    }
+
+    private static long matchEmptyOrDeleted(long group) {
+        return group & MSB;
+    }
+
+    private static long matchFull(long group) {
+        return ~group & MSB;
+    }
+
+    private void setControl(int slot, long value) {
+        int shift = (slot & (WORD - 1)) * 8;
+        int word = slot / WORD;
+        control[word] = (control[word] & ~(0xFFL << shift)) | (value << shift);
+    }
+
+    private boolean hasEmpty(int group) {
+        return (matchEmpty(control[2 * group]) | matchEmpty(control[2 * group + 1])) != 0;
+    }
+
+    /**
+     * @return the slot holding the key, or -1 if the key is absent
+     */
+    private int find(Object key, int hash) {
+        long[] control = this.control;
+        Object[] table = this.table;
+        int mask = control.length / 2 - 1;
+        int tag = hash >>> 25;
+        int group = hash & mask;
+        for (int step = 1; ; step++) {
+            long low = control[2 * group];
+            long high = control[2 * group + 1];
+            for (long match = matchTag(low, tag); match != 0; match = match & (match - 1)) {
+                int slot = group * GROUP + (Long.numberOfTrailingZeros(match) >>> 3);
+                Object candidate = table[2 * slot];
+                if (candidate == key || key.equals(candidate)) {
+                    return slot;
+                }
+            }
+            for (long match = matchTag(high, tag); match != 0; match = match & (match - 1)) {
+                int slot = group * GROUP + WORD + (Long.numberOfTrailingZeros(match) >>> 3);
+                Object candidate = table[2 * slot];
+                if (candidate == key || key.equals(candidate)) {
+                    return slot;
+                }
+            }
+            if ((matchEmpty(low) | matchEmpty(high)) != 0 || step > mask) {
+                return -1;
+            }
+            group = (group + step) & mask;
+        }
+    }
+
+    /**
+     * @return the first EMPTY or DELETED slot on the probe sequence of the hash
+     */
+    private int findInsertSlot(int hash) {
+        int mask = control.length / 2 - 1;
+        int group = hash & mask;
+        for (int step = 1; ; step++) {
+            long free = matchEmptyOrDeleted(control[2 * group]);
+            if (free != 0) {
+                return group * GROUP + (Long.numberOfTrailingZeros(free) >>> 3);
+            }
+            free = matchEmptyOrDeleted(control[2 * group + 1]);
+            if (free != 0) {
+                return group * GROUP + WORD + (Long.numberOfTrailingZeros(free) >>> 3);
+            }
+            group = (group + step) & mask;
+        }
+    }
+
+    private void insert(Object key, Object value, int hash) {
+        int slot = findInsertSlot(hash);
+        int shift = (slot & (WORD - 1)) * 8;
+        if (((control[slot / WORD] >>> shift) & 0xFF) == EMPTY) {
+            growthLeft = growthLeft - 1;
+        }
+        setControl(slot, hash >>> 25);
+        table[2 * slot] = key;
+        table[2 * slot + 1] = value;
+    }
+
+    /**
+     * Rebuilds the table with the given number of groups, dropping every DELETED slot.
+     */
+    private void resize(int groups) {
+        long[] oldControl = control;
+        Object[] oldTable = table;
+        allocate(groups);
+        for (int w = 0; w < oldControl.length; w++) {
+            for (long full = matchFull(oldControl[w]); full != 0; full = full & (full - 1)) {
+                int slot = w * WORD + (Long.numberOfTrailingZeros(full) >>> 3);
+                Object key = oldTable[2 * slot];
+                insert(key, oldTable[2 * slot + 1], hash(key));
+            }
+        }
+    }
+
+    public int capacity() {
+        return control.length * WORD;
+    }
+
+    /**
+     * Returns size / slots.
+     */
+    public double loadFactor() {
+        return (double) size / capacity();
+    }
+
+    @Override
+    public void clear() {
+        allocate(DEFAULT_GROUPS);
+        size = 0;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        return find(key, hash(key)) >= 0;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int slot = find(key, hash(key));
+        return slot < 0 ? null : (V) table[2 * slot + 1];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int hash = hash(key);
+        int slot = find(key, hash);
+        if (slot >= 0) {
+            table[2 * slot + 1] = value;
+            return;
+        }
+        if (growthLeft == 0) {
+            // mostly tombstones: clean up in place; otherwise double
+            int groups = control.length / 2;
+            resize(size + 1 > groups * GROUP * 7 / 16 ? groups * 2 : groups);
+        }
+        insert(key, value, hash);
+        size = size + 1;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int slot = find(key, hash(key));
+        return slot < 0 ? null : delete(slot);
+    }
+
+    @Override
+    public V remove(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int slot = find(key, hash(key));
+        if (slot < 0 || !Objects.equals(value, table[2 * slot + 1])) {
+            return null;
+        }
+        return delete(slot);
+    }
+
+    private V delete(int slot) {
+        V value = (V) table[2 * slot + 1];
+        table[2 * slot] = null;
+        table[2 * slot + 1] = null;
+        if (hasEmpty(slot / GROUP)) {
+            setControl(slot, EMPTY);
+            growthLeft = growthLeft + 1;
+        } else {
+            setControl(slot, DELETED);
+        }
+        size = size - 1;
+        return value;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> other) {
+        ensureCapacity((long) size + other.size());
+        other.forEach((key, value) -> put(key, value));
+    }
+
+    @Override
+    public void putAll(K[] keys, V[] values) {
+        Batches.checkPut(keys, values);
+        ensureCapacity((long) size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Grows the table once so that the expected number of entries fits within 7/8 of it.
+     */
+    private void ensureCapacity(long expected) {
+        int groups = groupsFor(expected);
+        if (groups > control.length / 2) {
+            resize(groups);
+        }
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new MapViews.CursorIterator<>(cursor(), Cursor::key);
+    }
+
+    @Override
+    public Cursor<K, V> cursor() {
+        return new SwissCursor();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int w = 0; w < control.length; w++) {
+            for (long full = matchFull(control[w]); full != 0; full = full & (full - 1)) {
+                int slot = w * WORD + (Long.numberOfTrailingZeros(full) >>> 3);
+                action.accept((K) table[2 * slot], (V) table[2 * slot + 1]);
+            }
+        }
+    }
+}
@@ -1,37 +1,50 @@
 package com.wycode.datastructures.Map;
 
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
+ * A map kept in a singly linked list, for small maps. Every lookup scans from the head.
+ * <p>
+ * A self-organizing heuristic can move keys that get or put finds toward the head, so
+ * under skewed access the hot keys are found after a few steps:
+ * - MOVE_TO_FRONT: the key found moves to the head.
+ * - TRANSPOSE: the key found swaps places with the one before it.
+ * - FREQUENCY_COUNT: the list is kept in descending order of access count.
+ * containsKey is a peek and never reorders.
+ * <p>
+ * Given an upgrade threshold, the map moves its entries into a HashMap once its size
+ * passes the threshold, and works as that HashMap from then on. clear() returns it to
+ * an empty list.
+ * <p>
+ * Complexity Summary:
+ * - get / put / remove / containsKey: O(n), O(1) expected after an upgrade
+ * - Space Complexity: O(n)
+ *
  * @author WY
  * @version 1.0
  **/
 
 public class UnorderedLinkedListMap<K extends Comparable<K>, V> implements Map<K, V> {
 
+    public enum Heuristic {
+        NONE,
+        MOVE_TO_FRONT,
+        TRANSPOSE,
+        FREQUENCY_COUNT
+    }
+
     private class Entry {
         private K key;
         private V value;
         private Entry next;
+        private long count; // accesses, kept for FREQUENCY_COUNT
 
         Entry(K k, V v, Entry n) {
             key = k;
             value = v;
             next = n;
         }
-
-        Entry get(K k) {
-            if (k != null && k.equals(key)) {
-                return this;
-            }
-            if (next == null) {
-                return null;
-            }
-            return next.get(k);
-        }
-
     }
 
     private class EntryIterator implements Iterator<K> {
@@ -54,70 +67,221 @@ public class UnorderedLinkedListMap<K extends Comparable<K>, V> implements Map<K
         }
     }
 
+    private class EntryCursor implements Cursor<K, V> {
+        private Entry current;
+        private boolean started;
+
+        @Override
+        public boolean advance() {
+            if (!started) {
+                current = list;
+                started = true;
+            } else if (current != null) {
+                current = current.next;
+            }
+            return current != null;
+        }
+
+        @Override
+        public K key() {
+            return current.key;
+        }
+
+        @Override
+        public V value() {
+            return current.value;
+        }
+    }
+
     int size = 0;
     private Entry list;
+    private final Heuristic heuristic;
+    private final int upgradeThreshold;
+    private HashMap<K, V> upgraded; // set once size has passed upgradeThreshold
+    private long probes;
+    // left behind by find: the two entries before the one found; on a miss before is the last entry
+    private Entry before, beforeBefore;
+
+    public UnorderedLinkedListMap() {
+        this(Heuristic.NONE);
+    }
+
+    public UnorderedLinkedListMap(Heuristic heuristic) {
+        this(heuristic, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param upgradeThreshold the largest size kept as a list; one more entry moves the
+     *                         map into a HashMap
+     */
+    public UnorderedLinkedListMap(Heuristic heuristic, int upgradeThreshold) {
+        if (upgradeThreshold <= 0) {
+            throw new IllegalArgumentException("Illegal upgrade threshold: " + upgradeThreshold);
+        }
+        this.heuristic = heuristic;
+        this.upgradeThreshold = upgradeThreshold;
+    }
+
+    /**
+     * Returns how many entries lookups have compared against the key they were given,
+     * while the map was a list. Divided by the lookups made it is the mean lookup length.
+     */
+    public long probeCount() {
+        return probes;
+    }
+
+    /**
+     * Returns true once the map has moved its entries into a HashMap.
+     */
+    public boolean isUpgraded() {
+        return upgraded != null;
+    }
+
+    /**
+     * Scans for the key, leaving the two entries before it in before and beforeBefore.
+     */
+    private Entry find(K key) {
+        beforeBefore = null;
+        before = null;
+        for (Entry entry = list; entry != null; entry = entry.next) {
+            probes = probes + 1;
+            if (key != null && key.equals(entry.key)) {
+                return entry;
+            }
+            beforeBefore = before;
+            before = entry;
+        }
+        return null;
+    }
+
+    /**
+     * Moves an entry that find has just returned according to the heuristic.
+     */
+    private void reorganize(Entry entry) {
+        switch (heuristic) {
+            case MOVE_TO_FRONT:
+                if (before != null) {
+                    before.next = entry.next;
+                    entry.next = list;
+                    list = entry;
+                }
+                break;
+            case TRANSPOSE:
+                if (before != null) {
+                    before.next = entry.next;
+                    entry.next = before;
+                    if (beforeBefore == null) {
+                        list = entry;
+                    } else {
+                        beforeBefore.next = entry;
+                    }
+                }
+                break;
+            case FREQUENCY_COUNT:
+                entry.count = entry.count + 1;
+                if (before != null && before.count < entry.count) {
+                    before.next = entry.next;
+                    insertByCount(entry);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Inserts an unlinked entry before the first entry with a lower count.
+     */
+    private void insertByCount(Entry entry) {
+        if (list == null || list.count < entry.count) {
+            entry.next = list;
+            list = entry;
+            return;
+        }
+        Entry prev = list;
+        while (prev.next != null && prev.next.count >= entry.count) {
+            prev = prev.next;
+        }
+        entry.next = prev.next;
+        prev.next = entry;
+    }
 
+    private void upgrade() {
+        HashMap<K, V> map = new HashMap<>();
+        map.putAll(this); // sizes the table once
+        upgraded = map;
+        list = null;
+        size = 0;
+    }
 
     @Override
     public void clear() {
         size = 0;
         list = null;
+        upgraded = null;
     }
 
     @Override
     public boolean containsKey(K key) {
-        if (list == null) {
-            return false;
+        if (upgraded != null) {
+            return upgraded.containsKey(key);
         }
-        return list.get(key) != null;
+        return find(key) != null;
     }
 
     @Override
     public V get(K key) {
-        if (list == null) {
-            return null;
+        if (upgraded != null) {
+            return upgraded.get(key);
         }
-        Entry entry = list.get(key);
+        Entry entry = find(key);
         if (entry == null) {
             return null;
         }
+        reorganize(entry);
         return entry.value;
     }
 
     @Override
     public int size() {
-        return size;
+        return upgraded != null ? upgraded.size() : size;
     }
 
     @Override
     public void put(K key, V value) {
-        if (list != null) {
-            Entry lookup = list.get(key);
-            if (lookup == null) {
-                list = new Entry(key, value, list);
-                size = size + 1;
+        if (upgraded != null) {
+            upgraded.put(key, value);
+            return;
+        }
+        Entry lookup = find(key);
+        if (lookup != null) {
+            lookup.value = value;
+            reorganize(lookup);
+            return;
+        }
+        if (heuristic == Heuristic.TRANSPOSE || heuristic == Heuristic.FREQUENCY_COUNT) {
+            // new keys start at the back, behind everything already accessed
+            Entry entry = new Entry(key, value, null);
+            entry.count = 1;
+            if (before == null) {
+                list = entry;
             } else {
-                lookup.value = value;
+                before.next = entry;
             }
         } else {
             list = new Entry(key, value, list);
-            size = size + 1;
         }
-    }
-
-    @Override
-    public Set<K> keySet() {
-        Entry current = list;
-        Set<K> KeySet = new HashSet<K>();
-        while (current != null) {
-            KeySet.add(current.key);
-            current = current.next;
+        size = size + 1;
+        if (size > upgradeThreshold) {
+            upgrade();
         }
-        return KeySet;
     }
 
     @Override
     public V remove(K key) {
+        if (upgraded != null) {
+            return upgraded.remove(key);
+        }
         if (list == null) {
             return null;
         }
@@ -146,6 +310,9 @@ public class UnorderedLinkedListMap<K extends Comparable<K>, V> implements Map<K
 
     @Override
     public V remove(K key, V value) {
+        if (upgraded != null) {
+            return upgraded.remove(key, value);
+        }
         if (list == null) {
             return null;
         }
@@ -174,6 +341,28 @@ public class UnorderedLinkedListMap<K extends Comparable<K>, V> implements Map<K
 
     @Override
     public Iterator<K> iterator() {
+        if (upgraded != null) {
+            return upgraded.iterator();
+        }
         return new EntryIterator();
     }
+
+    @Override
+    public Cursor<K, V> cursor() {
+        if (upgraded != null) {
+            return upgraded.cursor();
+        }
+        return new EntryCursor();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (upgraded != null) {
+            upgraded.forEach(action);
+            return;
+        }
+        for (Entry current = list; current != null; current = current.next) {
+            action.accept(current.key, current.value);
+        }
+    }
 }
@@ -0,0 +1,358 @@
+package com.wycode.datastructures.list;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A list stored in fixed-size chunks instead of one contiguous array, for very large lists.
+ * Supports adding, removing and retrieving at both ends and at any index.
+ * <p>
+ * - A directory holds references to the chunks. Element i sits at position head + i, that
+ * is in chunk (head + i) / chunkSize, so get stays a shift, a mask and two array loads.
+ * - Growing allocates one new chunk and never copies elements. When the directory itself
+ * runs out of slots, only the chunk references are copied, and it is re-centred so both
+ * ends have room again.
+ * - A chunk is released as soon as removals at either end empty it, and the directory
+ * shrinks with the list.
+ * - Inserting or removing in the middle shifts the elements on the shorter side.
+ *
+ * @param <T> the type of elements stored in this list
+ * @author WY
+ * @version 1.0
+ * <p>
+ * Complexity Summary:
+ * - Access (get): O(1)
+ * - Insert at either end (addFirst/addLast): O(1) amortized, never copies elements
+ * - Remove at either end (removeFirst/removeLast): O(1) amortized
+ * - Insert/remove at arbitrary position: O(min(index, size - index))
+ * - Contains check: O(n)
+ * - Space Complexity: O(n), at most two partly used chunks plus the directory
+ **/
+
+public class ChunkedArrayList<T> implements List<T>, Iterable<T> {
+
+    private class ChunkedArrayListIterator implements Iterator<T> {
+        int index = 0;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public T next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            return element(head + index++);
+        }
+    }
+
+    private static final int DEFAULT_CHUNK_SIZE = 4096;
+    private static final int MIN_DIRECTORY = 8;
+    private final int shift; // log2 of the chunk size
+    private final int mask; // chunk size - 1
+    private Object[][] chunks; // the directory, null where no chunk is allocated
+    private int head; // position of element 0
+    private int size;
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ChunkedArrayListIterator();
+    }
+
+    public ChunkedArrayList() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize the number of elements per chunk, a power of two
+     */
+    public ChunkedArrayList(int chunkSize) {
+        if (chunkSize <= 0 || (chunkSize & (chunkSize - 1)) != 0) {
+            throw new IllegalArgumentException("Chunk size must be a power of two:" + chunkSize);
+        }
+        shift = Integer.numberOfTrailingZeros(chunkSize);
+        mask = chunkSize - 1;
+        chunks = new Object[MIN_DIRECTORY][];
+        head = (MIN_DIRECTORY / 2) << shift;
+        size = 0;
+    }
+
+    private T element(int position) {
+        return (T) chunks[position >>> shift][position & mask];
+    }
+
+    private void set(int index, T element) {
+        int position = head + index;
+        chunks[position >>> shift][position & mask] = element;
+    }
+
+    /**
+     * Copies the chunk references into a directory with as many free slots as used ones,
+     * split between both ends. Elements stay where they are.
+     * Time Complexity: O(number of chunks)
+     */
+    private void relocate() {
+        int first = head >>> shift;
+        int used = size == 0 ? 0 : ((head + size - 1) >>> shift) - first + 1;
+        long length = Math.max(MIN_DIRECTORY, 2L * used + 2);
+        if (length << shift > Integer.MAX_VALUE) {
+            length = Integer.MAX_VALUE >>> shift;
+            if (length < used + 2) {
+                throw new OutOfMemoryError("List too large: " + size);
+            }
+        }
+        Object[][] newChunks = new Object[(int) length][];
+        int newFirst = ((int) length - used) / 2;
+        System.arraycopy(chunks, first, newChunks, newFirst, used);
+        chunks = newChunks;
+        head = (newFirst << shift) | (head & mask);
+    }
+
+    /**
+     * Releases the chunk of a position that was just vacated if no element is left in it,
+     * and shrinks the directory once most of it is unused.
+     */
+    private void release(int position) {
+        int chunk = position >>> shift;
+        if (size == 0 || chunk < head >>> shift || chunk > (head + size - 1) >>> shift) {
+            chunks[chunk] = null;
+            if (size == 0) {
+                head = (chunks.length / 2) << shift;
+            }
+            if (chunks.length > MIN_DIRECTORY && chunkCount() * 4 < chunks.length) {
+                relocate();
+            }
+        }
+    }
+
+    private void allocate(int position) {
+        int chunk = position >>> shift;
+        if (chunks[chunk] == null) {
+            chunks[chunk] = new Object[mask + 1];
+        }
+    }
+
+    /**
+     * Returns the number of chunks currently allocated.
+     * Time Complexity: O(1)
+     */
+    public int chunkCount() {
+        return size == 0 ? 0 : ((head + size - 1) >>> shift) - (head >>> shift) + 1;
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     * Time Complexity: O(1)
+     *
+     * @return the size of the list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list contains the specified element.
+     * Time Complexity: O(n) in worst case
+     *
+     * @param element the element to search for
+     * @return true if the element is found, false otherwise
+     */
+    @Override
+    public boolean contains(T element) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(element(head + i), element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inserts an element at the specified index, shifting the elements before it one step
+     * towards the front or the elements after it one step towards the back, whichever
+     * are fewer.
+     * Time Complexity: O(min(index, size - index))
+     *
+     * @param index   the position to insert the element
+     * @param element the element to be inserted
+     */
+    @Override
+    public void insert(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index < size / 2) {
+            addFirst(element(head));
+            for (int i = 1; i < index; i++) {
+                set(i, element(head + i + 1));
+            }
+        } else {
+            addLast(index == size ? element : element(head + size - 1));
+            for (int i = size - 2; i > index; i--) {
+                set(i, element(head + i - 1));
+            }
+        }
+        set(index, element);
+    }
+
+    /**
+     * Removes the element at the specified index and returns it, closing the gap from
+     * the shorter side.
+     * Time Complexity: O(min(index, size - index))
+     *
+     * @param index the index of the element to remove
+     * @return the removed element
+     */
+    @Override
+    public T remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        T item = element(head + index);
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--) {
+                set(i, element(head + i - 1));
+            }
+            removeFirst();
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                set(i, element(head + i + 1));
+            }
+            removeLast();
+        }
+        return item;
+    }
+
+    /**
+     * Adds an element to the beginning of the list.
+     * Time Complexity: O(1) (amortized)
+     *
+     * @param element the element to add
+     */
+    @Override
+    public void addFirst(T element) {
+        if (head == 0) {
+            relocate();
+        }
+        head = head - 1;
+        allocate(head);
+        chunks[head >>> shift][head & mask] = element;
+        size = size + 1;
+    }
+
+    /**
+     * Appends an element to the end of the list.
+     * Time Complexity: O(1) (amortized)
+     *
+     * @param element the element to add
+     */
+    @Override
+    public void addLast(T element) {
+        if (((head + size) >>> shift) >= chunks.length) {
+            relocate();
+        }
+        int position = head + size;
+        allocate(position);
+        chunks[position >>> shift][position & mask] = element;
+        size = size + 1;
+    }
+
+    /**
+     * Removes and returns the first element of the list, releasing its chunk if it
+     * becomes empty.
+     * Time Complexity: O(1) (amortized)
+     *
+     * @return the removed first element
+     * @throws NoSuchElementException if the list is empty
+     */
+    @Override
+    public T removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        int position = head;
+        T item = element(position);
+        chunks[position >>> shift][position & mask] = null;
+        head = head + 1;
+        size = size - 1;
+        release(position);
+        return item;
+    }
+
+    /**
+     * Removes and returns the last element of the list, releasing its chunk if it
+     * becomes empty.
+     * Time Complexity: O(1) (amortized)
+     *
+     * @return the removed last element
+     * @throws NoSuchElementException if the list is empty
+     */
+    @Override
+    public T removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        int position = head + size - 1;
+        T item = element(position);
+        chunks[position >>> shift][position & mask] = null;
+        size = size - 1;
+        release(position);
+        return item;
+    }
+
+    /**
+     * Returns the element at the specified index.
+     * Time Complexity: O(1)
+     *
+     * @param index the index of the element to retrieve
+     * @return the element at the specified index
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return element(head + index);
+    }
+
+    /**
+     * Returns the first element in the list.
+     * Time Complexity: O(1)
+     *
+     * @return the first element, or null if empty
+     */
+    @Override
+    public T getFirst() {
+        return isEmpty() ? null : get(0);
+    }
+
+    /**
+     * Returns the last element in the list.
+     * Time Complexity: O(1)
+     *
+     * @return the last element, or null if empty
+     */
+    @Override
+    public T getLast() {
+        return isEmpty() ? null : get(size - 1);
+    }
+
+    /**
+     * Method to create a ChunkedArrayList from an argument list
+     *
+     * @param elements argument list
+     * @param <T>      type of argument
+     * @return list
+     */
+    public static <T> ChunkedArrayList<T> of(T... elements) {
+        ChunkedArrayList<T> list = new ChunkedArrayList<>();
+        for (T element : elements) {
+            list.addLast(element);
+        }
+        return list;
+    }
+}
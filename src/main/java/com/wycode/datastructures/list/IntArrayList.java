@@ -0,0 +1,316 @@
+package com.wycode.datastructures.list;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A dynamic array of primitive ints, with the operations of ArrayList but without boxing:
+ * elements live directly in an int[], so each takes 4 bytes and a scan reads one
+ * contiguous array.
+ * It does not implement List, whose generic signatures would box every element.
+ *
+ * @author WY
+ * @version 1.0
+ * <p>
+ * Complexity Summary:
+ * - Access (get/set): O(1)
+ * - Insert at end (addLast/addAll): O(1) amortized per element
+ * - Insert at beginning or arbitrary position: O(n)
+ * - Remove last element (removeLast): O(1)
+ * - Remove first or arbitrary element: O(n)
+ * - Contains check: O(n)
+ * - Sort: O(n log n)
+ * - Binary search (sorted list): O(log n)
+ * - Space Complexity: O(n)
+ **/
+
+public class IntArrayList {
+
+    private static final int DEFAULT_CAPACITY = 10; // Default initial capacity
+    private int[] items; // Array to store elements
+    private int size; // Number of elements currently in the list
+
+    /**
+     * Default constructor initializing the list with a default capacity.
+     * Time Complexity: O(1)
+     */
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor that initializes the list with a specified capacity.
+     * Time Complexity: O(1)
+     *
+     * @param capacity the initial capacity of the list
+     */
+    public IntArrayList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative:" + capacity);
+        }
+        items = new int[capacity];
+        size = 0;
+    }
+
+    /**
+     * Makes room for the given number of elements, at least doubling the capacity so
+     * repeated appends stay amortized O(1).
+     * Time Complexity: O(n) when resizing, O(1) otherwise
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > items.length) {
+            int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max((long) items.length * 2, Math.max(capacity, DEFAULT_CAPACITY)));
+            if (newCapacity < capacity) {
+                throw new OutOfMemoryError("List too large: " + capacity);
+            }
+            items = Arrays.copyOf(items, newCapacity);
+        }
+    }
+
+    /**
+     * Halves the array when fewer than 1/4 of it is used, never below DEFAULT_CAPACITY.
+     * Time Complexity: O(n) when resizing, O(1) otherwise
+     */
+    private void trimToSize() {
+        if (size < items.length / 4 && items.length > DEFAULT_CAPACITY) {
+            items = Arrays.copyOf(items, Math.max(items.length / 2, DEFAULT_CAPACITY));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     * Time Complexity: O(1)
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if the list contains the specified element.
+     * Time Complexity: O(n) in worst case
+     *
+     * @param element the element to search for
+     * @return true if the element is found, false otherwise
+     */
+    public boolean contains(int element) {
+        for (int i = 0; i < size; i++) {
+            if (items[i] == element) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inserts an element at the specified index, shifting later elements to the right.
+     * Time Complexity: O(n) in worst case (insertion at the beginning)
+     *
+     * @param index   the position to insert the element
+     * @param element the element to be inserted
+     */
+    public void insert(int index, int element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(items, index, items, index + 1, size - index);
+        items[index] = element;
+        size = size + 1;
+    }
+
+    /**
+     * Adds an element to the beginning of the list.
+     * Time Complexity: O(n)
+     *
+     * @param element the element to add
+     */
+    public void addFirst(int element) {
+        insert(0, element);
+    }
+
+    /**
+     * Appends an element to the end of the list.
+     * Time Complexity: O(1) (amortized)
+     *
+     * @param element the element to add
+     */
+    public void addLast(int element) {
+        if (size == items.length) {
+            ensureCapacity(size + 1);
+        }
+        items[size] = element;
+        size = size + 1;
+    }
+
+    /**
+     * Appends all elements of the array, growing the list at most once.
+     * Time Complexity: O(m), where m is the number of elements added
+     *
+     * @param elements the elements to add
+     */
+    public void addAll(int[] elements) {
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, items, size, elements.length);
+        size = size + elements.length;
+    }
+
+    /**
+     * Returns the element at the specified index.
+     * Time Complexity: O(1)
+     *
+     * @param index the index of the element to retrieve
+     * @return the element at the specified index
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return items[index];
+    }
+
+    /**
+     * Replaces the element at the specified index.
+     * Time Complexity: O(1)
+     *
+     * @param index   the index of the element to replace
+     * @param element the new element
+     * @return the element previously at the index
+     */
+    public int set(int index, int element) {
+        checkIndex(index);
+        int old = items[index];
+        items[index] = element;
+        return old;
+    }
+
+    /**
+     * Returns the first element in the list.
+     * Time Complexity: O(1)
+     *
+     * @return the first element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return items[0];
+    }
+
+    /**
+     * Returns the last element in the list.
+     * Time Complexity: O(1)
+     *
+     * @return the last element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return items[size - 1];
+    }
+
+    /**
+     * Removes the element at the specified index and returns it, shifting later elements
+     * to the left.
+     * Time Complexity: O(n) in worst case (removal at the beginning)
+     *
+     * @param index the index of the element to remove
+     * @return the removed element
+     */
+    public int remove(int index) {
+        checkIndex(index);
+        int item = items[index];
+        System.arraycopy(items, index + 1, items, index, size - index - 1);
+        size = size - 1;
+        trimToSize();
+        return item;
+    }
+
+    /**
+     * Removes and returns the first element of the list.
+     * Time Complexity: O(n) (due to shifting elements)
+     *
+     * @return the removed first element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return remove(0);
+    }
+
+    /**
+     * Removes and returns the last element of the list.
+     * Time Complexity: O(1)
+     *
+     * @return the removed last element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        size = size - 1;
+        int item = items[size];
+        trimToSize();
+        return item;
+    }
+
+    /**
+     * Returns a copy of the elements as an array of exactly size elements.
+     * Time Complexity: O(n)
+     *
+     * @return the elements in list order
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(items, size);
+    }
+
+    /**
+     * Sorts the list in ascending order.
+     * Time Complexity: O(n log n)
+     */
+    public void sort() {
+        Arrays.sort(items, 0, size);
+    }
+
+    /**
+     * Searches a list sorted in ascending order for the element.
+     * Time Complexity: O(log n)
+     *
+     * @param element the element to search for
+     * @return the index of the element if present; otherwise (-(insertion point) - 1)
+     */
+    public int binarySearch(int element) {
+        return Arrays.binarySearch(items, 0, size, element);
+    }
+
+    /**
+     * Method to create an IntArrayList from an argument list
+     *
+     * @param elements argument list
+     * @return list
+     */
+    public static IntArrayList of(int... elements) {
+        IntArrayList list = new IntArrayList(elements.length);
+        list.addAll(elements);
+        return list;
+    }
+}
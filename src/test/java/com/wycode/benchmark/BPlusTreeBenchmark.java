@@ -0,0 +1,82 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.BPlusTreeMap;
+import com.wycode.datastructures.Map.BinarySearchTreeMap;
+import com.wycode.datastructures.Map.OrderedMap;
+import com.wycode.datastructures.Map.RedBlackTreeMap;
+
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Compares random get, full in-order scans and short range scans on BinarySearchTreeMap,
+ * RedBlackTreeMap and BPlusTreeMap filled with the same random keys.
+ * <p>
+ * Run with: java -Xmx4g -cp target/classes:target/test-classes com.wycode.benchmark.BPlusTreeBenchmark [n] [fanout]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class BPlusTreeBenchmark {
+    private static final int LOOKUPS = 1_000_000;
+    private static final int RANGES = 10_000;
+    private static final int RANGE_WIDTH = 1_000;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int fanout = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        Random random = new Random(42);
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(n * 4);
+        }
+        Integer[] probes = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            probes[i] = keys[random.nextInt(n)];
+        }
+
+        for (int round = 0; round < 2; round++) {
+            run("BinarySearchTreeMap", new BinarySearchTreeMap<>(), keys, probes);
+            run("RedBlackTreeMap", new RedBlackTreeMap<>(), keys, probes);
+            run("BPlusTreeMap(" + fanout + ")", new BPlusTreeMap<>(fanout), keys, probes);
+        }
+    }
+
+    private static void run(String name, OrderedMap<Integer, Integer> map, Integer[] keys, Integer[] probes) {
+        long start = System.nanoTime();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        long putNanos = System.nanoTime() - start;
+
+        long checksum = 0;
+        start = System.nanoTime();
+        for (Integer probe : probes) {
+            checksum += map.get(probe);
+        }
+        long getNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (Integer key : map) {
+            checksum += key;
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        long scanned = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < RANGES; i++) {
+            Integer lo = probes[i];
+            Iterator<Integer> range = map.rangeIterator(lo, lo + RANGE_WIDTH);
+            while (range.hasNext()) {
+                checksum += range.next();
+                scanned = scanned + 1;
+            }
+        }
+        long rangeNanos = System.nanoTime() - start;
+
+        System.out.printf("%-20s put %7.1f ns/op  get %7.1f ns/op  scan %5.1f ns/key  range %5.1f ns/key  (checksum %d)%n",
+                name, (double) putNanos / keys.length, (double) getNanos / probes.length,
+                (double) scanNanos / map.size(), (double) rangeNanos / Math.max(1, scanned), checksum);
+    }
+}
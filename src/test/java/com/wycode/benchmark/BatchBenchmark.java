@@ -0,0 +1,104 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.HashMap;
+import com.wycode.datastructures.Map.Map;
+import com.wycode.datastructures.Map.OpenAddressingHashMap;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Loads a batch of random keys into an empty map by looping put and by one putAll, then
+ * looks the same keys up in random order by looping get and by one getAll. Each is timed
+ * as the best of several runs.
+ * <p>
+ * Run with: java -Xmx2g -cp target/classes:target/test-classes com.wycode.benchmark.BatchBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class BatchBenchmark {
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(11);
+        Integer[] keys = new Integer[n];
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+            values[i] = i;
+        }
+        Integer[] probes = keys.clone();
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer swap = probes[i];
+            probes[i] = probes[j];
+            probes[j] = swap;
+        }
+
+        System.out.printf("n=%,d, best of %d runs each%n", n, RUNS);
+        report("HashMap", HashMap::new, keys, values, probes);
+        report("OpenAddressingHashMap", OpenAddressingHashMap::new, keys, values, probes);
+    }
+
+    private static void report(String name, Supplier<Map<Integer, Integer>> factory,
+                               Integer[] keys, Integer[] values, Integer[] probes) {
+        Map<Integer, Integer> loaded = factory.get();
+        loaded.putAll(keys, values);
+        long put = best(() -> {
+            Map<Integer, Integer> map = factory.get();
+            for (int i = 0; i < keys.length; i++) {
+                map.put(keys[i], values[i]);
+            }
+            return map.size();
+        });
+        long putAll = best(() -> {
+            Map<Integer, Integer> map = factory.get();
+            map.putAll(keys, values);
+            return map.size();
+        });
+        long get = best(() -> {
+            long sum = 0;
+            for (Integer probe : probes) {
+                sum += loaded.get(probe);
+            }
+            return sum;
+        });
+        Integer[] out = new Integer[probes.length];
+        long getAll = best(() -> {
+            loaded.getAll(probes, out);
+            long sum = 0;
+            for (Integer value : out) {
+                sum += value;
+            }
+            return sum;
+        });
+        System.out.printf("  %-22s put %6.1f  putAll %6.1f ns/key (%.1fx)   get %6.1f  getAll %6.1f ns/key (%.1fx)%n",
+                name, (double) put / keys.length, (double) putAll / keys.length, (double) put / putAll,
+                (double) get / probes.length, (double) getAll / probes.length, (double) get / getAll);
+    }
+
+    private interface Run {
+        long run();
+    }
+
+    /**
+     * Returns the fastest of RUNS timings, which filters out collector pauses and other noise.
+     */
+    private static long best(Run run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int i = 0; i < RUNS; i++) {
+            System.gc();
+            long start = System.nanoTime();
+            checksum += run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (checksum == 42) {
+            System.out.println();
+        }
+        return best;
+    }
+}
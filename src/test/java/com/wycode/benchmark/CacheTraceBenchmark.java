@@ -0,0 +1,97 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.BoundedCache;
+import com.wycode.datastructures.Map.BoundedCache.Policy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Replays access traces against BoundedCache with each eviction policy, filling the cache on
+ * every miss, and reports the hit ratio and throughput. Without a trace file it replays two
+ * synthetic traces: Zipf-distributed keys, and the same keys with periodic one-off scans.
+ * A trace file holds one integer key per line.
+ * <p>
+ * Run with: java -cp target/classes:target/test-classes com.wycode.benchmark.CacheTraceBenchmark [trace-file]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class CacheTraceBenchmark {
+    private static final int KEYS = 100_000;
+    private static final int REQUESTS = 2_000_000;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            List<String> lines = Files.readAllLines(Path.of(args[0]));
+            int[] trace = new int[lines.size()];
+            for (int i = 0; i < trace.length; i++) {
+                trace[i] = Integer.parseInt(lines.get(i).trim());
+            }
+            replayAll(args[0], trace);
+            return;
+        }
+        int[] zipf = zipfTrace(new Random(1), 0.9);
+        replayAll("zipf(0.9)", zipf);
+        replayAll("zipf(0.9) + scans", withScans(zipf));
+    }
+
+    private static void replayAll(String name, int[] trace) {
+        for (int size : new int[]{1_000, 10_000}) {
+            for (Policy policy : Policy.values()) {
+                replay(name, trace, size, policy);
+            }
+        }
+    }
+
+    private static void replay(String name, int[] trace, int size, Policy policy) {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(size, policy);
+        long start = System.nanoTime();
+        for (int key : trace) {
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-18s size %,6d  %-10s hit ratio %5.1f%%  %,12.0f ops/s  evictions %,d%n",
+                name, size, policy, 100 * cache.hitRate(), trace.length * 1e9 / nanos, cache.evictionCount());
+    }
+
+    /**
+     * Draws keys 0..KEYS-1 with probability proportional to 1 / (rank + 1)^skew.
+     */
+    private static int[] zipfTrace(Random random, double skew) {
+        double[] cdf = new double[KEYS];
+        double sum = 0;
+        for (int i = 0; i < KEYS; i++) {
+            sum = sum + 1 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        int[] trace = new int[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            int pos = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            trace[i] = pos >= 0 ? pos : Math.min(-pos - 1, KEYS - 1);
+        }
+        return trace;
+    }
+
+    /**
+     * Replaces every fourth block of 20,000 requests with a scan over keys never seen before.
+     */
+    private static int[] withScans(int[] trace) {
+        int[] mixed = trace.clone();
+        int next = KEYS;
+        for (int block = 0; block < mixed.length; block += 80_000) {
+            for (int i = block; i < Math.min(block + 20_000, mixed.length); i++) {
+                mixed[i] = next;
+                next = next + 1;
+            }
+        }
+        return mixed;
+    }
+}
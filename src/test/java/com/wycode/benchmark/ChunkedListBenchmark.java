@@ -0,0 +1,85 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.list.ArrayList;
+import com.wycode.datastructures.list.ChunkedArrayList;
+import com.wycode.datastructures.list.List;
+
+import java.util.function.Supplier;
+
+/**
+ * Compares ChunkedArrayList with ArrayList when appending n elements: the total time, the
+ * longest single addLast (an ArrayList resize copies everything at once), and then a full
+ * scan with get, best of several runs each.
+ * <p>
+ * Run with: java -Xmx4g -cp target/classes:target/test-classes com.wycode.benchmark.ChunkedListBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class ChunkedListBenchmark {
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 50_000_000;
+        System.out.printf("n=%,d, best of %d runs each%n", n, RUNS);
+        System.out.printf("  %-18s %12s %16s %12s%n", "", "append ms", "max addLast ms", "get ns/op");
+        report("ArrayList", ArrayList::new, n);
+        report("ChunkedArrayList", ChunkedArrayList::new, n);
+    }
+
+    private static void report(String name, Supplier<List<Integer>> factory, int n) {
+        Integer element = 1;
+        long append = Long.MAX_VALUE;
+        long pause = Long.MAX_VALUE;
+        List<Integer> list = null;
+        for (int run = 0; run < RUNS; run++) {
+            list = null;
+            System.gc();
+            list = factory.get();
+            long longest = 0;
+            long start = System.nanoTime();
+            long last = start;
+            for (int i = 0; i < n; i++) {
+                list.addLast(element);
+                long now = System.nanoTime();
+                longest = Math.max(longest, now - last);
+                last = now;
+            }
+            append = Math.min(append, last - start);
+            pause = Math.min(pause, longest);
+        }
+        List<Integer> loaded = list;
+        long get = best(() -> {
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += loaded.get(i);
+            }
+            return sum;
+        });
+        System.out.printf("  %-18s %12.1f %16.2f %12.2f%n", name,
+                append / 1e6, pause / 1e6, (double) get / n);
+    }
+
+    private interface Run {
+        long run();
+    }
+
+    /**
+     * Returns the fastest of RUNS timings, which filters out collector pauses and other noise.
+     */
+    private static long best(Run run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int i = 0; i < RUNS; i++) {
+            System.gc();
+            long start = System.nanoTime();
+            checksum += run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (checksum == 42) {
+            System.out.println();
+        }
+        return best;
+    }
+}
@@ -0,0 +1,172 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.BinarySearchTreeMap;
+import com.wycode.datastructures.Map.ConcurrentSkipListMap;
+import com.wycode.datastructures.Map.OrderedMap;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a mixed ordered-map workload on 1 to 32 threads: 70% get, 10% put, 10% remove and
+ * 10% short range scans (a ceiling plus up to 32 keys of rangeIterator) over a prefilled
+ * key space. Compares ConcurrentSkipListMap with a BinarySearchTreeMap behind one lock,
+ * which has to hold the lock for a whole range scan. Reports throughput per thread count.
+ * <p>
+ * Run with: java -cp target/classes:target/test-classes com.wycode.benchmark.ConcurrentOrderedMapBenchmark [seconds per run]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class ConcurrentOrderedMapBenchmark {
+    private static final int KEYS = 1 << 20;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+
+    /**
+     * The operations the workload needs, so both maps run the same loop.
+     */
+    private interface Target {
+        Integer get(int key);
+
+        void put(int key);
+
+        void remove(int key);
+
+        int scan(int from);
+    }
+
+    private static final class SkipListTarget implements Target {
+        private final ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<>();
+
+        @Override
+        public Integer get(int key) {
+            return map.get(key);
+        }
+
+        @Override
+        public void put(int key) {
+            map.put(key, key);
+        }
+
+        @Override
+        public void remove(int key) {
+            map.remove(key);
+        }
+
+        @Override
+        public int scan(int from) {
+            return ConcurrentOrderedMapBenchmark.scan(map, from);
+        }
+    }
+
+    private static final class LockedTreeTarget implements Target {
+        private final BinarySearchTreeMap<Integer, Integer> map = new BinarySearchTreeMap<>();
+
+        @Override
+        public synchronized Integer get(int key) {
+            return map.get(key);
+        }
+
+        @Override
+        public synchronized void put(int key) {
+            map.put(key, key);
+        }
+
+        @Override
+        public synchronized void remove(int key) {
+            map.remove(key);
+        }
+
+        @Override
+        public synchronized int scan(int from) {
+            return ConcurrentOrderedMapBenchmark.scan(map, from);
+        }
+    }
+
+    private static int scan(OrderedMap<Integer, Integer> map, int from) {
+        Integer start = map.ceiling(from);
+        if (start == null) {
+            return 0;
+        }
+        Iterator<Integer> range = map.rangeIterator(start, start + 64);
+        int sum = 0;
+        for (int i = 0; i < 32 && range.hasNext(); i++) {
+            sum += range.next();
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 2;
+        System.out.printf("%d keys, %.1f s per run, Mops/s%n", KEYS, seconds);
+        System.out.printf("  %-8s %22s %22s%n", "threads", "ConcurrentSkipListMap", "locked BST");
+        for (int threads : THREAD_COUNTS) {
+            double skipList = run(prefill(new SkipListTarget()), threads, seconds);
+            double locked = run(prefill(new LockedTreeTarget()), threads, seconds);
+            System.out.printf("  %-8d %22.2f %22.2f%n", threads, skipList, locked);
+        }
+    }
+
+    private static Target prefill(Target target) {
+        SplittableRandom random = new SplittableRandom(17);
+        for (int i = 0; i < KEYS / 2; i++) {
+            target.put(random.nextInt(KEYS));
+        }
+        return target;
+    }
+
+    private static double run(Target target, int threads, double seconds) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            Thread worker = new Thread(() -> {
+                long done = 0;
+                long checksum = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (!stop.get()) {
+                    int key = random.nextInt(KEYS);
+                    int op = random.nextInt(10);
+                    if (op < 7) {
+                        Integer value = target.get(key);
+                        checksum += value == null ? 0 : value;
+                    } else if (op == 7) {
+                        target.put(key);
+                    } else if (op == 8) {
+                        target.remove(key);
+                    } else {
+                        checksum += target.scan(key);
+                    }
+                    done = done + 1;
+                }
+                operations.add(done);
+                if (checksum == 42) {
+                    System.out.println();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep((long) (seconds * 1000));
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsed = (System.nanoTime() - begin) / 1e9;
+        return operations.sum() / elapsed / 1e6;
+    }
+}
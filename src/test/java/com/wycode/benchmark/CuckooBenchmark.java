@@ -0,0 +1,104 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.CuckooHashMap;
+import com.wycode.datastructures.Map.HashMap;
+import com.wycode.datastructures.Map.Map;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares CuckooHashMap with the chained HashMap: loading n random keys with put, then
+ * looking up present keys and absent keys in random order, timed as the best of several
+ * runs. Afterwards it prints the cuckoo table's probe and load statistics.
+ * <p>
+ * Run with: java -Xmx2g -cp target/classes:target/test-classes com.wycode.benchmark.CuckooBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class CuckooBenchmark {
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(31);
+        Integer[] keys = new Integer[n];
+        Integer[] misses = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt() & ~1; // even: present
+            misses[i] = random.nextInt() | 1; // odd: absent
+        }
+        Integer[] hits = keys.clone();
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer swap = hits[i];
+            hits[i] = hits[j];
+            hits[j] = swap;
+        }
+
+        System.out.printf("n=%,d, best of %d runs each, ns/op%n", n, RUNS);
+        System.out.printf("  %-14s %8s %8s %8s%n", "", "put", "get hit", "get miss");
+        report("HashMap", HashMap::new, keys, hits, misses);
+        CuckooHashMap<Integer, Integer> cuckoo = report("CuckooHashMap", CuckooHashMap::new, keys, hits, misses);
+        System.out.printf("CuckooHashMap after %,d puts: load factor %.3f, peak load factor %.3f, "
+                        + "max displacements %d, stash %d, max lookup probes %d, rehashes %d%n",
+                n, cuckoo.loadFactor(), cuckoo.peakLoadFactor(), cuckoo.maxDisplacements(),
+                cuckoo.stashSize(), cuckoo.maxLookupProbes(), cuckoo.rehashCount());
+    }
+
+    private static <M extends Map<Integer, Integer>> M report(String name, Supplier<M> factory,
+                                                              Integer[] keys, Integer[] hits, Integer[] misses) {
+        M loaded = factory.get();
+        for (int i = 0; i < keys.length; i++) {
+            loaded.put(keys[i], i);
+        }
+        long put = best(() -> {
+            M map = factory.get();
+            for (int i = 0; i < keys.length; i++) {
+                map.put(keys[i], i);
+            }
+            return map.size();
+        });
+        long hit = best(() -> {
+            long sum = 0;
+            for (Integer key : hits) {
+                sum += loaded.get(key);
+            }
+            return sum;
+        });
+        long miss = best(() -> {
+            long found = 0;
+            for (Integer key : misses) {
+                found += loaded.get(key) == null ? 0 : 1;
+            }
+            return found;
+        });
+        System.out.printf("  %-14s %8.1f %8.1f %8.1f%n", name,
+                (double) put / keys.length, (double) hit / hits.length, (double) miss / misses.length);
+        return loaded;
+    }
+
+    private interface Run {
+        long run();
+    }
+
+    /**
+     * Returns the fastest of RUNS timings, which filters out collector pauses and other noise.
+     */
+    private static long best(Run run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int i = 0; i < RUNS; i++) {
+            System.gc();
+            long start = System.nanoTime();
+            checksum += run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (checksum == 42) {
+            System.out.println();
+        }
+        return best;
+    }
+}
@@ -0,0 +1,56 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.ExpiringMap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds n entries in an ExpiringMap with time-to-live values spread from 1 to 10 seconds,
+ * then keeps writing fresh entries and reading random ones for a while. The map should
+ * settle at the size its write rate and TTLs allow, with no thread and no pause to sweep it.
+ * Reports ops/s and the slowest write of each second, which shows what the amortized sweep costs.
+ * <p>
+ * Run with: java -Xmx4g -cp target/classes:target/test-classes com.wycode.benchmark.ExpiringMapBenchmark [n] [seconds]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class ExpiringMapBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        ExpiringMap<Long, Long> map = new ExpiringMap<>(0, TimeUnit.MILLISECONDS);
+        Random random = new Random(3);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < n; i++) {
+            map.put(i, i, 1_000 + random.nextInt(9_000), TimeUnit.MILLISECONDS);
+        }
+        System.out.printf("loaded %,d entries in %,d ms%n", n, (System.nanoTime() - start) / 1_000_000);
+
+        long nextKey = n;
+        long hits = 0;
+        for (int second = 1; second <= seconds; second++) {
+            long ops = 0;
+            long worstWrite = 0;
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (System.nanoTime() < end) {
+                for (int i = 0; i < 1_000; i++) {
+                    long before = System.nanoTime();
+                    map.put(nextKey, nextKey, 1_000 + random.nextInt(9_000), TimeUnit.MILLISECONDS);
+                    worstWrite = Math.max(worstWrite, System.nanoTime() - before);
+                    nextKey = nextKey + 1;
+                    if (map.get((long) random.nextInt((int) Math.min(nextKey, Integer.MAX_VALUE))) != null) {
+                        hits = hits + 1;
+                    }
+                    ops = ops + 2;
+                }
+            }
+            System.out.printf("second %2d  size %,10d  %,11d ops/s  worst write %,8d us  (hits %d)%n",
+                    second, map.size(), ops, worstWrite / 1_000, hits);
+        }
+    }
+}
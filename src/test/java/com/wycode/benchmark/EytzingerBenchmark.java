@@ -0,0 +1,70 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.BinarySearchTreeMap;
+import com.wycode.datastructures.Map.EytzingerMap;
+import com.wycode.datastructures.Map.Map;
+
+import java.util.Random;
+
+/**
+ * Compares random get() on a BinarySearchTreeMap with get() on its EytzingerMap snapshot,
+ * and the heap each of them retains.
+ * <p>
+ * Run with: java -Xmx4g -cp target/classes:target/test-classes com.wycode.benchmark.EytzingerBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class EytzingerBenchmark {
+    private static final int LOOKUPS = 2_000_000;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+        }
+        Integer[] probes = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            probes[i] = keys[random.nextInt(n)];
+        }
+
+        long base = usedMemory();
+        BinarySearchTreeMap<Integer, Integer> bst = new BinarySearchTreeMap<>();
+        for (Integer key : keys) {
+            bst.put(key, key);
+        }
+        long bstBytes = usedMemory() - base;
+
+        base = usedMemory();
+        EytzingerMap<Integer, Integer> snapshot = EytzingerMap.snapshot(bst);
+        long snapshotBytes = usedMemory() - base;
+
+        System.out.printf("n=%,d  retained: BinarySearchTreeMap %,d bytes, EytzingerMap %,d bytes "
+                + "(keys and values shared)%n", n, bstBytes, snapshotBytes);
+        for (int round = 0; round < 3; round++) {
+            run("BinarySearchTreeMap", bst, probes);
+            run("EytzingerMap", snapshot, probes);
+        }
+    }
+
+    private static void run(String name, Map<Integer, Integer> map, Integer[] probes) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (Integer probe : probes) {
+            checksum += map.get(probe);
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-20s get %8.1f ns/op  (checksum %d)%n", name, (double) nanos / probes.length, checksum);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,72 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.HashMap;
+
+/**
+ * Measures HashMap lookups when every key has the same hash code.
+ * With treeified buckets the cost per get grows with log(n); with a plain list it grew with n.
+ * <p>
+ * Run with: java -cp target/classes:target/test-classes com.wycode.benchmark.HashMapCollisionBenchmark
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class HashMapCollisionBenchmark {
+
+    private static class CollidingKey implements Comparable<CollidingKey> {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey o) {
+            return Integer.compare(id, o.id);
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = {1_000, 10_000, 100_000, 1_000_000};
+        for (int round = 0; round < 2; round++) {
+            System.out.println(round == 0 ? "warm-up" : "measured");
+            for (int n : sizes) {
+                run(n);
+            }
+        }
+    }
+
+    private static void run(int n) {
+        CollidingKey[] keys = new CollidingKey[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = new CollidingKey(i);
+        }
+        HashMap<CollidingKey, Integer> map = new HashMap<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            map.put(keys[i], i);
+        }
+        long putNanos = System.nanoTime() - start;
+
+        long checksum = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            checksum += map.get(keys[i]);
+        }
+        long getNanos = System.nanoTime() - start;
+
+        System.out.printf("n=%,10d  put %8.1f ns/op  get %8.1f ns/op  (checksum %d)%n",
+                n, (double) putNanos / n, (double) getNanos / n, checksum);
+    }
+}
@@ -0,0 +1,101 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.BinarySearchTreeMap;
+import com.wycode.datastructures.Map.HashMap;
+import com.wycode.datastructures.Map.Map;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Calls keySet() in a loop and asks it one contains each time, the pattern that used to copy
+ * the whole map per call. The copying keySet is replayed here as copyKeys, next to the live
+ * view; values() and entrySet() scans are measured the same way.
+ * Reports time and bytes allocated per call.
+ * <p>
+ * Run with: java -cp target/classes:target/test-classes com.wycode.benchmark.KeySetViewBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class KeySetViewBenchmark {
+    private static final int CALLS = 200;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(9);
+        HashMap<Integer, Integer> hashMap = new HashMap<>();
+        BinarySearchTreeMap<Integer, Integer> bst = new BinarySearchTreeMap<>();
+        int[] probes = new int[CALLS];
+        for (int i = 0; i < n; i++) {
+            int key = random.nextInt();
+            hashMap.put(key, i);
+            bst.put(key, i);
+            if (i < CALLS) {
+                probes[i] = key;
+            }
+        }
+        for (int round = 0; round < 3; round++) {
+            System.out.println("round " + (round + 1) + ", n=" + n);
+            runAll("HashMap", hashMap, probes);
+            runAll("BinarySearchTreeMap", bst, probes);
+        }
+    }
+
+    /**
+     * What keySet() did before it became a view.
+     */
+    private static Set<Integer> copyKeys(Map<Integer, Integer> map) {
+        Set<Integer> keys = new HashSet<>();
+        for (Integer key : map) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    private static void runAll(String name, Map<Integer, Integer> map, int[] probes) {
+        report(name, "copied keySet().contains", () -> {
+            long hits = 0;
+            for (int probe : probes) {
+                hits += copyKeys(map).contains(probe) ? 1 : 0;
+            }
+            return hits;
+        });
+        report(name, "view keySet().contains", () -> {
+            long hits = 0;
+            for (int probe : probes) {
+                hits += map.keySet().contains(probe) ? 1 : 0;
+            }
+            return hits;
+        });
+        report(name, "values() scan", () -> {
+            long sum = 0;
+            for (int call = 0; call < probes.length; call++) {
+                for (int value : map.values()) {
+                    sum += value;
+                }
+            }
+            return sum;
+        });
+    }
+
+    private interface Calls {
+        long run();
+    }
+
+    private static void report(String name, String how, Calls calls) {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytesBefore = bean.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        long checksum = calls.run();
+        long nanos = System.nanoTime() - start;
+        long bytes = bean.getThreadAllocatedBytes(thread) - bytesBefore;
+        System.out.printf("  %-20s %-26s %,14.0f ns/call  %,12d bytes/call  (checksum %d)%n",
+                name, how, (double) nanos / CALLS, bytes / CALLS, checksum);
+    }
+}
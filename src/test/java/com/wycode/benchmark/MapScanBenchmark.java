@@ -0,0 +1,86 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.BinarySearchTreeMap;
+import com.wycode.datastructures.Map.HashMap;
+import com.wycode.datastructures.Map.Map;
+import com.wycode.datastructures.Map.UnorderedLinkedListMap;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Scans every entry of a map three ways: iterator() with a get per key, cursor(), and
+ * forEach. Reports the time and the bytes allocated per entry by each scan.
+ * <p>
+ * Run with: java -cp target/classes:target/test-classes com.wycode.benchmark.MapScanBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class MapScanBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(5);
+        HashMap<Integer, Integer> hashMap = new HashMap<>();
+        BinarySearchTreeMap<Integer, Integer> bst = new BinarySearchTreeMap<>();
+        for (int i = 0; i < n; i++) {
+            int key = random.nextInt();
+            hashMap.put(key, i);
+            bst.put(key, i);
+        }
+        // puts into the list map are O(n) each, so it gets a smaller share
+        UnorderedLinkedListMap<Integer, Integer> list = new UnorderedLinkedListMap<>();
+        for (int i = 0; i < Math.min(n, 20_000); i++) {
+            list.put(i, i);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            System.out.println("round " + (round + 1));
+            scanAll("HashMap", hashMap);
+            scanAll("BinarySearchTreeMap", bst);
+            scanAll("UnorderedLinkedListMap", list);
+        }
+    }
+
+    private static void scanAll(String name, Map<Integer, Integer> map) {
+        report(name, "iterator + get", map.size(), () -> {
+            long sum = 0;
+            for (Integer key : map) {
+                sum += map.get(key);
+            }
+            return sum;
+        });
+        report(name, "cursor", map.size(), () -> {
+            long sum = 0;
+            Map.Cursor<Integer, Integer> cursor = map.cursor();
+            while (cursor.advance()) {
+                sum += cursor.value();
+            }
+            return sum;
+        });
+        report(name, "forEach", map.size(), () -> {
+            long[] sum = new long[1];
+            map.forEach((key, value) -> sum[0] += value);
+            return sum[0];
+        });
+    }
+
+    private interface Scan {
+        long run();
+    }
+
+    private static void report(String name, String how, int size, Scan scan) {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytesBefore = bean.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        long checksum = scan.run();
+        long nanos = System.nanoTime() - start;
+        long bytes = bean.getThreadAllocatedBytes(thread) - bytesBefore;
+        System.out.printf("  %-24s %-15s %8.1f ns/entry  %6.1f bytes/entry  (checksum %d)%n",
+                name, how, (double) nanos / size, (double) bytes / size, checksum);
+    }
+}
@@ -0,0 +1,63 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.Codec;
+import com.wycode.datastructures.Map.HashMap;
+import com.wycode.datastructures.Map.MappedHashMap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares rebuilding a HashMap from source data with reopening a MappedHashMap file
+ * that already holds the same entries, then serving lookups from each.
+ * <p>
+ * Run with: java -cp target/classes:target/test-classes com.wycode.benchmark.MappedHashMapBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class MappedHashMapBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path file = Files.createTempFile("mapped-hash-map", ".bin");
+        Files.delete(file);
+        try {
+            long start = System.nanoTime();
+            try (MappedHashMap<Long, String> map = MappedHashMap.open(file, Codec.LONG, Codec.STRING)) {
+                for (long i = 0; i < n; i++) {
+                    map.put(i, "value-" + i);
+                }
+            }
+            System.out.printf("MappedHashMap  write %,d entries: %,d ms (%,d bytes on disk)%n",
+                    n, (System.nanoTime() - start) / 1_000_000, Files.size(file));
+
+            start = System.nanoTime();
+            HashMap<Long, String> rebuilt = new HashMap<>();
+            for (long i = 0; i < n; i++) {
+                rebuilt.put(i, "value-" + i);
+            }
+            System.out.printf("HashMap        rebuild:     %,d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+            start = System.nanoTime();
+            try (MappedHashMap<Long, String> map = MappedHashMap.open(file, Codec.LONG, Codec.STRING)) {
+                System.out.printf("MappedHashMap  reopen:      %,d ms (size %,d)%n", (System.nanoTime() - start) / 1_000_000, map.size());
+                lookups("MappedHashMap", map, n);
+            }
+            lookups("HashMap", rebuilt, n);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void lookups(String name, com.wycode.datastructures.Map.Map<Long, String> map, int n) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (long i = 0; i < n; i++) {
+            checksum += map.get((i * 7919) % n).length();
+        }
+        System.out.printf("%-14s get %7.1f ns/op (checksum %d)%n", name, (double) (System.nanoTime() - start) / n, checksum);
+    }
+}
@@ -0,0 +1,82 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.Codec;
+import com.wycode.datastructures.Map.HashMap;
+import com.wycode.datastructures.Map.Map;
+import com.wycode.datastructures.Map.OffHeapHashMap;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Fills a HashMap and an OffHeapHashMap with the same entries and compares the garbage
+ * collection cost of keeping each one alive: the time of a full collection, and the total
+ * collector time while the application churns through short-lived garbage.
+ * <p>
+ * Run with (--enable-preview only on JDK 21):
+ * java -Xmx8g -cp target/classes:target/test-classes com.wycode.benchmark.OffHeapGcBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class OffHeapGcBenchmark {
+    private static final int CHURN_ROUNDS = 20_000_000;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        HashMap<Long, String> heap = new HashMap<>();
+        fill(heap, n);
+        measure("HashMap", heap);
+        heap = null;
+
+        try (OffHeapHashMap<Long, String> offHeap = new OffHeapHashMap<>(Codec.LONG, Codec.STRING)) {
+            fill(offHeap, n);
+            measure("OffHeapHashMap", offHeap);
+            System.out.printf("OffHeapHashMap native memory: %,d bytes%n", offHeap.offHeapBytes());
+        }
+    }
+
+    private static void fill(Map<Long, String> map, int n) {
+        for (long i = 0; i < n; i++) {
+            map.put(i, "value-" + i);
+        }
+    }
+
+    private static void measure(String name, Map<Long, String> map) {
+        System.gc();
+        long start = System.nanoTime();
+        System.gc();
+        long fullGcMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long gcMillisBefore = gcMillis();
+        long gcCountBefore = gcCount();
+        long checksum = 0;
+        for (int i = 0; i < CHURN_ROUNDS; i++) {
+            // short-lived garbage, as a request handler would produce
+            checksum += new StringBuilder().append(i).length();
+            if (i % 1_000 == 0) {
+                checksum += map.get((long) (i % map.size())).length();
+            }
+        }
+        System.out.printf("%-15s entries %,d  full GC %,d ms  churn: %,d collections, %,d ms in GC (checksum %d)%n",
+                name, map.size(), fullGcMillis, gcCount() - gcCountBefore, gcMillis() - gcMillisBefore, checksum);
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total = total + bean.getCollectionTime();
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total = total + bean.getCollectionCount();
+        }
+        return total;
+    }
+}
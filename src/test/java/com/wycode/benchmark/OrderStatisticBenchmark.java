@@ -0,0 +1,81 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.BinarySearchTreeMap;
+import com.wycode.datastructures.Map.OrderedMap;
+import com.wycode.datastructures.Map.RedBlackTreeMap;
+
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Compares size-annotated rank/select against the old approach of walking the keys
+ * in order until the wanted position is reached.
+ * <p>
+ * Run with: java -cp target/classes:target/test-classes com.wycode.benchmark.OrderStatisticBenchmark
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class OrderStatisticBenchmark {
+    private static final int KEYS = 200_000;
+    private static final int QUERIES = 2_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        int[] keys = new int[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = random.nextInt();
+        }
+        int[] queries = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = random.nextInt(KEYS);
+        }
+        for (int round = 0; round < 2; round++) {
+            System.out.println(round == 0 ? "warm-up" : "measured");
+            run("BinarySearchTreeMap", new BinarySearchTreeMap<>(), keys, queries);
+            run("RedBlackTreeMap", new RedBlackTreeMap<>(), keys, queries);
+        }
+    }
+
+    private static void run(String name, OrderedMap<Integer, Integer> map, int[] keys, int[] queries) {
+        for (int key : keys) {
+            map.put(key, key);
+        }
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int rank : queries) {
+            checksum += map.select(rank);
+            checksum += map.rank(keys[rank]);
+        }
+        long indexed = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int rank : queries) {
+            checksum -= selectByScan(map, rank);
+            checksum -= rankByScan(map, keys[rank]);
+        }
+        long scanned = System.nanoTime() - start;
+
+        System.out.printf("%-20s rank+select %,10.0f ns/query   keySet scan %,12.0f ns/query  (checksum %d)%n",
+                name, (double) indexed / queries.length, (double) scanned / queries.length, checksum);
+    }
+
+    private static int selectByScan(OrderedMap<Integer, Integer> map, int rank) {
+        Iterator<Integer> keys = map.iterator();
+        for (int i = 0; i < rank; i++) {
+            keys.next();
+        }
+        return keys.next();
+    }
+
+    private static int rankByScan(OrderedMap<Integer, Integer> map, int key) {
+        int rank = 0;
+        for (int k : map) {
+            if (k < key) {
+                rank = rank + 1;
+            }
+        }
+        return rank;
+    }
+}
@@ -0,0 +1,125 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.HashMap;
+import com.wycode.datastructures.Map.PersistentHashMap;
+
+import java.util.Random;
+
+/**
+ * Compares PersistentHashMap with HashMap on the operations persistence is for: taking a
+ * snapshot while a writer keeps updating (a copy for HashMap, snapshot() for the trie), plus
+ * the price paid for it on plain put and get, and bulk loading through a builder.
+ * Each is timed as the best of several runs.
+ * <p>
+ * Run with: java -Xmx2g -cp target/classes:target/test-classes com.wycode.benchmark.PersistentMapBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class PersistentMapBenchmark {
+    private static final int RUNS = 5;
+    private static final int SNAPSHOTS = 100;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(13);
+        Integer[] keys = new Integer[n];
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+            values[i] = i;
+        }
+        System.out.printf("n=%,d, best of %d runs each%n", n, RUNS);
+
+        long hashPut = best(() -> {
+            HashMap<Integer, Integer> map = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                map.put(keys[i], values[i]);
+            }
+            return map.size();
+        });
+        long triePut = best(() -> {
+            PersistentHashMap<Integer, Integer> map = new PersistentHashMap<>();
+            for (int i = 0; i < n; i++) {
+                map.put(keys[i], values[i]);
+            }
+            return map.size();
+        });
+        long builderPut = best(() -> {
+            PersistentHashMap.Builder<Integer, Integer> builder = PersistentHashMap.builder();
+            for (int i = 0; i < n; i++) {
+                builder.put(keys[i], values[i]);
+            }
+            return builder.build().size();
+        });
+        System.out.printf("  load     HashMap.put %6.1f  PersistentHashMap.put %6.1f  Builder.put %6.1f ns/key%n",
+                (double) hashPut / n, (double) triePut / n, (double) builderPut / n);
+
+        HashMap<Integer, Integer> hashMap = new HashMap<>();
+        hashMap.putAll(keys, values);
+        PersistentHashMap<Integer, Integer> trie = new PersistentHashMap<>();
+        trie.putAll(keys, values);
+        long hashGet = best(() -> {
+            long sum = 0;
+            for (Integer key : keys) {
+                sum += hashMap.get(key);
+            }
+            return sum;
+        });
+        long trieGet = best(() -> {
+            long sum = 0;
+            for (Integer key : keys) {
+                sum += trie.get(key);
+            }
+            return sum;
+        });
+        System.out.printf("  get      HashMap %6.1f  PersistentHashMap %6.1f ns/key%n",
+                (double) hashGet / n, (double) trieGet / n);
+
+        // a writer that updates a key and then publishes a consistent copy for readers
+        long hashSnapshot = best(() -> {
+            long sum = 0;
+            for (int s = 0; s < SNAPSHOTS; s++) {
+                hashMap.put(keys[s], -s);
+                HashMap<Integer, Integer> copy = new HashMap<>();
+                copy.putAll(hashMap);
+                sum += copy.size();
+            }
+            return sum;
+        });
+        long trieSnapshot = best(() -> {
+            long sum = 0;
+            for (int s = 0; s < SNAPSHOTS; s++) {
+                trie.put(keys[s], -s);
+                sum += trie.snapshot().size();
+            }
+            return sum;
+        });
+        System.out.printf("  update+snapshot  HashMap copy %,12.0f  PersistentHashMap %,8.0f ns/snapshot (%.0fx)%n",
+                (double) hashSnapshot / SNAPSHOTS, (double) trieSnapshot / SNAPSHOTS,
+                (double) hashSnapshot / trieSnapshot);
+    }
+
+    private interface Run {
+        long run();
+    }
+
+    /**
+     * Returns the fastest of RUNS timings, which filters out collector pauses and other noise.
+     */
+    private static long best(Run run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int i = 0; i < RUNS; i++) {
+            System.gc();
+            long start = System.nanoTime();
+            checksum += run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (checksum == 42) {
+            System.out.println();
+        }
+        return best;
+    }
+}
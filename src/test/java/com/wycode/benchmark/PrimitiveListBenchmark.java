@@ -0,0 +1,152 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.list.ArrayList;
+import com.wycode.datastructures.list.DoubleArrayList;
+import com.wycode.datastructures.list.IntArrayList;
+
+import java.lang.ref.Reference;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares the primitive lists with ArrayList of boxed elements on n random values: heap
+ * retained by the filled list, appending all values, and summing them with get, timed as
+ * the best of several runs.
+ * <p>
+ * Run with: java -Xmx3g -cp target/classes:target/test-classes com.wycode.benchmark.PrimitiveListBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class PrimitiveListBenchmark {
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Random random = new Random(59);
+        int[] ints = new int[n];
+        double[] doubles = new double[n];
+        for (int i = 0; i < n; i++) {
+            ints[i] = random.nextInt();
+            doubles[i] = random.nextDouble();
+        }
+
+        System.out.printf("n=%,d, best of %d runs each%n", n, RUNS);
+        System.out.printf("  %-20s %14s %12s %12s%n", "", "bytes/element", "add ns/op", "sum ns/op");
+        Supplier<ArrayList<Integer>> boxedInts = () -> {
+            ArrayList<Integer> list = new ArrayList<>();
+            for (int value : ints) {
+                list.addLast(value);
+            }
+            return list;
+        };
+        ArrayList<Integer> loadedBoxedInts = boxedInts.get();
+        print("ArrayList<Integer>", retained(boxedInts, n), best(() -> boxedInts.get().size(), n),
+                best(() -> {
+                    long sum = 0;
+                    for (int i = 0; i < n; i++) {
+                        sum += loadedBoxedInts.get(i);
+                    }
+                    return sum;
+                }, n));
+
+        Supplier<IntArrayList> primitiveInts = () -> {
+            IntArrayList list = new IntArrayList();
+            for (int value : ints) {
+                list.addLast(value);
+            }
+            return list;
+        };
+        IntArrayList loadedInts = primitiveInts.get();
+        print("IntArrayList", retained(primitiveInts, n), best(() -> primitiveInts.get().size(), n),
+                best(() -> {
+                    long sum = 0;
+                    for (int i = 0; i < n; i++) {
+                        sum += loadedInts.get(i);
+                    }
+                    return sum;
+                }, n));
+
+        Supplier<ArrayList<Double>> boxedDoubles = () -> {
+            ArrayList<Double> list = new ArrayList<>();
+            for (double value : doubles) {
+                list.addLast(value);
+            }
+            return list;
+        };
+        ArrayList<Double> loadedBoxedDoubles = boxedDoubles.get();
+        print("ArrayList<Double>", retained(boxedDoubles, n), best(() -> boxedDoubles.get().size(), n),
+                best(() -> {
+                    double sum = 0;
+                    for (int i = 0; i < n; i++) {
+                        sum += loadedBoxedDoubles.get(i);
+                    }
+                    return (long) sum;
+                }, n));
+
+        Supplier<DoubleArrayList> primitiveDoubles = () -> {
+            DoubleArrayList list = new DoubleArrayList();
+            for (double value : doubles) {
+                list.addLast(value);
+            }
+            return list;
+        };
+        DoubleArrayList loadedDoubles = primitiveDoubles.get();
+        print("DoubleArrayList", retained(primitiveDoubles, n), best(() -> primitiveDoubles.get().size(), n),
+                best(() -> {
+                    double sum = 0;
+                    for (int i = 0; i < n; i++) {
+                        sum += loadedDoubles.get(i);
+                    }
+                    return (long) sum;
+                }, n));
+    }
+
+    private static void print(String name, double bytes, double add, double sum) {
+        System.out.printf("  %-20s %14.1f %12.2f %12.2f%n", name, bytes, add, sum);
+    }
+
+    /**
+     * Returns the heap retained per element by a freshly built list, including its spare
+     * capacity.
+     */
+    private static double retained(Supplier<?> factory, int n) {
+        long before = usedMemory();
+        Object list = factory.get();
+        long after = usedMemory();
+        Reference.reachabilityFence(list);
+        return (double) (after - before) / n;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private interface Run {
+        long run();
+    }
+
+    /**
+     * Returns the fastest of RUNS timings in ns per element, which filters out collector
+     * pauses and other noise.
+     */
+    private static double best(Run run, int n) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int i = 0; i < RUNS; i++) {
+            System.gc();
+            long start = System.nanoTime();
+            checksum += run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (checksum == 42) {
+            System.out.println();
+        }
+        return (double) best / n;
+    }
+}
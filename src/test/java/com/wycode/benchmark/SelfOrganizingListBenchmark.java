@@ -0,0 +1,102 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.HashMap;
+import com.wycode.datastructures.Map.UnorderedLinkedListMap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Looks keys up in an UnorderedLinkedListMap under Zipf-distributed access, once per
+ * self-organizing heuristic, and reports the mean lookup length (entries compared per get)
+ * and the time per get. The popularity ranks are shuffled against the insertion order, so
+ * the hot keys do not start near the head. A HashMap is timed alongside for reference.
+ * <p>
+ * Run with: java -cp target/classes:target/test-classes com.wycode.benchmark.SelfOrganizingListBenchmark
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class SelfOrganizingListBenchmark {
+    private static final int LOOKUPS = 2_000_000;
+    private static final int[] SIZES = {16, 64, 256};
+    private static final double[] SKEWS = {0.8, 1.0, 1.2};
+
+    public static void main(String[] args) {
+        for (double skew : SKEWS) {
+            for (int size : SIZES) {
+                Integer[] probes = zipfProbes(size, skew, new Random(size));
+                System.out.printf("Zipf s=%.1f, %d keys, %,d lookups%n", skew, size, LOOKUPS);
+                for (UnorderedLinkedListMap.Heuristic heuristic : UnorderedLinkedListMap.Heuristic.values()) {
+                    report(heuristic, size, probes);
+                }
+                HashMap<Integer, Integer> hashMap = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    hashMap.put(i, i);
+                }
+                long best = Long.MAX_VALUE;
+                long checksum = 0;
+                for (int run = 0; run < 3; run++) {
+                    long start = System.nanoTime();
+                    for (Integer probe : probes) {
+                        checksum += hashMap.get(probe);
+                    }
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                System.out.printf("  %-16s %20s %8.1f ns/get  (checksum %d)%n",
+                        "HashMap", "", (double) best / LOOKUPS, checksum);
+            }
+        }
+    }
+
+    private static void report(UnorderedLinkedListMap.Heuristic heuristic, int size, Integer[] probes) {
+        long best = Long.MAX_VALUE;
+        double meanLength = 0;
+        long checksum = 0;
+        for (int run = 0; run < 3; run++) {
+            UnorderedLinkedListMap<Integer, Integer> map = new UnorderedLinkedListMap<>(heuristic);
+            for (int i = 0; i < size; i++) {
+                map.put(i, i);
+            }
+            long probesBefore = map.probeCount();
+            long start = System.nanoTime();
+            for (Integer probe : probes) {
+                checksum += map.get(probe);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+            meanLength = (double) (map.probeCount() - probesBefore) / LOOKUPS;
+        }
+        System.out.printf("  %-16s %8.2f entries/get %8.1f ns/get  (checksum %d)%n",
+                heuristic, meanLength, (double) best / LOOKUPS, checksum);
+    }
+
+    /**
+     * Draws LOOKUPS keys in [0, size) where the key of popularity rank r is drawn with
+     * probability proportional to 1 / r^skew.
+     */
+    private static Integer[] zipfProbes(int size, double skew, Random random) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, skew);
+            cumulative[rank] = total;
+        }
+        int[] keyOfRank = new int[size];
+        for (int i = 0; i < size; i++) {
+            keyOfRank[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = keyOfRank[i];
+            keyOfRank[i] = keyOfRank[j];
+            keyOfRank[j] = swap;
+        }
+        Integer[] probes = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            probes[i] = keyOfRank[rank < 0 ? -rank - 1 : rank];
+        }
+        return probes;
+    }
+}
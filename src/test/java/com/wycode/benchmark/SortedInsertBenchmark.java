@@ -0,0 +1,54 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.BinarySearchTreeMap;
+import com.wycode.datastructures.Map.Map;
+import com.wycode.datastructures.Map.RedBlackTreeMap;
+
+/**
+ * Inserts sorted keys into BinarySearchTreeMap and RedBlackTreeMap, then looks all of them up.
+ * Sorted input turns the plain BST into a linked list (O(n) per operation, and deep enough
+ * to overflow the stack), while the red-black tree stays O(log n).
+ * <p>
+ * Run with: java -cp target/classes:target/test-classes com.wycode.benchmark.SortedInsertBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class SortedInsertBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        // the unbalanced tree is quadratic on sorted input, so it only gets a small prefix
+        for (int small : new int[]{1_000, 5_000, 20_000}) {
+            run("BinarySearchTreeMap", new BinarySearchTreeMap<>(), small);
+            run("RedBlackTreeMap", new RedBlackTreeMap<>(), small);
+        }
+        run("BinarySearchTreeMap", new BinarySearchTreeMap<>(), n);
+        run("RedBlackTreeMap", new RedBlackTreeMap<>(), n);
+    }
+
+    private static void run(String name, Map<Integer, Integer> map, int n) {
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                map.put(i, i);
+                if (i % 10_000 == 0 && System.nanoTime() - start > 60_000_000_000L) {
+                    System.out.printf("%-20s n=%,11d  gave up after 60 s at %,d keys%n", name, n, i);
+                    return;
+                }
+            }
+            long putNanos = System.nanoTime() - start;
+            long checksum = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                checksum += map.get(i);
+            }
+            long getNanos = System.nanoTime() - start;
+            System.out.printf("%-20s n=%,11d  put %10.1f ns/op  get %10.1f ns/op  (checksum %d)%n",
+                    name, n, (double) putNanos / n, (double) getNanos / n, checksum);
+        } catch (StackOverflowError e) {
+            System.out.printf("%-20s n=%,11d  StackOverflowError%n", name, n);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.wycode.benchmark;
+
+import com.wycode.datastructures.Map.HashMap;
+import com.wycode.datastructures.Map.Map;
+import com.wycode.datastructures.Map.SwissHashMap;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares SwissHashMap with the chained HashMap run at its default and at a high load
+ * factor: loading n random keys with put, then looking up present keys and absent keys in
+ * random order, timed as the best of several runs. The default n fills the Swiss table to
+ * its 7/8 limit, where probes are longest.
+ * <p>
+ * Run with: java -Xmx2g -cp target/classes:target/test-classes com.wycode.benchmark.SwissTableBenchmark [n]
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class SwissTableBenchmark {
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : (1 << 21) / 8 * 7;
+        Random random = new Random(43);
+        Integer[] keys = new Integer[n];
+        Integer[] misses = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt() & ~1; // even: present
+            misses[i] = random.nextInt() | 1; // odd: absent
+        }
+        Integer[] hits = keys.clone();
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer swap = hits[i];
+            hits[i] = hits[j];
+            hits[j] = swap;
+        }
+
+        System.out.printf("n=%,d, best of %d runs each, ns/op%n", n, RUNS);
+        System.out.printf("  %-20s %8s %8s %8s%n", "", "put", "get hit", "get miss");
+        report("HashMap load 0.75", HashMap::new, keys, hits, misses);
+        report("HashMap load 0.875", () -> new HashMap<>(16, 0.875), keys, hits, misses);
+        SwissHashMap<Integer, Integer> swiss = report("SwissHashMap", SwissHashMap::new, keys, hits, misses);
+        System.out.printf("SwissHashMap after %,d puts: load factor %.3f of %,d slots%n",
+                n, swiss.loadFactor(), swiss.capacity());
+    }
+
+    private static <M extends Map<Integer, Integer>> M report(String name, Supplier<M> factory,
+                                                              Integer[] keys, Integer[] hits, Integer[] misses) {
+        M loaded = factory.get();
+        for (int i = 0; i < keys.length; i++) {
+            loaded.put(keys[i], i);
+        }
+        long put = best(() -> {
+            M map = factory.get();
+            for (int i = 0; i < keys.length; i++) {
+                map.put(keys[i], i);
+            }
+            return map.size();
+        });
+        long hit = best(() -> {
+            long sum = 0;
+            for (Integer key : hits) {
+                sum += loaded.get(key);
+            }
+            return sum;
+        });
+        long miss = best(() -> {
+            long found = 0;
+            for (Integer key : misses) {
+                found += loaded.get(key) == null ? 0 : 1;
+            }
+            return found;
+        });
+        System.out.printf("  %-20s %8.1f %8.1f %8.1f%n", name,
+                (double) put / keys.length, (double) hit / hits.length, (double) miss / misses.length);
+        return loaded;
+    }
+
+    private interface Run {
+        long run();
+    }
+
+    /**
+     * Returns the fastest of RUNS timings, which filters out collector pauses and other noise.
+     */
+    private static long best(Run run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int i = 0; i < RUNS; i++) {
+            System.gc();
+            long start = System.nanoTime();
+            checksum += run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (checksum == 42) {
+            System.out.println();
+        }
+        return best;
+    }
+}
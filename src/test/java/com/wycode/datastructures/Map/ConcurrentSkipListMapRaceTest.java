@@ -0,0 +1,57 @@
+package com.wycode.datastructures.Map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races in ConcurrentSkipListMap that are opened deterministically through its
+ * package-private test seam, so this test lives in the map's own package.
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class ConcurrentSkipListMapRaceTest {
+
+    /**
+     * Removes a key, and inserts a key just after it, while the removed key's own put is
+     * paused right before linking an upper level. Once that put resumes, the removed node
+     * must not stay linked and hide the new key from lookups and navigation.
+     */
+    @Test
+    public void removeDuringUpperLevelLinkTest() {
+        int raced = 0;
+        for (int trial = 0; raced < 200; trial++) {
+            boolean[] armed = {true};
+            ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<>() {
+                @Override
+                void beforeUpperLink(Integer key, int level) {
+                    if (armed[0] && key == 10) {
+                        armed[0] = false;
+                        assertEquals(10, remove(10));
+                        put(15, 15);
+                    }
+                }
+            };
+            map.put(0, 0);
+            map.put(20, 20);
+            map.put(10, 10);
+            if (armed[0]) {
+                assertTrue(trial < 10000, "node 10 never got an upper level");
+                continue; // 10 got a single level, so the window never opened
+            }
+            raced = raced + 1;
+            assertEquals(15, map.get(15), "get after trial " + trial);
+            assertEquals(15, map.floor(17), "floor after trial " + trial);
+            assertEquals(15, map.ceiling(11), "ceiling after trial " + trial);
+            Iterator<Integer> range = map.rangeIterator(5, 17);
+            assertTrue(range.hasNext(), "range after trial " + trial);
+            assertEquals(15, range.next());
+            assertFalse(range.hasNext());
+            assertNull(map.get(10)); // last: a get of the removed key unlinks it
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.wycode.datastructures.list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChunkedArrayList, using small chunks so that every operation crosses
+ * chunk boundaries.
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class ChunkedArrayListTest {
+
+    @Test
+    public void testOfMethod() {
+        ChunkedArrayList<String> list = ChunkedArrayList.of("A", "B", "C");
+        assertEquals(3, list.size(), "List size should be 3");
+        assertEquals("A", list.getFirst(), "First element should be A");
+        assertEquals("C", list.getLast(), "Last element should be C");
+        assertTrue(list.contains("B"));
+        assertFalse(list.contains("D"));
+    }
+
+    @Test
+    public void testAddAndGetAcrossChunks() {
+        ChunkedArrayList<Integer> list = new ChunkedArrayList<>(4);
+        for (int i = 0; i < 1000; i++) {
+            list.addLast(i);
+            list.addFirst(-i - 1);
+        }
+        assertEquals(2000, list.size());
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(i - 1000, list.get(i), "Element at index " + i);
+        }
+        int expected = -1000;
+        for (int element : list) {
+            assertEquals(expected, element);
+            expected = expected + 1;
+        }
+        assertEquals(1000, expected);
+    }
+
+    /**
+     * Chunks are released as removals at either end empty them.
+     */
+    @Test
+    public void testChunksReleasedOnShrink() {
+        ChunkedArrayList<Integer> list = new ChunkedArrayList<>(8);
+        for (int i = 0; i < 800; i++) {
+            list.addLast(i);
+        }
+        assertEquals(100, list.chunkCount());
+        for (int i = 0; i < 400; i++) {
+            assertEquals(i, list.removeFirst());
+        }
+        assertEquals(50, list.chunkCount());
+        for (int i = 799; i >= 440; i--) {
+            assertEquals(i, list.removeLast());
+        }
+        assertEquals(5, list.chunkCount());
+        while (!list.isEmpty()) {
+            list.removeLast();
+        }
+        assertEquals(0, list.chunkCount());
+        list.addFirst(7);
+        assertEquals(7, list.getLast());
+        assertEquals(1, list.chunkCount());
+    }
+
+    @Test
+    public void testRandomAgainstJavaArrayList() {
+        ChunkedArrayList<Integer> list = new ChunkedArrayList<>(16);
+        java.util.ArrayList<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(47);
+        for (int i = 0; i < 50_000; i++) {
+            int op = random.nextInt(7);
+            if (expected.isEmpty() || op < 2) {
+                int index = random.nextInt(expected.size() + 1);
+                list.insert(index, i);
+                expected.add(index, i);
+            } else if (op == 2) {
+                list.addFirst(i);
+                expected.add(0, i);
+            } else if (op == 3) {
+                list.addLast(i);
+                expected.add(i);
+            } else if (op == 4) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (op == 5) {
+                assertEquals(expected.remove(0), list.removeFirst());
+            } else {
+                assertEquals(expected.remove(expected.size() - 1), list.removeLast());
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i), "Element at index " + i);
+        }
+    }
+
+    @Test
+    public void testExceptionHandling() {
+        ChunkedArrayList<Integer> list = new ChunkedArrayList<>();
+        assertThrows(NoSuchElementException.class, list::removeFirst, "Should throw NoSuchElementException");
+        assertThrows(NoSuchElementException.class, list::removeLast, "Should throw NoSuchElementException");
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0), "Should throw IndexOutOfBoundsException");
+        assertThrows(IndexOutOfBoundsException.class, () -> list.insert(1, 1), "Should throw IndexOutOfBoundsException");
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedArrayList<Integer>(12));
+        assertNull(list.getFirst());
+    }
+}
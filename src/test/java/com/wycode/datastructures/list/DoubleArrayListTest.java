@@ -0,0 +1,65 @@
+package com.wycode.datastructures.list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DoubleArrayList.
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class DoubleArrayListTest {
+
+    @Test
+    public void testBasicOperations() {
+        DoubleArrayList list = DoubleArrayList.of(1.5, 2.5);
+        list.addFirst(0.5);
+        list.insert(3, 3.5);
+        assertArrayEquals(new double[]{0.5, 1.5, 2.5, 3.5}, list.toArray());
+        assertEquals(1.5, list.remove(1));
+        assertEquals(0.5, list.removeFirst());
+        assertEquals(3.5, list.removeLast());
+        assertEquals(2.5, list.get(0));
+    }
+
+    /**
+     * contains, sort and binarySearch treat NaN and signed zeros the way Double.equals does.
+     */
+    @Test
+    public void testSpecialValues() {
+        DoubleArrayList list = DoubleArrayList.of(Double.NaN, 0.0, 1.0, -0.0, Double.NEGATIVE_INFINITY);
+        assertTrue(list.contains(Double.NaN));
+        list.removeLast();
+        list.sort();
+        assertArrayEquals(new double[]{-0.0, 0.0, 1.0, Double.NaN}, list.toArray());
+        assertEquals(3, list.binarySearch(Double.NaN));
+        assertEquals(0, list.binarySearch(-0.0));
+        assertFalse(DoubleArrayList.of(0.0).contains(-0.0));
+    }
+
+    @Test
+    public void testAddAll() {
+        DoubleArrayList list = new DoubleArrayList();
+        double[] values = new double[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i / 4.0;
+        }
+        list.addAll(values);
+        list.addAll(values);
+        assertEquals(2000, list.size());
+        assertEquals(249.75, list.get(1999));
+    }
+
+    @Test
+    public void testExceptionHandling() {
+        DoubleArrayList list = new DoubleArrayList();
+        assertThrows(NoSuchElementException.class, list::removeLast, "Should throw NoSuchElementException");
+        assertThrows(NoSuchElementException.class, list::getFirst, "Should throw NoSuchElementException");
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(0), "Should throw IndexOutOfBoundsException");
+    }
+}
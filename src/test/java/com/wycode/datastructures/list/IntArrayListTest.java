@@ -0,0 +1,92 @@
+package com.wycode.datastructures.list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IntArrayList.
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class IntArrayListTest {
+
+    @Test
+    public void testOfMethod() {
+        IntArrayList list = IntArrayList.of(3, 1, 2);
+        assertEquals(3, list.size(), "List size should be 3");
+        assertEquals(3, list.getFirst(), "First element should be 3");
+        assertEquals(2, list.getLast(), "Last element should be 2");
+        assertTrue(list.contains(1));
+        assertFalse(list.contains(4));
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        IntArrayList list = new IntArrayList();
+        for (int i = 0; i < 10000; i++) {
+            list.insert(i, i);
+        }
+        list.addFirst(-1);
+        list.insert(5, 99);
+        assertEquals(10002, list.size());
+        assertEquals(-1, list.get(0));
+        assertEquals(99, list.remove(5));
+        assertEquals(-1, list.removeFirst());
+        for (int i = 9999; i >= 0; i--) {
+            assertEquals(i, list.removeLast(), "Removed element should be " + i);
+        }
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testRandomAgainstJavaArrayList() {
+        IntArrayList list = new IntArrayList(0);
+        java.util.ArrayList<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(53);
+        for (int i = 0; i < 20000; i++) {
+            int op = random.nextInt(4);
+            if (expected.isEmpty() || op < 2) {
+                int index = random.nextInt(expected.size() + 1);
+                list.insert(index, i);
+                expected.add(index, i);
+            } else if (op == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                assertEquals(expected.remove(expected.size() - 1), list.removeLast());
+            }
+        }
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), list.toArray());
+    }
+
+    @Test
+    public void testAddAllSortAndBinarySearch() {
+        IntArrayList list = IntArrayList.of(5);
+        list.addAll(new int[]{9, -3, 7, 1});
+        list.addAll(new int[0]);
+        assertArrayEquals(new int[]{5, 9, -3, 7, 1}, list.toArray());
+        list.sort();
+        assertArrayEquals(new int[]{-3, 1, 5, 7, 9}, list.toArray());
+        assertEquals(2, list.binarySearch(5));
+        assertEquals(-3, list.binarySearch(4));
+        assertEquals(5, list.set(2, 6));
+        assertEquals(6, list.get(2));
+    }
+
+    @Test
+    public void testExceptionHandling() {
+        IntArrayList list = new IntArrayList();
+        assertThrows(NoSuchElementException.class, list::removeFirst, "Should throw NoSuchElementException");
+        assertThrows(NoSuchElementException.class, list::removeLast, "Should throw NoSuchElementException");
+        assertThrows(NoSuchElementException.class, list::getFirst, "Should throw NoSuchElementException");
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0), "Should throw IndexOutOfBoundsException");
+        assertThrows(IndexOutOfBoundsException.class, () -> list.insert(1, 1), "Should throw IndexOutOfBoundsException");
+        assertThrows(IllegalArgumentException.class, () -> new IntArrayList(-1));
+    }
+}
@@ -0,0 +1,65 @@
+package com.wycode.datastructures.list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LongArrayList.
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class LongArrayListTest {
+
+    @Test
+    public void testBasicOperations() {
+        LongArrayList list = LongArrayList.of(1L << 40, 2);
+        list.addFirst(-1);
+        list.addLast(Long.MAX_VALUE);
+        list.insert(2, 7);
+        assertArrayEquals(new long[]{-1, 1L << 40, 7, 2, Long.MAX_VALUE}, list.toArray());
+        assertTrue(list.contains(1L << 40));
+        assertFalse(list.contains(1L << 41));
+        assertEquals(7, list.remove(2));
+        assertEquals(-1, list.removeFirst());
+        assertEquals(Long.MAX_VALUE, list.removeLast());
+        assertEquals(2, list.size());
+    }
+
+    @Test
+    public void testGrowAndShrink() {
+        LongArrayList list = new LongArrayList();
+        for (long i = 0; i < 100000; i++) {
+            list.addLast(i * i);
+        }
+        for (int i = 0; i < 100000; i += 997) {
+            assertEquals((long) i * i, list.get(i));
+        }
+        while (list.size() > 1) {
+            list.removeLast();
+        }
+        assertEquals(0, list.getLast());
+    }
+
+    @Test
+    public void testAddAllSortAndBinarySearch() {
+        LongArrayList list = new LongArrayList(0);
+        list.addAll(new long[]{Long.MIN_VALUE, 10, -10, 0});
+        list.sort();
+        assertArrayEquals(new long[]{Long.MIN_VALUE, -10, 0, 10}, list.toArray());
+        assertEquals(3, list.binarySearch(10));
+        assertEquals(-5, list.binarySearch(11));
+    }
+
+    @Test
+    public void testExceptionHandling() {
+        LongArrayList list = new LongArrayList();
+        assertThrows(NoSuchElementException.class, list::removeFirst, "Should throw NoSuchElementException");
+        assertThrows(NoSuchElementException.class, list::getLast, "Should throw NoSuchElementException");
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(0, 1), "Should throw IndexOutOfBoundsException");
+    }
+}
@@ -0,0 +1,155 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.BPlusTreeMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class BPlusTreeMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        BPlusTreeMap<Integer, String> map = new BPlusTreeMap<>(4);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+        map.put(50, "Z");
+        assertEquals(100, map.size());
+        assertEquals("Z", map.get(50));
+        assertEquals("v99", map.get(99));
+        assertNull(map.get(100));
+        assertFalse(map.containsKey(-1));
+    }
+
+    @Test
+    public void testIllegalFanout() {
+        assertThrows(IllegalArgumentException.class, () -> new BPlusTreeMap<Integer, String>(2));
+    }
+
+    @Test
+    public void testRemove() {
+        BPlusTreeMap<Integer, String> map = new BPlusTreeMap<>(3);
+        for (int i = 0; i < 50; i++) {
+            map.put(i, "v" + i);
+        }
+        assertNull(map.remove(3, "X"));
+        assertEquals("v3", map.remove(3, "v3"));
+        assertNull(map.get(3));
+        assertEquals("v0", map.remove(0));
+        assertNull(map.remove(0));
+        assertEquals(48, map.size());
+        for (int i = 1; i < 50; i++) {
+            map.remove(i);
+        }
+        assertEquals(0, map.size());
+        assertFalse(map.iterator().hasNext());
+        assertThrows(NoSuchElementException.class, map::min);
+    }
+
+    @Test
+    public void containsKeyNullTest() {
+        BPlusTreeMap<Integer, String> map = new BPlusTreeMap<>();
+        map.put(1, null);
+        assertTrue(map.containsKey(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void sanityTest() {
+        HashMapTest.sanityClearTest(new BPlusTreeMap<>());
+        HashMapTest.sanityContainsKeyTest(new BPlusTreeMap<>());
+        HashMapTest.sanityGetTest(new BPlusTreeMap<>());
+        HashMapTest.sanitySizeTest(new BPlusTreeMap<>());
+        HashMapTest.sanityKeySetTest(new BPlusTreeMap<>());
+        HashMapTest.sanityCursorTest(new BPlusTreeMap<>());
+        HashMapTest.sanityCursorTest(new BPlusTreeMap<>(3));
+        HashMapTest.sanityViewsTest(new BPlusTreeMap<>(3));
+        HashMapTest.functionalityTest(new BPlusTreeMap<>(5), new BPlusTreeMap<>(5));
+    }
+
+    /**
+     * Small fanouts force splits, borrows and merges at every level of the tree.
+     */
+    @Test
+    public void testRandomAgainstTreeMap() {
+        for (int fanout : new int[]{3, 4, 5, 8, 64}) {
+            BPlusTreeMap<Integer, String> map = new BPlusTreeMap<>(fanout);
+            TreeMap<Integer, String> expected = new TreeMap<>();
+            Random random = new Random(fanout);
+            for (int i = 0; i < 30000; i++) {
+                int key = random.nextInt(2000);
+                if (random.nextInt(5) < 2) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    map.put(key, "v" + i);
+                    expected.put(key, "v" + i);
+                }
+                assertEquals(expected.size(), map.size());
+            }
+            Iterator<Integer> iterator = map.iterator();
+            for (int key : expected.keySet()) {
+                assertEquals(key, iterator.next());
+                assertEquals(expected.get(key), map.get(key));
+            }
+            assertFalse(iterator.hasNext());
+            for (int key = -1; key <= 2000; key += 7) {
+                assertEquals(expected.floorKey(key), map.floor(key));
+                assertEquals(expected.ceilingKey(key), map.ceiling(key));
+            }
+        }
+    }
+
+    @Test
+    public void testRangeScanAcrossLeaves() {
+        BPlusTreeMap<Integer, Integer> map = new BPlusTreeMap<>(4);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 3, i);
+        }
+        Iterator<Integer> range = map.rangeIterator(100, 200);
+        int expected = 102;
+        while (range.hasNext()) {
+            assertEquals(expected, range.next());
+            expected = expected + 3;
+        }
+        assertEquals(201, expected);
+        assertFalse(map.rangeIterator(3000, 4000).hasNext());
+        assertFalse(map.rangeIterator(4, 5).hasNext());
+    }
+
+    @Test
+    public void testSortedInsert() {
+        BPlusTreeMap<Integer, Integer> map = new BPlusTreeMap<>();
+        int n = 1_000_000;
+        for (int i = 0; i < n; i++) {
+            map.put(i, i);
+        }
+        assertEquals(n, map.size());
+        for (int i = 0; i < n; i += 2) {
+            map.remove(i);
+        }
+        assertEquals(n / 2, map.size());
+        assertEquals(n - 1, map.max());
+        assertEquals(1, map.min());
+        assertEquals(n / 2 - 1, map.rank(n - 1));
+    }
+
+    @Test
+    public void orderedOperationsTest() {
+        BinarySearchTreeMapTest.orderedOperationsTest(new BPlusTreeMap<>(4));
+    }
+
+    @Test
+    public void orderStatisticsTest() {
+        BinarySearchTreeMapTest.orderStatisticsTest(new BPlusTreeMap<>(5));
+    }
+}
@@ -1,12 +1,16 @@
 package com.wycode.datastructures.map;
 
 import com.wycode.datastructures.Map.BinarySearchTreeMap;
+import com.wycode.datastructures.Map.OrderedMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -250,6 +254,21 @@ public class BinarySearchTreeMapTest {
         }
     }
 
+    @Test
+    public void sanityCursorTest() {
+        HashMapTest.sanityCursorTest(new BinarySearchTreeMap<>());
+    }
+
+    @Test
+    public void sanityViewsTest() {
+        HashMapTest.sanityViewsTest(new BinarySearchTreeMap<>());
+    }
+
+    @Test
+    public void sanityBatchTest() {
+        HashMapTest.sanityBatchTest(new BinarySearchTreeMap<>());
+    }
+
     /*
      * Sanity test for keySet, only here because it's optional
      */
@@ -355,6 +374,126 @@ public class BinarySearchTreeMapTest {
         assertEquals(null, noChild.get('Z'));
     }
 
+    @Test
+    public void orderedOperationsTest() {
+        orderedOperationsTest(new BinarySearchTreeMap<>());
+    }
 
+    /**
+     * Fills the map with the even keys 0, 2, ..., 98 and checks every ordered operation.
+     */
+    public static void orderedOperationsTest(OrderedMap<Integer, String> map) {
+        assertThrows(NoSuchElementException.class, map::min);
+        assertThrows(NoSuchElementException.class, map::max);
+        assertNull(map.floor(5));
+        assertFalse(map.rangeIterator(0, 10).hasNext());
+
+        // insert in a scrambled order so the tree is not a list
+        for (int i = 0; i < 50; i++) {
+            int key = (i * 37) % 50 * 2;
+            map.put(key, "v" + key);
+        }
+        assertEquals(0, map.min());
+        assertEquals(98, map.max());
+
+        assertEquals(10, map.floor(10));
+        assertEquals(10, map.floor(11));
+        assertNull(map.floor(-1));
+        assertEquals(12, map.ceiling(11));
+        assertEquals(98, map.ceiling(98));
+        assertNull(map.ceiling(99));
+
+        assertEquals(0, map.rank(0));
+        assertEquals(5, map.rank(10));
+        assertEquals(6, map.rank(11));
+        assertEquals(50, map.rank(1000));
+        for (int rank = 0; rank < 50; rank++) {
+            assertEquals(rank * 2, map.select(rank));
+            assertEquals(rank, map.rank(map.select(rank)));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> map.select(50));
+        assertThrows(IndexOutOfBoundsException.class, () -> map.select(-1));
+
+        Iterator<Integer> range = map.rangeIterator(13, 21);
+        assertEquals(14, range.next());
+        assertEquals(16, range.next());
+        assertEquals(18, range.next());
+        assertEquals(20, range.next());
+        assertFalse(range.hasNext());
+        assertThrows(NoSuchElementException.class, range::next);
+
+        range = map.rangeIterator(96, 200);
+        assertEquals(96, range.next());
+        assertEquals(98, range.next());
+        assertFalse(range.hasNext());
+        assertFalse(map.rangeIterator(31, 31).hasNext());
+        assertFalse(map.rangeIterator(40, 20).hasNext());
+    }
 
+    @Test
+    public void orderStatisticsTest() {
+        orderStatisticsTest(new BinarySearchTreeMap<>());
+    }
+
+    /**
+     * Mixes puts and removes, then checks that the subtree sizes behind rank and select
+     * still agree with a sorted reference map.
+     */
+    public static void orderStatisticsTest(OrderedMap<Integer, String> map) {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(2024);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.put(key, "v" + i);
+                expected.put(key, "v" + i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        int rank = 0;
+        for (int key : expected.keySet()) {
+            assertEquals(key, map.select(rank));
+            assertEquals(rank, map.rank(key));
+            rank = rank + 1;
+        }
+        for (int key = -1; key <= 2000; key++) {
+            assertEquals(expected.headMap(key).size(), map.rank(key));
+        }
+    }
+
+    /**
+     * Sorted inserts build a tree that is a single right spine. Every operation must
+     * walk it without recursion. The key count is far deeper than the default thread
+     * stack allowed with the old recursive code, yet small enough that the quadratic
+     * build cost stays in test budget.
+     */
+    @Test
+    public void degenerateTreeTest() {
+        BinarySearchTreeMap<Integer, Integer> b = new BinarySearchTreeMap<>();
+        int n = 30_000;
+        for (int i = 0; i < n; i++) {
+            b.put(i, i);
+        }
+        assertEquals(n, b.size());
+        assertEquals(n - 1, b.get(n - 1));
+        assertTrue(b.containsKey(n / 2));
+        assertEquals(n, b.keySet().size());
+        assertEquals(n - 1, b.select(n - 1));
+        assertEquals(n - 1, b.rank(n - 1));
+
+        int expected = 0;
+        for (int key : b) {
+            assertEquals(expected, key);
+            expected = expected + 1;
+        }
+        assertEquals(n - 1, b.remove(n - 1));
+        assertEquals(n - 2, b.remove(n - 2, n - 2));
+        assertEquals(0, b.remove(0));
+        assertEquals(n - 3, b.size());
+        assertEquals(n - 3, b.max());
+        assertEquals(1, b.min());
+    }
 }
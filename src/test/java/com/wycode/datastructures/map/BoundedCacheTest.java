@@ -0,0 +1,169 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.BoundedCache;
+import com.wycode.datastructures.Map.BoundedCache.Policy;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testLruEvictsLeastRecentlyUsed() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(3, Policy.LRU);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertEquals(1, cache.get("a"));
+        cache.put("d", 4);
+        assertEquals(3, cache.size());
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(1, cache.evictionCount());
+
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(0.5, cache.hitRate());
+    }
+
+    @Test
+    public void testWeightBound() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Policy.LRU, (key, value) -> value.length());
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.put("c", "cccc");
+        assertEquals(8, cache.weightedSize());
+        assertFalse(cache.containsKey("a"));
+        cache.put("b", "b");
+        assertEquals(5, cache.weightedSize());
+        cache.put("huge", "x".repeat(11));
+        assertFalse(cache.containsKey("huge"));
+        assertTrue(cache.weightedSize() <= 10);
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, String>(0, Policy.LRU));
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        for (Policy policy : Policy.values()) {
+            BoundedCache<String, Integer> cache = new BoundedCache<>(100, policy);
+            cache.put("a", 1);
+            cache.put("b", 2);
+            assertNull(cache.remove("a", 5));
+            assertEquals(1, cache.remove("a", 1));
+            assertEquals(2, cache.remove("b"));
+            assertEquals(0, cache.weightedSize());
+            cache.put("c", 3);
+            cache.clear();
+            assertEquals(0, cache.size());
+            assertNull(cache.get("c"));
+        }
+    }
+
+    @Test
+    public void testEntrySetContainsIsNotAnAccess() {
+        for (Policy policy : Policy.values()) {
+            BoundedCache<String, Integer> cache = new BoundedCache<>(100, policy);
+            cache.put("a", 1);
+            cache.put("b", 2);
+            assertEquals(1, cache.get("a"));
+            assertTrue(cache.entrySet().contains(new AbstractMap.SimpleEntry<>("a", 1)));
+            assertFalse(cache.entrySet().contains(new AbstractMap.SimpleEntry<>("b", 3)));
+            assertFalse(cache.entrySet().contains(new AbstractMap.SimpleEntry<>("c", 1)));
+            assertEquals(1, cache.hitCount());
+            assertEquals(0, cache.missCount());
+        }
+    }
+
+    @Test
+    public void sanityTest() {
+        for (Policy policy : Policy.values()) {
+            HashMapTest.sanityClearTest(new BoundedCache<>(10_000, policy));
+            HashMapTest.sanityContainsKeyTest(new BoundedCache<>(10_000, policy));
+            HashMapTest.sanityGetTest(new BoundedCache<>(10_000, policy));
+            HashMapTest.sanitySizeTest(new BoundedCache<>(10_000, policy));
+            HashMapTest.sanityKeySetTest(new BoundedCache<>(10_000, policy));
+            HashMapTest.sanityCursorTest(new BoundedCache<>(10_000, policy));
+            HashMapTest.functionalityTest(new BoundedCache<>(10_000, policy), new BoundedCache<>(10_000, policy));
+        }
+    }
+
+    /**
+     * Whatever the cache keeps must be the value last put, and it must never exceed its bound.
+     */
+    @Test
+    public void testRandomStaysBoundedAndConsistent() {
+        for (Policy policy : Policy.values()) {
+            BoundedCache<Integer, Integer> cache = new BoundedCache<>(200, policy);
+            java.util.HashMap<Integer, Integer> latest = new java.util.HashMap<>();
+            Random random = new Random(9);
+            for (int i = 0; i < 100_000; i++) {
+                int key = (int) Math.abs(random.nextGaussian() * 300);
+                switch (random.nextInt(4)) {
+                    case 0:
+                        cache.remove(key);
+                        latest.remove(key);
+                        break;
+                    case 1:
+                        cache.put(key, i);
+                        latest.put(key, i);
+                        break;
+                    default:
+                        Integer value = cache.get(key);
+                        if (value != null) {
+                            assertEquals(latest.get(key), value);
+                        }
+                        break;
+                }
+                assertTrue(cache.size() <= 200);
+                assertEquals(cache.size(), cache.weightedSize());
+            }
+            int counted = 0;
+            for (int key : cache) {
+                assertEquals(latest.get(key), cache.get(key));
+                counted = counted + 1;
+            }
+            assertEquals(cache.size(), counted);
+        }
+    }
+
+    /**
+     * A long scan of one-off keys flushes an LRU cache but not W-TinyLFU, whose sketch
+     * knows the hot keys are more popular than the scan.
+     */
+    @Test
+    public void testTinyLfuResistsScan() {
+        BoundedCache<Integer, Integer> lru = new BoundedCache<>(100, Policy.LRU);
+        BoundedCache<Integer, Integer> tinyLfu = new BoundedCache<>(100, Policy.W_TINY_LFU);
+        for (BoundedCache<Integer, Integer> cache : java.util.List.of(lru, tinyLfu)) {
+            for (int round = 0; round < 20; round++) {
+                for (int key = 0; key < 50; key++) {
+                    if (cache.get(key) == null) {
+                        cache.put(key, key);
+                    }
+                }
+            }
+            for (int key = 1_000; key < 11_000; key++) {
+                if (cache.get(key) == null) {
+                    cache.put(key, key);
+                }
+            }
+        }
+        int lruHot = 0;
+        int tinyLfuHot = 0;
+        for (int key = 0; key < 50; key++) {
+            lruHot = lruHot + (lru.containsKey(key) ? 1 : 0);
+            tinyLfuHot = tinyLfuHot + (tinyLfu.containsKey(key) ? 1 : 0);
+        }
+        assertEquals(0, lruHot);
+        assertTrue(tinyLfuHot >= 45, "hot keys kept: " + tinyLfuHot);
+    }
+}
@@ -0,0 +1,190 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.ConcurrentHashMap;
+import com.wycode.datastructures.Map.Map;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Single-threaded sanity checks plus multi-threaded stress tests for ConcurrentHashMap.
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class ConcurrentHashMapTest {
+    private static final int THREADS = 8;
+
+    @Test
+    public void sanityTest() {
+        HashMapTest.sanityClearTest(new ConcurrentHashMap<>());
+        HashMapTest.sanityContainsKeyTest(new ConcurrentHashMap<>());
+        HashMapTest.sanityGetTest(new ConcurrentHashMap<>());
+        HashMapTest.sanitySizeTest(new ConcurrentHashMap<>());
+        HashMapTest.sanityPutTest(new ConcurrentHashMap<>());
+        HashMapTest.sanityKeySetTest(new ConcurrentHashMap<>());
+        HashMapTest.sanityCursorTest(new ConcurrentHashMap<>());
+        HashMapTest.sanityViewsTest(new ConcurrentHashMap<>());
+        HashMapTest.functionalityTest(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    @Test
+    public void nullValueTest() {
+        ConcurrentHashMap<String, Integer> map = new ConcurrentHashMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put("hi", null));
+    }
+
+    /**
+     * Every thread inserts its own key range into a tiny table, so resizes happen
+     * while other threads are writing. Each put must be visible immediately to its writer
+     * and nothing may be lost or duplicated by the transfers.
+     */
+    @Test
+    public void concurrentPutDuringResizeTest() throws InterruptedException {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>(2);
+        int perThread = 20000;
+        runConcurrently(t -> {
+            for (int i = t * perThread; i < (t + 1) * perThread; i++) {
+                map.put(i, -i);
+                assertEquals(-i, map.get(i));
+            }
+        });
+        assertEquals(THREADS * perThread, map.size());
+        assertEquals(THREADS * perThread, map.keySet().size());
+        for (int i = 0; i < THREADS * perThread; i++) {
+            assertEquals(-i, map.get(i));
+        }
+    }
+
+    /**
+     * A cursor started while other threads keep growing the table must still see every
+     * entry that was there before it started, exactly once.
+     */
+    @Test
+    public void cursorDuringResizeTest() throws InterruptedException {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>(2);
+        int before = 5000;
+        for (int i = 0; i < before; i++) {
+            map.put(i, i);
+        }
+        int perThread = 20000;
+        runConcurrently(t -> {
+            if (t == 0) {
+                for (int round = 0; round < 20; round++) {
+                    boolean[] seen = new boolean[before];
+                    Map.Cursor<Integer, Integer> cursor = map.cursor();
+                    while (cursor.advance()) {
+                        int key = cursor.key();
+                        if (key < before) {
+                            assertFalse(seen[key], "key " + key + " seen twice");
+                            seen[key] = true;
+                            assertEquals(key, cursor.value());
+                        }
+                    }
+                    for (int i = 0; i < before; i++) {
+                        assertTrue(seen[i], "key " + i + " missed");
+                    }
+                }
+            } else {
+                for (int i = before + t * perThread; i < before + (t + 1) * perThread; i++) {
+                    map.put(i, i);
+                }
+            }
+        });
+    }
+
+    /**
+     * All threads race to remove the same entries; each entry must be removed exactly once.
+     */
+    @Test
+    public void concurrentRemoveTest() throws InterruptedException {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        int keys = 50000;
+        for (int i = 0; i < keys; i++) {
+            map.put(i, i);
+        }
+        AtomicInteger removed = new AtomicInteger();
+        runConcurrently(t -> {
+            for (int i = 0; i < keys; i++) {
+                if (map.remove(i, i) != null) {
+                    removed.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(keys, removed.get());
+        assertEquals(0, map.size());
+    }
+
+    /**
+     * Threads put, get and remove a small shared key set. A get may only ever observe
+     * null or a value some thread wrote for that very key.
+     */
+    @Test
+    public void contendedMixedOperationsTest() throws InterruptedException {
+        ConcurrentHashMap<Integer, Long> map = new ConcurrentHashMap<>(4);
+        int keys = 64;
+        runConcurrently(t -> {
+            for (int round = 0; round < 50000; round++) {
+                int key = (round * 31 + t) % keys;
+                long value = ((long) key << 32) | (t * 100000L + round);
+                switch (round % 3) {
+                    case 0:
+                        map.put(key, value);
+                        break;
+                    case 1:
+                        Long seen = map.get(key);
+                        assertTrue(seen == null || (seen >>> 32) == key);
+                        break;
+                    default:
+                        Long old = map.remove(key);
+                        assertTrue(old == null || (old >>> 32) == key);
+                        break;
+                }
+            }
+        });
+        int present = 0;
+        for (int key = 0; key < keys; key++) {
+            if (map.containsKey(key)) {
+                present = present + 1;
+            }
+        }
+        assertEquals(present, map.size());
+    }
+
+    private interface Task {
+        void run(int thread);
+    }
+
+    private static void runConcurrently(Task task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(id);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            fail(failure.get());
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.ConcurrentSkipListMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Single-threaded sanity and ordering checks plus multi-threaded stress tests for
+ * ConcurrentSkipListMap.
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class ConcurrentSkipListMapTest {
+    private static final int THREADS = 8;
+
+    @Test
+    public void sanityTest() {
+        HashMapTest.sanityClearTest(new ConcurrentSkipListMap<>());
+        HashMapTest.sanityContainsKeyTest(new ConcurrentSkipListMap<>());
+        HashMapTest.sanityGetTest(new ConcurrentSkipListMap<>());
+        HashMapTest.sanitySizeTest(new ConcurrentSkipListMap<>());
+        HashMapTest.sanityPutTest(new ConcurrentSkipListMap<>());
+        HashMapTest.sanityKeySetTest(new ConcurrentSkipListMap<>());
+        HashMapTest.sanityCursorTest(new ConcurrentSkipListMap<>());
+        HashMapTest.sanityViewsTest(new ConcurrentSkipListMap<>());
+        HashMapTest.sanityBatchTest(new ConcurrentSkipListMap<>());
+        HashMapTest.functionalityTest(new ConcurrentSkipListMap<>(), new ConcurrentSkipListMap<>());
+    }
+
+    @Test
+    public void nullValueTest() {
+        ConcurrentSkipListMap<String, Integer> map = new ConcurrentSkipListMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put("hi", null));
+    }
+
+    @Test
+    public void orderedOperationsTest() {
+        BinarySearchTreeMapTest.orderedOperationsTest(new ConcurrentSkipListMap<>());
+    }
+
+    @Test
+    public void orderStatisticsTest() {
+        BinarySearchTreeMapTest.orderStatisticsTest(new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * Every thread inserts its own interleaved key set; nothing may be lost, and the
+     * bottom level must end up sorted.
+     */
+    @Test
+    public void concurrentPutTest() throws InterruptedException {
+        ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<>();
+        int perThread = 20000;
+        runConcurrently(t -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = i * THREADS + t;
+                map.put(key, -key);
+                assertEquals(-key, map.get(key));
+            }
+        });
+        assertEquals(THREADS * perThread, map.size());
+        int expected = 0;
+        for (int key : map) {
+            assertEquals(expected, key);
+            expected = expected + 1;
+        }
+        assertEquals(THREADS * perThread, expected);
+    }
+
+    /**
+     * All threads race to remove the same entries; each entry must be removed exactly once.
+     */
+    @Test
+    public void concurrentRemoveTest() throws InterruptedException {
+        ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<>();
+        int keys = 50000;
+        for (int i = 0; i < keys; i++) {
+            map.put(i, i);
+        }
+        AtomicInteger removed = new AtomicInteger();
+        runConcurrently(t -> {
+            for (int i = 0; i < keys; i++) {
+                if (map.remove(i, i) != null) {
+                    removed.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(keys, removed.get());
+        assertEquals(0, map.size());
+        assertFalse(map.cursor().advance());
+    }
+
+    /**
+     * Threads put, get and remove a small shared key set. A get may only ever observe
+     * null or a value some thread wrote for that very key.
+     */
+    @Test
+    public void contendedMixedOperationsTest() throws InterruptedException {
+        ConcurrentSkipListMap<Integer, Long> map = new ConcurrentSkipListMap<>();
+        int keys = 64;
+        runConcurrently(t -> {
+            for (int round = 0; round < 50000; round++) {
+                int key = (round * 31 + t) % keys;
+                long value = ((long) key << 32) | (t * 100000L + round);
+                switch (round % 3) {
+                    case 0:
+                        map.put(key, value);
+                        break;
+                    case 1:
+                        Long seen = map.get(key);
+                        assertTrue(seen == null || (seen >>> 32) == key);
+                        break;
+                    default:
+                        Long old = map.remove(key);
+                        assertTrue(old == null || (old >>> 32) == key);
+                        break;
+                }
+            }
+        });
+        int present = 0;
+        int previous = -1;
+        for (int key : map) {
+            assertTrue(key > previous);
+            previous = key;
+            present = present + 1;
+        }
+        assertEquals(present, map.size());
+    }
+
+    /**
+     * The even keys are never touched while writers keep adding and removing odd keys.
+     * Every range scan must stay sorted and see every even key in range, and floor and
+     * ceiling of an odd key must land on its even neighbours or closer odd ones.
+     */
+    @Test
+    public void rangeScanDuringWritesTest() throws InterruptedException {
+        ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<>();
+        int keys = 20000;
+        for (int i = 0; i < keys; i += 2) {
+            map.put(i, i);
+        }
+        runConcurrently(t -> {
+            if (t < 2) {
+                for (int round = 0; round < 200; round++) {
+                    int lo = (round * 97) % (keys - 1000);
+                    int hi = lo + 999;
+                    Iterator<Integer> range = map.rangeIterator(lo, hi);
+                    int expectedEven = lo % 2 == 0 ? lo : lo + 1;
+                    int previous = lo - 1;
+                    while (range.hasNext()) {
+                        int key = range.next();
+                        assertTrue(key > previous && key <= hi,
+                                key + " after " + previous + " in [" + lo + ", " + hi + "]");
+                        previous = key;
+                        if (key % 2 == 0) {
+                            assertEquals(expectedEven, key, "even key missed");
+                            expectedEven = expectedEven + 2;
+                        }
+                    }
+                    assertTrue(expectedEven > hi, "even keys missed at the end");
+                    int probe = lo | 1;
+                    assertTrue(map.floor(probe) >= probe - 1, "floor of " + probe);
+                    int ceiling = map.ceiling(probe);
+                    assertTrue(ceiling >= probe && ceiling <= probe + 1, "ceiling of " + probe);
+                }
+            } else {
+                for (int round = 0; round < 20000; round++) {
+                    int key = ((round * 131 + t * 7) % (keys / 2)) * 2 + 1;
+                    if (round % 2 == 0) {
+                        map.put(key, key);
+                    } else {
+                        map.remove(key);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * All threads keep adding and removing the even keys of a small range, so nodes are
+     * sometimes removed while their put is still linking upper levels. Each thread also owns
+     * some odd keys in between: whatever it has just put there must be found by get, floor
+     * and ceiling, even right next to such a removed node, and must be gone once removed.
+     * ConcurrentSkipListMapRaceTest opens that window deterministically.
+     */
+    @Test
+    public void churnBesideOwnedKeysTest() throws InterruptedException {
+        ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<>();
+        int keys = 64;
+        runConcurrently(t -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int round = 0; round < 50_000; round++) {
+                int shared = random.nextInt(keys) * 2;
+                if (random.nextBoolean()) {
+                    map.put(shared, round);
+                } else {
+                    map.remove(shared);
+                }
+                int own = (random.nextInt(keys / THREADS) * THREADS + t) * 2 + 1;
+                map.put(own, round);
+                assertEquals(round, map.get(own), "get of " + own);
+                assertEquals(own, map.floor(own), "floor of " + own);
+                assertEquals(own, map.ceiling(own), "ceiling of " + own);
+                assertEquals(round, map.remove(own));
+                assertNull(map.get(own));
+            }
+        });
+        int previous = -1;
+        for (int key : map) {
+            assertTrue(key > previous && key % 2 == 0);
+            previous = key;
+        }
+    }
+
+    private interface Task {
+        void run(int thread);
+    }
+
+    private static void runConcurrently(Task task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(id);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            fail(failure.get());
+        }
+    }
+}
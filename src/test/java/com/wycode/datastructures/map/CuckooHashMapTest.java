@@ -0,0 +1,99 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.CuckooHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class CuckooHashMapTest {
+
+    @Test
+    public void sanityTest() {
+        HashMapTest.sanityClearTest(new CuckooHashMap<>());
+        HashMapTest.sanityContainsKeyTest(new CuckooHashMap<>());
+        HashMapTest.sanityGetTest(new CuckooHashMap<>());
+        HashMapTest.sanitySizeTest(new CuckooHashMap<>());
+        HashMapTest.sanityPutTest(new CuckooHashMap<>());
+        HashMapTest.sanityKeySetTest(new CuckooHashMap<>());
+        HashMapTest.sanityCursorTest(new CuckooHashMap<>());
+        HashMapTest.sanityViewsTest(new CuckooHashMap<>());
+        HashMapTest.sanityBatchTest(new CuckooHashMap<>());
+        HashMapTest.functionalityTest(new CuckooHashMap<>(), new CuckooHashMap<>());
+    }
+
+    @Test
+    public void randomAgainstJavaHashMapTest() {
+        HashMapTest.randomAgainstJavaHashMapTest(new CuckooHashMap<>(), 23);
+    }
+
+    /**
+     * Random keys fill the table well past 80% before it grows, and lookups stay within
+     * the two buckets.
+     */
+    @Test
+    public void loadAndProbeStatisticsTest() {
+        CuckooHashMap<Integer, Integer> map = new CuckooHashMap<>();
+        Random random = new Random(29);
+        for (int i = 0; i < 200_000; i++) {
+            map.put(random.nextInt(), i);
+        }
+        assertTrue(map.peakLoadFactor() > 0.85, "peak load " + map.peakLoadFactor());
+        assertTrue(map.loadFactor() <= 0.9);
+        assertTrue(map.maxLookupProbes() <= 8 + 4);
+        assertTrue(map.maxDisplacements() > 0);
+        assertEquals(map.size(), map.keySet().size());
+    }
+
+    /**
+     * Keys with one shared hashCode fill their two buckets and then live in the stash;
+     * they must not make the table grow without bound.
+     */
+    @Test
+    public void equalHashesGoToStashTest() {
+        CuckooHashMap<HashMapTest.CollidingKey, Integer> map = new CuckooHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(new HashMapTest.CollidingKey(i), i);
+        }
+        assertEquals(100, map.size());
+        assertEquals(92, map.stashSize());
+        assertTrue(map.capacity() <= 1024, "capacity " + map.capacity());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.get(new HashMapTest.CollidingKey(i)));
+        }
+        // freed bucket slots are refilled from the stash
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, map.remove(new HashMapTest.CollidingKey(i)));
+        }
+        assertEquals(42, map.stashSize());
+        for (int i = 50; i < 100; i++) {
+            assertEquals(i, map.get(new HashMapTest.CollidingKey(i)));
+        }
+        int seen = 0;
+        for (HashMapTest.CollidingKey ignored : map) {
+            seen = seen + 1;
+        }
+        assertEquals(50, seen);
+    }
+
+    @Test
+    public void capacityTest() {
+        CuckooHashMap<Integer, Integer> map = new CuckooHashMap<>(1000);
+        int capacity = map.capacity();
+        assertTrue(capacity * 0.9 >= 1000);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        assertEquals(capacity, map.capacity());
+        assertThrows(IllegalArgumentException.class, () -> new CuckooHashMap<Integer, Integer>(0));
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+    }
+}
@@ -0,0 +1,150 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.ExpiringMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class ExpiringMapTest {
+    private long time;
+
+    @BeforeEach
+    public void setUp() {
+        // start away from zero so relative times are exercised
+        time = 123_456_789_000L;
+    }
+
+    private void sleep(long millis) {
+        time = time + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private ExpiringMap<String, Integer> afterWrite(long millis) {
+        return new ExpiringMap<>(millis, 0, TimeUnit.MILLISECONDS, () -> time);
+    }
+
+    @Test
+    public void testExpireAfterWrite() {
+        ExpiringMap<String, Integer> map = afterWrite(100);
+        map.put("a", 1);
+        sleep(60);
+        map.put("b", 2);
+        assertEquals(1, map.get("a"));
+        sleep(50);
+        assertNull(map.get("a"));
+        assertFalse(map.containsKey("a"));
+        assertEquals(2, map.get("b"));
+        assertEquals(1, map.size());
+        sleep(50);
+        assertEquals(0, map.size());
+        assertFalse(map.iterator().hasNext());
+    }
+
+    @Test
+    public void testRewriteRestartsTtl() {
+        ExpiringMap<String, Integer> map = afterWrite(100);
+        map.put("a", 1);
+        sleep(90);
+        map.put("a", 2);
+        sleep(90);
+        assertEquals(2, map.get("a"));
+        sleep(20);
+        assertNull(map.get("a"));
+    }
+
+    @Test
+    public void testExpireAfterAccess() {
+        ExpiringMap<String, Integer> map = new ExpiringMap<>(0, 100, TimeUnit.MILLISECONDS, () -> time);
+        map.put("a", 1);
+        map.put("b", 2);
+        for (int i = 0; i < 10; i++) {
+            sleep(80);
+            assertEquals(1, map.get("a"));
+        }
+        assertNull(map.get("b"));
+        sleep(101);
+        assertNull(map.get("a"));
+    }
+
+    @Test
+    public void testPerEntryTtl() {
+        ExpiringMap<String, Integer> map = afterWrite(0);
+        map.put("forever", 0);
+        map.put("second", 1, 1, TimeUnit.SECONDS);
+        map.put("hour", 2, 1, TimeUnit.HOURS);
+        map.put("week", 3, 7, TimeUnit.DAYS);
+        sleep(1_001);
+        assertNull(map.get("second"));
+        assertEquals(3, map.size());
+        sleep(TimeUnit.HOURS.toMillis(1));
+        assertEquals(2, map.size());
+        assertNull(map.get("hour"));
+        sleep(TimeUnit.DAYS.toMillis(7));
+        assertEquals(1, map.size());
+        assertEquals(0, map.get("forever"));
+        assertThrows(IllegalArgumentException.class, () -> map.put("x", 1, -1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRemove() {
+        ExpiringMap<String, Integer> map = afterWrite(100);
+        map.put("a", 1);
+        assertNull(map.remove("a", 2));
+        assertEquals(1, map.remove("a", 1));
+        map.put("b", 2);
+        sleep(200);
+        assertNull(map.remove("b"));
+        map.put("c", 3);
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void sanityTest() {
+        HashMapTest.sanityClearTest(afterWrite(1_000));
+        HashMapTest.sanityContainsKeyTest(afterWrite(1_000));
+        HashMapTest.sanityGetTest(afterWrite(1_000));
+        HashMapTest.sanitySizeTest(afterWrite(1_000));
+        HashMapTest.sanityKeySetTest(afterWrite(1_000));
+        HashMapTest.sanityCursorTest(afterWrite(1_000));
+        HashMapTest.functionalityTest(new ExpiringMap<>(1_000, 0, TimeUnit.MILLISECONDS, () -> time), afterWrite(1_000));
+    }
+
+    /**
+     * Random TTLs spanning every wheel level: after each step, exactly the entries whose
+     * deadline has not passed must be present, and the sweep must have removed the rest.
+     */
+    @Test
+    public void testRandomTtlsAgainstDeadlines() {
+        ExpiringMap<Integer, Integer> map = new ExpiringMap<>(0, 0, TimeUnit.MILLISECONDS, () -> time);
+        java.util.HashMap<Integer, Long> deadlines = new java.util.HashMap<>();
+        Random random = new Random(8);
+        long[] scales = {5, 300, 20_000, 1_000_000, 50_000_000};
+        for (int step = 0; step < 3_000; step++) {
+            int key = random.nextInt(500);
+            long ttl = 1 + (long) (random.nextDouble() * scales[random.nextInt(scales.length)]);
+            map.put(key, step, ttl, TimeUnit.MILLISECONDS);
+            deadlines.put(key, time + TimeUnit.MILLISECONDS.toNanos(ttl));
+            sleep(random.nextInt(3) == 0 ? random.nextInt(100_000) : random.nextInt(10));
+
+            deadlines.values().removeIf(deadline -> deadline <= time);
+            if (step % 100 == 0) {
+                for (int k = 0; k < 500; k++) {
+                    assertEquals(deadlines.containsKey(k), map.containsKey(k), "key " + k);
+                }
+            }
+        }
+        sleep(TimeUnit.DAYS.toMillis(1));
+        map.put(-1, -1);
+        deadlines.values().removeIf(deadline -> deadline <= time);
+        assertEquals(deadlines.size() + 1, map.size());
+    }
+}
@@ -0,0 +1,103 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.BinarySearchTreeMap;
+import com.wycode.datastructures.Map.EytzingerMap;
+import com.wycode.datastructures.Map.HashMap;
+import com.wycode.datastructures.Map.Map;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class EytzingerMapTest {
+
+    @Test
+    public void testEveryShape() {
+        // every size up to 130 covers full, partial and single-node last levels
+        for (int n = 0; n <= 130; n++) {
+            BinarySearchTreeMap<Integer, String> source = new BinarySearchTreeMap<>();
+            for (int i = 0; i < n; i++) {
+                source.put(2 * i, "v" + i);
+            }
+            EytzingerMap<Integer, String> snapshot = EytzingerMap.snapshot(source);
+            assertEquals(n, snapshot.size());
+            for (int i = 0; i < n; i++) {
+                assertEquals("v" + i, snapshot.get(2 * i));
+                assertFalse(snapshot.containsKey(2 * i + 1));
+            }
+            assertFalse(snapshot.containsKey(-1));
+            assertNull(snapshot.get(2 * n));
+
+            Iterator<Integer> iterator = snapshot.iterator();
+            for (int i = 0; i < n; i++) {
+                assertEquals(2 * i, iterator.next());
+            }
+            assertFalse(iterator.hasNext());
+            assertThrows(NoSuchElementException.class, iterator::next);
+
+            Map.Cursor<Integer, String> cursor = snapshot.cursor();
+            for (int i = 0; i < n; i++) {
+                assertTrue(cursor.advance());
+                assertEquals(2 * i, cursor.key());
+                assertEquals("v" + i, cursor.value());
+            }
+            assertFalse(cursor.advance());
+            assertFalse(cursor.advance());
+        }
+    }
+
+    @Test
+    public void testSnapshotOfHashMap() {
+        HashMap<String, Integer> source = new HashMap<>();
+        TreeMap<String, Integer> expected = new TreeMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            String key = "k" + random.nextInt(50_000);
+            source.put(key, i);
+            expected.put(key, i);
+        }
+        EytzingerMap<String, Integer> snapshot = EytzingerMap.snapshot(source);
+        source.clear();
+
+        assertEquals(expected.size(), snapshot.size());
+        assertEquals(expected.keySet(), snapshot.keySet());
+        Iterator<String> iterator = snapshot.iterator();
+        for (String key : expected.keySet()) {
+            assertEquals(key, iterator.next());
+            assertEquals(expected.get(key), snapshot.get(key));
+        }
+        assertFalse(snapshot.containsKey("missing"));
+    }
+
+    @Test
+    public void testNullValues() {
+        HashMap<Integer, String> source = new HashMap<>();
+        source.put(1, null);
+        EytzingerMap<Integer, String> snapshot = EytzingerMap.snapshot(source);
+        assertTrue(snapshot.containsKey(1));
+        assertNull(snapshot.get(1));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.get(null));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.containsKey(null));
+    }
+
+    @Test
+    public void testImmutable() {
+        HashMap<Integer, String> source = new HashMap<>();
+        source.put(1, "a");
+        EytzingerMap<Integer, String> snapshot = EytzingerMap.snapshot(source);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put(2, "b"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(1, "a"));
+        assertThrows(UnsupportedOperationException.class, snapshot::clear);
+        assertEquals("a", snapshot.get(1));
+    }
+}
@@ -1,9 +1,17 @@
 package com.wycode.datastructures.map;
 
 import com.wycode.datastructures.Map.HashMap;
+import com.wycode.datastructures.Map.Map;
+import com.wycode.datastructures.Map.OrderedMap;
 import org.junit.jupiter.api.Test;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -93,7 +101,7 @@ public class HashMapTest {
         sanityClearTest(new HashMap<>());
     }
 
-    public static void sanityClearTest(HashMap<String, Integer> b) {
+    public static void sanityClearTest(Map<String, Integer> b) {
         for (int i = 0; i < 455; i++) {
             b.put("hi" + i, 1);
             //make sure put is working via containsKey and get
@@ -113,7 +121,7 @@ public class HashMapTest {
         sanityContainsKeyTest(new HashMap<>());
     }
 
-    public static void sanityContainsKeyTest(HashMap<String, Integer> b) {
+    public static void sanityContainsKeyTest(Map<String, Integer> b) {
         assertFalse(b.containsKey("waterYouDoingHere"));
         b.put("waterYouDoingHere", 0);
         assertTrue(b.containsKey("waterYouDoingHere"));
@@ -125,7 +133,7 @@ public class HashMapTest {
         sanityGetTest(new HashMap<>());
     }
 
-    public static void sanityGetTest(HashMap<String, Integer> b) {
+    public static void sanityGetTest(Map<String, Integer> b) {
         assertEquals(null, b.get("starChild"));
         b.put("starChild", 5);
         assertNotEquals(null, b.get("starChild"));
@@ -140,7 +148,7 @@ public class HashMapTest {
         sanitySizeTest(new HashMap<>());
     }
 
-    public static void sanitySizeTest(HashMap<String, Integer> b) {
+    public static void sanitySizeTest(Map<String, Integer> b) {
         assertEquals(0, b.size());
         b.put("hi", 1);
         assertEquals(1, b.size());
@@ -156,7 +164,7 @@ public class HashMapTest {
         sanityPutTest(new HashMap<>());
     }
 
-    public static void sanityPutTest(HashMap<String, Integer> b) {
+    public static void sanityPutTest(Map<String, Integer> b) {
         b.put("hi", 1);
         assertTrue(b.containsKey("hi") && b.get("hi") != null);
     }
@@ -166,7 +174,7 @@ public class HashMapTest {
         sanityKeySetTest(new HashMap<>());
     }
 
-    public static void sanityKeySetTest(HashMap<String, Integer> b) {
+    public static void sanityKeySetTest(Map<String, Integer> b) {
         HashSet<String> values = new HashSet<String>();
         for (int i = 0; i < 455; i++) {
             b.put("hi" + i, 1);
@@ -178,14 +186,215 @@ public class HashMapTest {
         assertTrue(keySet.containsAll(values));
     }
 
+    @Test
+    public void sanityCursorTest() {
+        sanityCursorTest(new HashMap<>());
+        sanityCursorTest(new HashMap<>(16, 0.75, true));
+    }
+
+    /**
+     * The cursor and forEach must each visit every key of the iterator once, with its value.
+     * For an OrderedMap they must also keep the key order.
+     */
+    public static void sanityCursorTest(Map<String, Integer> b) {
+        assertFalse(b.cursor().advance());
+        for (int i = 0; i < 455; i++) {
+            b.put("hi" + i, i);
+        }
+        b.remove("hi7");
+        List<String> order = new ArrayList<>();
+        for (String key : b) {
+            order.add(key);
+        }
+        assertEquals(454, order.size());
+
+        List<String> cursorKeys = new ArrayList<>();
+        Map.Cursor<String, Integer> cursor = b.cursor();
+        while (cursor.advance()) {
+            cursorKeys.add(cursor.key());
+            assertEquals("hi" + cursor.value(), cursor.key());
+        }
+        assertFalse(cursor.advance());
+        assertSameKeys(b, order, cursorKeys);
+
+        List<String> forEachKeys = new ArrayList<>();
+        b.forEach((key, value) -> {
+            forEachKeys.add(key);
+            assertEquals("hi" + value, key);
+        });
+        assertSameKeys(b, order, forEachKeys);
+    }
+
+    private static void assertSameKeys(Map<String, Integer> b, List<String> expected, List<String> actual) {
+        if (b instanceof OrderedMap) {
+            assertEquals(expected, actual);
+        } else {
+            assertEquals(expected.stream().sorted().toList(), actual.stream().sorted().toList());
+        }
+    }
+
+    @Test
+    public void sanityViewsTest() {
+        sanityViewsTest(new HashMap<>());
+    }
+
+    /**
+     * keySet, values and entrySet are live views: they see later changes to the map,
+     * and removing through them, directly or through their iterators, removes from the map.
+     */
+    public static void sanityViewsTest(Map<String, Integer> b) {
+        Set<String> keys = b.keySet();
+        Collection<Integer> values = b.values();
+        Set<java.util.Map.Entry<String, Integer>> entries = b.entrySet();
+        assertTrue(keys.isEmpty());
+        for (int i = 0; i < 100; i++) {
+            b.put("hi" + i, i);
+        }
+        assertEquals(100, keys.size());
+        assertEquals(100, values.size());
+        assertEquals(100, entries.size());
+        assertTrue(keys.contains("hi42"));
+        assertFalse(keys.contains("hi100"));
+        assertFalse(keys.contains(null));
+        assertTrue(values.contains(42));
+        assertTrue(entries.contains(new AbstractMap.SimpleEntry<>("hi42", 42)));
+        assertFalse(entries.contains(new AbstractMap.SimpleEntry<>("hi42", 43)));
+        assertEquals(4950, values.stream().mapToInt(Integer::intValue).sum());
+        for (java.util.Map.Entry<String, Integer> entry : entries) {
+            assertEquals("hi" + entry.getValue(), entry.getKey());
+        }
+
+        assertTrue(keys.remove("hi42"));
+        assertFalse(keys.remove("hi42"));
+        assertFalse(b.containsKey("hi42"));
+        assertTrue(entries.remove(new AbstractMap.SimpleEntry<>("hi43", 43)));
+        assertFalse(b.containsKey("hi43"));
+        assertEquals(98, b.size());
+        assertEquals(98, keys.size());
+
+        java.util.HashMap<String, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            if (i != 42 && i != 43) {
+                expected.put("hi" + i, i);
+            }
+        }
+        assertEquals(expected.keySet(), keys);
+        assertEquals(expected.entrySet(), entries);
+
+        // every other removal path goes through the views' iterators
+        assertTrue(values.remove(44));
+        assertFalse(values.remove(44));
+        assertTrue(values.removeIf(v -> v % 10 == 5));
+        assertTrue(keys.removeAll(List.of("hi1", "hi2", "nope")));
+        assertTrue(entries.removeIf(entry -> entry.getValue() >= 90));
+        Iterator<String> iterator = keys.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        while (iterator.hasNext()) {
+            if (iterator.next().equals("hi3")) {
+                iterator.remove();
+                assertThrows(IllegalStateException.class, iterator::remove);
+            }
+        }
+        expected.keySet().removeAll(List.of("hi1", "hi2", "hi3", "hi44"));
+        expected.values().removeIf(v -> v % 10 == 5 || v >= 90);
+        assertEquals(expected.entrySet(), entries);
+        assertTrue(keys.retainAll(List.of("hi0", "hi4", "hi5")));
+        assertEquals(Set.of("hi0", "hi4"), keys);
+        assertEquals(2, b.size());
+
+        keys.clear();
+        assertEquals(0, b.size());
+        assertTrue(values.isEmpty());
+    }
+
+    @Test
+    public void sanityBatchTest() {
+        sanityBatchTest(new HashMap<>());
+        sanityBatchTest(new HashMap<>(16, 0.75, true));
+    }
+
+    /**
+     * putAll and getAll must agree with looping put and get, including keys repeated within
+     * a batch and keys already present, and a rejected batch must change nothing.
+     */
+    public static void sanityBatchTest(Map<String, Integer> b) {
+        b.put("hi0", -1);
+        String[] keys = new String[1000];
+        Integer[] values = new Integer[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "hi" + (i % 700);
+            values[i] = i;
+        }
+        b.putAll(keys, values);
+        assertEquals(700, b.size());
+        for (int i = 0; i < 700; i++) {
+            // the last occurrence in the batch wins
+            assertEquals(i < 300 ? i + 700 : i, b.get("hi" + i));
+        }
+
+        String[] probes = {"hi5", "nope", "hi699", "hi700"};
+        Integer[] out = new Integer[5];
+        out[4] = 42;
+        b.getAll(probes, out);
+        assertArrayEquals(new Integer[]{705, null, 699, null, 42}, out);
+
+        assertThrows(IllegalArgumentException.class, () -> b.putAll(new String[]{"x", "y"}, new Integer[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> b.putAll(new String[]{"x", null}, new Integer[]{1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> b.getAll(new String[]{"x", "y"}, new Integer[1]));
+        assertFalse(b.containsKey("x"));
+        assertEquals(700, b.size());
+
+        HashMap<String, Integer> other = new HashMap<>();
+        for (int i = 650; i < 800; i++) {
+            other.put("hi" + i, -i);
+        }
+        b.putAll(other);
+        assertEquals(800, b.size());
+        assertEquals(-650, b.get("hi650"));
+        assertEquals(-799, b.get("hi799"));
+        assertEquals(649, b.get("hi649"));
+    }
+
+    @Test
+    public void randomAgainstJavaHashMapTest() {
+        randomAgainstJavaHashMapTest(new HashMap<>(), 19);
+    }
+
+    /**
+     * Runs a random mix of puts and removes over a small key range against
+     * java.util.HashMap, then compares the contents and the keys the iterator yields.
+     */
+    public static void randomAgainstJavaHashMapTest(Map<Integer, Integer> map, long seed) {
+        java.util.HashMap<Integer, Integer> expected = new java.util.HashMap<>();
+        Random random = new Random(seed);
+        for (int i = 0; i < 300_000; i++) {
+            int key = random.nextInt(50_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (java.util.Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        Set<Integer> keys = new HashSet<>();
+        for (int key : map) {
+            assertTrue(keys.add(key));
+        }
+        assertEquals(expected.keySet(), keys);
+    }
+
     // Test for general functionality and that the properties of Maps hold.
     @Test
     public void functionalityTest() {
         functionalityTest(new HashMap<>(), new HashMap<>());
     }
 
-    public static void functionalityTest(HashMap<String, String> dictionary,
-                                         HashMap<String, Integer> studentIDs) {
+    public static void functionalityTest(Map<String, String> dictionary,
+                                         Map<String, Integer> studentIDs) {
         assertEquals(0, dictionary.size());
 
         // can put objects in dictionary and get them
@@ -224,4 +433,179 @@ public class HashMapTest {
         assertEquals(345, studentIDs.get("evil alan").intValue());
         assertEquals(studentIDs.get("evil alan"), studentIDs.get("alan"));
     }
+
+    @Test
+    public void incrementalResizeSanityTest() {
+        sanityClearTest(new HashMap<>(16, 0.75, true));
+        sanitySizeTest(new HashMap<>(16, 0.75, true));
+        sanityKeySetTest(new HashMap<>(16, 0.75, true));
+        functionalityTest(new HashMap<>(16, 0.75, true), new HashMap<>(16, 0.75, true));
+    }
+
+    @Test
+    public void incrementalResizeTest() {
+        HashMap<Integer, Integer> map = new HashMap<>(16, 0.75, true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        // 100 entries in 128 buckets: the last doubling is still being migrated
+        assertTrue(map.isMigrating());
+        assertTrue(map.migrationProgress() > 0 && map.migrationProgress() < 1);
+
+        // entries are reachable whichever table they currently sit in
+        Set<Integer> seen = new HashSet<>();
+        for (int key : map) {
+            assertTrue(seen.add(key));
+            assertEquals(key, map.get(key));
+        }
+        assertEquals(100, seen.size());
+        assertEquals(50, map.remove(50));
+        assertFalse(map.containsKey(50));
+        map.put(50, -50);
+        assertEquals(-50, map.get(50));
+
+        map.completeMigration();
+        assertFalse(map.isMigrating());
+        assertEquals(1.0, map.migrationProgress());
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i == 50 ? -50 : i, map.get(i));
+        }
+    }
+
+    /**
+     * All keys share one hash code, so they land in a single bucket. Once that bucket
+     * is a tree, a lookup needs about log2(n) comparisons instead of n.
+     */
+    @Test
+    public void collidingKeysTest() {
+        HashMap<CollidingKey, Integer> map = new HashMap<>();
+        int n = 4096;
+        for (int i = 0; i < n; i++) {
+            map.put(new CollidingKey(i), i);
+        }
+        assertEquals(n, map.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, map.get(new CollidingKey(i)));
+        }
+
+        CollidingKey.comparisons = 0;
+        assertEquals(n - 1, map.get(new CollidingKey(n - 1)));
+        assertNull(map.get(new CollidingKey(n)));
+        assertTrue(CollidingKey.comparisons <= 2 * 2 * 13);
+
+        // shrink the bucket back below the threshold and make sure it still works as a list
+        for (int i = 0; i < n - 3; i++) {
+            assertEquals(i, map.remove(new CollidingKey(i)));
+        }
+        assertEquals(3, map.size());
+        assertEquals(n - 2, map.get(new CollidingKey(n - 2)));
+        assertNull(map.get(new CollidingKey(0)));
+        assertEquals(n - 1, map.remove(new CollidingKey(n - 1), n - 1));
+        assertEquals(2, map.keySet().size());
+    }
+
+    /**
+     * Batches that hit treeified buckets, and getAll while an incremental resize is running.
+     */
+    @Test
+    public void batchCollisionAndMigrationTest() {
+        HashMap<CollidingKey, Integer> colliding = new HashMap<>();
+        CollidingKey[] keys = new CollidingKey[50];
+        Integer[] values = new Integer[50];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new CollidingKey(i);
+            values[i] = i;
+        }
+        colliding.putAll(keys, values);
+        Integer[] out = new Integer[50];
+        colliding.getAll(keys, out);
+        assertArrayEquals(values, out);
+
+        HashMap<Integer, Integer> map = new HashMap<>(16, 0.75, true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.isMigrating());
+        Integer[] probes = new Integer[120];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = i;
+        }
+        Integer[] found = new Integer[120];
+        map.getAll(probes, found);
+        for (int i = 0; i < probes.length; i++) {
+            assertEquals(i < 100 ? Integer.valueOf(i) : null, found[i]);
+        }
+    }
+
+    /**
+     * putAll on a map that is migrating leaves the migration to the per-put steps,
+     * whether or not the batch makes the table grow again.
+     */
+    @Test
+    public void putAllDuringMigrationTest() {
+        HashMap<Integer, Integer> map = new HashMap<>(16, 0.75, true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.isMigrating());
+        double progress = map.migrationProgress();
+
+        HashMap<Integer, Integer> small = new HashMap<>();
+        small.put(0, -1);
+        small.put(100, 100);
+        map.putAll(small);
+        assertTrue(map.migrationProgress() > progress && map.migrationProgress() < 1);
+        map.putAll(new Integer[]{1, 101}, new Integer[]{-1, 101});
+        assertTrue(map.migrationProgress() < 1);
+
+        // 190 entries in 256 buckets; ten more make the batch double the table again
+        for (int i = 102; i < 190; i++) {
+            map.put(i, i);
+        }
+        Integer[] keys = new Integer[10];
+        Integer[] values = new Integer[10];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = 190 + i;
+            values[i] = 190 + i;
+        }
+        map.putAll(keys, values);
+        assertTrue(map.isMigrating());
+        assertTrue(map.migrationProgress() < 1);
+
+        assertEquals(200, map.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i < 2 ? -1 : i, map.get(i));
+        }
+        map.completeMigration();
+        assertEquals(200, map.size());
+        assertEquals(-1, map.get(1));
+        assertEquals(199, map.get(199));
+    }
+
+    static class CollidingKey implements Comparable<CollidingKey> {
+        static int comparisons;
+        final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            comparisons = comparisons + 1;
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey o) {
+            comparisons = comparisons + 1;
+            return Integer.compare(id, o.id);
+        }
+    }
 }
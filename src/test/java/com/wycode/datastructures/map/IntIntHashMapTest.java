@@ -0,0 +1,99 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.IntIntHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class IntIntHashMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        IntIntHashMap map = new IntIntHashMap();
+        map.put(5, 50);
+        map.put(-3, 30);
+        map.put(5, 55);
+        assertEquals(55, map.get(5));
+        assertEquals(30, map.get(-3));
+        assertEquals(0, map.get(7));
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey(-3));
+        assertFalse(map.containsKey(7));
+    }
+
+    @Test
+    public void testZeroKeyAndNoEntryValue() {
+        IntIntHashMap map = new IntIntHashMap(4, -1);
+        assertEquals(-1, map.get(0));
+        assertFalse(map.containsKey(0));
+        map.put(0, 0);
+        assertTrue(map.containsKey(0));
+        assertEquals(0, map.get(0));
+        assertEquals(1, map.size());
+        assertEquals(0, map.remove(0));
+        assertEquals(-1, map.remove(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testRandomAgainstJavaHashMap() {
+        IntIntHashMap map = new IntIntHashMap();
+        java.util.HashMap<Integer, Integer> expected = new java.util.HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.getOrDefault(key, 0), map.remove(key));
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = -1000; key < 1000; key++) {
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(expected.getOrDefault(key, 0), map.get(key));
+        }
+        int[] keys = map.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToInt(Integer::intValue).sorted().toArray(), keys);
+    }
+
+    @Test
+    public void testNoAllocationOnLookupAndUpdate() {
+        IntIntHashMap map = new IntIntHashMap(100000);
+        for (int i = 0; i < 100000; i++) {
+            map.put(i, i);
+        }
+        Runnable ops = () -> {
+            for (int i = 0; i < 1000000; i++) {
+                int key = i % 100000;
+                map.put(key, map.get(key) + 1);
+            }
+        };
+        ops.run();
+        assertTrue(allocatedBytes(ops) < 1024);
+    }
+
+    /**
+     * Returns the bytes the current thread allocated while running the task.
+     */
+    static long allocatedBytes(Runnable task) {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long before = bean.getThreadAllocatedBytes(thread);
+        task.run();
+        return bean.getThreadAllocatedBytes(thread) - before;
+    }
+}
@@ -0,0 +1,71 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.IntObjectHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class IntObjectHashMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        map.put(0, "zero");
+        map.put(1, "one");
+        map.put(2, null);
+        assertEquals("zero", map.get(0));
+        assertEquals("one", map.get(1));
+        assertNull(map.get(2));
+        assertTrue(map.containsKey(2));
+        assertNull(map.get(3));
+        assertFalse(map.containsKey(3));
+        assertEquals(3, map.size());
+        assertEquals("zero", map.remove(0));
+        assertNull(map.remove(0));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testRandomAgainstJavaHashMap() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        java.util.HashMap<Integer, String> expected = new java.util.HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(1 << 20) & ~0xFF;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                map.put(key, "v" + i);
+                expected.put(key, "v" + i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key : map.keys()) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void testNoAllocationOnLookupAndUpdate() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        String[] values = {"a", "b"};
+        for (int i = 0; i < 100000; i++) {
+            map.put(i, values[0]);
+        }
+        Runnable ops = () -> {
+            for (int i = 0; i < 1000000; i++) {
+                int key = i % 100000;
+                map.put(key, map.get(key) == values[0] ? values[1] : values[0]);
+            }
+        };
+        ops.run();
+        assertTrue(IntIntHashMapTest.allocatedBytes(ops) < 1024);
+    }
+}
@@ -0,0 +1,71 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.LongLongHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class LongLongHashMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        LongLongHashMap map = new LongLongHashMap(4, Long.MIN_VALUE);
+        map.put(1L << 40, 7L);
+        map.put(0L, 8L);
+        map.put(-1L, 9L);
+        assertEquals(7L, map.get(1L << 40));
+        assertEquals(8L, map.get(0L));
+        assertEquals(Long.MIN_VALUE, map.get(1L));
+        assertEquals(3, map.size());
+        assertEquals(9L, map.remove(-1L));
+        assertEquals(Long.MIN_VALUE, map.remove(-1L));
+        assertEquals(2, map.size());
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(0L));
+    }
+
+    @Test
+    public void testRandomAgainstJavaHashMap() {
+        LongLongHashMap map = new LongLongHashMap();
+        java.util.HashMap<Long, Long> expected = new java.util.HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            long key = (random.nextInt(2000) - 1000) * 0x100000001L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.getOrDefault(key, 0L), map.remove(key));
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, (long) i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key : map.keys()) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void testNoAllocationOnLookupAndUpdate() {
+        LongLongHashMap map = new LongLongHashMap(100000);
+        for (long i = 0; i < 100000; i++) {
+            map.put(i * 31, i);
+        }
+        Runnable ops = () -> {
+            for (long i = 0; i < 1000000; i++) {
+                long key = (i % 100000) * 31;
+                map.put(key, map.get(key) + 1);
+            }
+        };
+        ops.run();
+        assertTrue(IntIntHashMapTest.allocatedBytes(ops) < 1024);
+    }
+}
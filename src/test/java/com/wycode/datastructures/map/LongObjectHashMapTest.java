@@ -0,0 +1,71 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.LongObjectHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class LongObjectHashMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(0L, "zero");
+        map.put(1L << 33, "one");
+        map.put(-2L, null);
+        assertEquals("zero", map.get(0));
+        assertEquals("one", map.get(1L << 33));
+        assertNull(map.get(-2L));
+        assertTrue(map.containsKey(-2L));
+        assertNull(map.get(3));
+        assertFalse(map.containsKey(3));
+        assertEquals(3, map.size());
+        assertEquals("zero", map.remove(0));
+        assertNull(map.remove(0));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testRandomAgainstJavaHashMap() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        java.util.HashMap<Long, String> expected = new java.util.HashMap<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 100000; i++) {
+            long key = (long) random.nextInt(1 << 20) << 24;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                map.put(key, "v" + i);
+                expected.put(key, "v" + i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key : map.keys()) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void testNoAllocationOnLookupAndUpdate() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        String[] values = {"a", "b"};
+        for (long i = 0; i < 100000; i++) {
+            map.put(i << 20, values[0]);
+        }
+        Runnable ops = () -> {
+            for (long i = 0; i < 1000000; i++) {
+                long key = (i % 100000) << 20;
+                map.put(key, map.get(key) == values[0] ? values[1] : values[0]);
+            }
+        };
+        ops.run();
+        assertTrue(IntIntHashMapTest.allocatedBytes(ops) < 1024);
+    }
+}
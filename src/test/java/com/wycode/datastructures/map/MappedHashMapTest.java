@@ -0,0 +1,180 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.Codec;
+import com.wycode.datastructures.Map.MappedHashMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class MappedHashMapTest {
+    @TempDir
+    Path dir;
+
+    private MappedHashMap<String, Integer> open(String name) throws IOException {
+        return MappedHashMap.open(dir.resolve(name), Codec.STRING, Codec.INTEGER);
+    }
+
+    @Test
+    public void testPutGetRemove() throws IOException {
+        try (MappedHashMap<String, Integer> map = open("basic")) {
+            map.put("a", 1);
+            map.put("b", 2);
+            map.put("a", 3);
+            assertEquals(2, map.size());
+            assertEquals(3, map.get("a"));
+            assertNull(map.get("c"));
+            assertNull(map.remove("b", 9));
+            assertEquals(2, map.remove("b", 2));
+            assertNull(map.remove("b"));
+            assertEquals(3, map.remove("a"));
+            assertEquals(0, map.size());
+            assertThrows(IllegalArgumentException.class, () -> map.put(null, 1));
+        }
+    }
+
+    @Test
+    public void sanityTest() throws IOException {
+        try (MappedHashMap<String, Integer> a = open("a");
+             MappedHashMap<String, Integer> b = open("b");
+             MappedHashMap<String, Integer> c = open("c");
+             MappedHashMap<String, Integer> d = open("d");
+             MappedHashMap<String, Integer> e = open("e");
+             MappedHashMap<String, String> f = MappedHashMap.open(dir.resolve("f"),
+                     Codec.STRING, Codec.STRING);
+             MappedHashMap<String, Integer> g = open("g")) {
+            HashMapTest.sanityClearTest(a);
+            HashMapTest.sanityContainsKeyTest(b);
+            HashMapTest.sanityGetTest(c);
+            HashMapTest.sanitySizeTest(d);
+            HashMapTest.sanityKeySetTest(e);
+            HashMapTest.functionalityTest(f, g);
+        }
+    }
+
+    @Test
+    public void sanityCursorTest() throws IOException {
+        try (MappedHashMap<String, Integer> map = open("cursor")) {
+            HashMapTest.sanityCursorTest(map);
+        }
+    }
+
+    @Test
+    public void sanityBatchTest() throws IOException {
+        try (MappedHashMap<String, Integer> map = open("batch")) {
+            HashMapTest.sanityBatchTest(map);
+        }
+    }
+
+    @Test
+    public void testReopenAfterGrowth() throws IOException {
+        Path file = dir.resolve("grow");
+        try (MappedHashMap<Long, String> map = MappedHashMap.open(file, Codec.LONG, Codec.STRING)) {
+            for (long i = 0; i < 20_000; i++) {
+                map.put(i * 31, "v" + i);
+            }
+            for (long i = 0; i < 20_000; i += 2) {
+                map.remove(i * 31);
+            }
+            map.put(-1L, null);
+        }
+        try (MappedHashMap<Long, String> map = MappedHashMap.open(file, Codec.LONG, Codec.STRING)) {
+            assertEquals(10_001, map.size());
+            for (long i = 0; i < 20_000; i++) {
+                assertEquals(i % 2 == 0 ? null : "v" + i, map.get(i * 31));
+            }
+            assertTrue(map.containsKey(-1L));
+            assertNull(map.get(-1L));
+
+            Set<Long> keys = new HashSet<>();
+            for (long key : map) {
+                keys.add(key);
+            }
+            assertEquals(10_001, keys.size());
+        }
+        assertFalse(Files.exists(dir.resolve("grow.rebuild")));
+    }
+
+    @Test
+    public void testByteArrayKeysCompareByContent() throws IOException {
+        try (MappedHashMap<byte[], byte[]> map = MappedHashMap.open(dir.resolve("bytes"),
+                Codec.BYTES, Codec.BYTES)) {
+            map.put(new byte[]{1, 2, 3}, new byte[]{9});
+            assertArrayEquals(new byte[]{9}, map.get(new byte[]{1, 2, 3}));
+            assertTrue(map.containsKey(new byte[]{1, 2, 3}));
+            assertFalse(map.containsKey(new byte[]{1, 2}));
+            assertArrayEquals(new byte[]{9}, map.remove(new byte[]{1, 2, 3}, new byte[]{9}));
+            assertEquals(0, map.size());
+        }
+    }
+
+    /**
+     * Reopens a map that was never closed, with the stored entry count left stale as if the
+     * process had died between publishing a slot and updating the header.
+     */
+    @Test
+    public void testReopenWithoutClose() throws IOException {
+        Path file = dir.resolve("crash");
+        MappedHashMap<String, Integer> map = open("crash");
+        Random random = new Random(5);
+        java.util.HashMap<String, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            String key = "k" + random.nextInt(3_000);
+            if (random.nextInt(4) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 123_456), 8);
+        }
+
+        try (MappedHashMap<String, Integer> reopened = open("crash")) {
+            assertEquals(expected.size(), reopened.size());
+            for (java.util.Map.Entry<String, Integer> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), reopened.get(entry.getKey()));
+            }
+        }
+    }
+
+    @Test
+    public void testCompactKeepsEntries() throws IOException {
+        try (MappedHashMap<String, Integer> map = open("compact")) {
+            for (int i = 0; i < 100; i++) {
+                for (int round = 0; round < 10; round++) {
+                    map.put("k" + i, round);
+                }
+            }
+            long before = Files.size(dir.resolve("compact"));
+            map.compact();
+            assertEquals(100, map.size());
+            assertEquals(9, map.get("k42"));
+            assertTrue(Files.size(dir.resolve("compact")) <= before);
+        }
+    }
+
+    @Test
+    public void testRejectsForeignFile() throws IOException {
+        Path file = dir.resolve("foreign");
+        Files.write(file, new byte[128]);
+        assertThrows(IOException.class, () -> open("foreign"));
+    }
+}
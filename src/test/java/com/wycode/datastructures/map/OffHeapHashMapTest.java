@@ -0,0 +1,107 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.Codec;
+import com.wycode.datastructures.Map.OffHeapHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class OffHeapHashMapTest {
+
+    private static OffHeapHashMap<String, Integer> newMap() {
+        return new OffHeapHashMap<>(Codec.STRING, Codec.INTEGER);
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        try (OffHeapHashMap<String, Integer> map = newMap()) {
+            map.put("a", 1);
+            map.put("b", 2);
+            map.put("a", 3);
+            assertEquals(2, map.size());
+            assertEquals(3, map.get("a"));
+            assertNull(map.get("c"));
+            assertNull(map.remove("b", 9));
+            assertEquals(2, map.remove("b", 2));
+            assertNull(map.remove("b"));
+            map.put("n", null);
+            assertTrue(map.containsKey("n"));
+            assertNull(map.get("n"));
+            assertEquals(2, map.size());
+            assertThrows(IllegalArgumentException.class, () -> map.put(null, 1));
+        }
+    }
+
+    @Test
+    public void sanityTest() {
+        HashMapTest.sanityClearTest(newMap());
+        HashMapTest.sanityContainsKeyTest(newMap());
+        HashMapTest.sanityGetTest(newMap());
+        HashMapTest.sanitySizeTest(newMap());
+        HashMapTest.sanityKeySetTest(newMap());
+        HashMapTest.sanityCursorTest(newMap());
+        HashMapTest.sanityViewsTest(newMap());
+        HashMapTest.sanityBatchTest(newMap());
+        HashMapTest.functionalityTest(new OffHeapHashMap<>(Codec.STRING, Codec.STRING), newMap());
+    }
+
+    @Test
+    public void testRandomAgainstJavaHashMap() {
+        try (OffHeapHashMap<Long, String> map = new OffHeapHashMap<>(Codec.LONG, Codec.STRING)) {
+            java.util.HashMap<Long, String> expected = new java.util.HashMap<>();
+            Random random = new Random(3);
+            for (int i = 0; i < 200_000; i++) {
+                long key = random.nextInt(20_000);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    // long values so overwrites pile up enough garbage to trigger compaction
+                    String value = "value-" + i + "-".repeat(random.nextInt(200));
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+            }
+            assertEquals(expected.size(), map.size());
+            for (java.util.Map.Entry<Long, String> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            Set<Long> keys = new HashSet<>();
+            for (long key : map) {
+                keys.add(key);
+            }
+            assertEquals(expected.keySet(), keys);
+            // compaction keeps the native footprint near the live data, not the bytes ever written
+            assertTrue(map.offHeapBytes() <= 16L << 20);
+        }
+    }
+
+    @Test
+    public void testByteArrayKeysCompareByContent() {
+        try (OffHeapHashMap<byte[], byte[]> map = new OffHeapHashMap<>(Codec.BYTES, Codec.BYTES)) {
+            map.put(new byte[]{1, 2, 3}, new byte[]{9});
+            assertArrayEquals(new byte[]{9}, map.get(new byte[]{1, 2, 3}));
+            assertFalse(map.containsKey(new byte[]{1, 2}));
+        }
+    }
+
+    @Test
+    public void testClose() {
+        OffHeapHashMap<String, Integer> map = newMap();
+        map.put("a", 1);
+        assertTrue(map.offHeapBytes() > 0);
+        map.close();
+        map.close();
+        assertEquals(0, map.offHeapBytes());
+        assertThrows(IllegalStateException.class, () -> map.get("a"));
+        assertThrows(IllegalStateException.class, () -> map.put("a", 1));
+    }
+}
@@ -0,0 +1,187 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.OpenAddressingHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the HashMapTest suite against OpenAddressingHashMap, plus probing edge cases.
+ *
+ * @author WY
+ * @version 1.0
+ **/
+
+public class OpenAddressingHashMapTest {
+
+    @Test
+    public void testRemove() {
+        OpenAddressingHashMap<String, String> q = new OpenAddressingHashMap<>();
+        q.put("c", "a");
+        q.put("b", "a");
+        q.put("a", "a");
+        q.put("d", "a");
+        q.put("e", "a"); // a b c d e
+        assertTrue(null != q.remove("c"));
+        assertFalse(q.containsKey("c"));
+        assertTrue(q.containsKey("a"));
+        assertTrue(q.containsKey("b"));
+        assertTrue(q.containsKey("d"));
+        assertTrue(q.containsKey("e"));
+    }
+
+    @Test
+    public void testRemoveThreeCases() {
+        OpenAddressingHashMap<String, String> q = new OpenAddressingHashMap<>();
+        q.put("c", "a");
+        q.put("b", "a");
+        q.put("a", "a");
+        q.put("d", "a");
+        q.put("e", "a");                         // a b c d e
+        assertTrue(null != q.remove("e"));      // a b c d
+        assertTrue(q.containsKey("a"));
+        assertTrue(q.containsKey("b"));
+        assertTrue(q.containsKey("c"));
+        assertTrue(q.containsKey("d"));
+        assertTrue(null != q.remove("c"));      // a b d
+        assertTrue(q.containsKey("a"));
+        assertTrue(q.containsKey("b"));
+        assertTrue(q.containsKey("d"));
+        q.put("f", "a");                         // a b d f
+        assertTrue(null != q.remove("d"));      // a b f
+        assertTrue(q.containsKey("a"));
+        assertTrue(q.containsKey("b"));
+        assertTrue(q.containsKey("f"));
+    }
+
+    @Test
+    public void sanityClearTest() {
+        HashMapTest.sanityClearTest(new OpenAddressingHashMap<>());
+    }
+
+    @Test
+    public void sanityContainsKeyTest() {
+        HashMapTest.sanityContainsKeyTest(new OpenAddressingHashMap<>());
+    }
+
+    @Test
+    public void sanityGetTest() {
+        HashMapTest.sanityGetTest(new OpenAddressingHashMap<>());
+    }
+
+    @Test
+    public void sanitySizeTest() {
+        HashMapTest.sanitySizeTest(new OpenAddressingHashMap<>());
+    }
+
+    @Test
+    public void sanityPutTest() {
+        HashMapTest.sanityPutTest(new OpenAddressingHashMap<>());
+    }
+
+    @Test
+    public void sanityKeySetTest() {
+        HashMapTest.sanityKeySetTest(new OpenAddressingHashMap<>());
+    }
+
+    @Test
+    public void sanityCursorTest() {
+        HashMapTest.sanityCursorTest(new OpenAddressingHashMap<>());
+    }
+
+    @Test
+    public void sanityViewsTest() {
+        HashMapTest.sanityViewsTest(new OpenAddressingHashMap<>());
+    }
+
+    @Test
+    public void sanityBatchTest() {
+        HashMapTest.sanityBatchTest(new OpenAddressingHashMap<>());
+    }
+
+    @Test
+    public void functionalityTest() {
+        HashMapTest.functionalityTest(new OpenAddressingHashMap<>(), new OpenAddressingHashMap<>());
+    }
+
+    @Test
+    public void containsKeyNullValueTest() {
+        OpenAddressingHashMap<String, Integer> b = new OpenAddressingHashMap<>();
+        b.put("hi", null);
+        assertTrue(b.containsKey("hi"));
+        assertEquals(1, b.size());
+    }
+
+    /**
+     * Keys with the same hash share a probe sequence, so removing one in the middle
+     * must leave a tombstone that later lookups walk past.
+     */
+    @Test
+    public void tombstoneTest() {
+        OpenAddressingHashMap<CollidingKey, Integer> b = new OpenAddressingHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            b.put(new CollidingKey(i), i);
+        }
+        assertEquals(2, b.remove(new CollidingKey(2)));
+        assertNull(b.get(new CollidingKey(2)));
+        assertEquals(3, b.get(new CollidingKey(3)));
+        assertEquals(4, b.get(new CollidingKey(4)));
+
+        // re-inserting reuses the tombstone instead of growing the table
+        b.put(new CollidingKey(2), 20);
+        assertEquals(20, b.get(new CollidingKey(2)));
+        assertEquals(5, b.size());
+
+        Set<CollidingKey> keys = new HashSet<>();
+        for (CollidingKey key : b) {
+            keys.add(key);
+        }
+        assertEquals(5, keys.size());
+    }
+
+    @Test
+    public void churnTest() {
+        OpenAddressingHashMap<Integer, Integer> b = new OpenAddressingHashMap<>(4);
+        java.util.HashMap<Integer, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = i % 997;
+            if (i % 3 == 0) {
+                assertEquals(expected.remove(key), b.remove(key));
+            } else {
+                b.put(key, i);
+                expected.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), b.size());
+        for (int key : expected.keySet()) {
+            assertEquals(expected.get(key), b.get(key));
+        }
+        assertEquals(expected.keySet(), b.keySet());
+    }
+
+    private static class CollidingKey implements Comparable<CollidingKey> {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey o) {
+            return Integer.compare(id, o.id);
+        }
+    }
+}
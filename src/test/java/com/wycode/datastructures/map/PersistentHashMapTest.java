@@ -0,0 +1,182 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.Map;
+import com.wycode.datastructures.Map.PersistentHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class PersistentHashMapTest {
+
+    @Test
+    public void sanityTest() {
+        HashMapTest.sanityClearTest(new PersistentHashMap<>());
+        HashMapTest.sanityContainsKeyTest(new PersistentHashMap<>());
+        HashMapTest.sanityGetTest(new PersistentHashMap<>());
+        HashMapTest.sanitySizeTest(new PersistentHashMap<>());
+        HashMapTest.sanityPutTest(new PersistentHashMap<>());
+        HashMapTest.sanityKeySetTest(new PersistentHashMap<>());
+        HashMapTest.sanityCursorTest(new PersistentHashMap<>());
+        HashMapTest.sanityViewsTest(new PersistentHashMap<>());
+        HashMapTest.sanityBatchTest(new PersistentHashMap<>());
+        HashMapTest.functionalityTest(new PersistentHashMap<>(), new PersistentHashMap<>());
+    }
+
+    @Test
+    public void randomAgainstJavaHashMapTest() {
+        HashMapTest.randomAgainstJavaHashMapTest(new PersistentHashMap<>(), 19);
+    }
+
+    @Test
+    public void collisionTest() {
+        PersistentHashMap<HashMapTest.CollidingKey, Integer> map = new PersistentHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            map.put(new HashMapTest.CollidingKey(i), i);
+        }
+        PersistentHashMap<HashMapTest.CollidingKey, Integer> before = map.snapshot();
+        for (int i = 0; i < 50; i += 2) {
+            assertEquals(i, map.remove(new HashMapTest.CollidingKey(i)));
+        }
+        assertEquals(25, map.size());
+        assertEquals(50, before.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), map.get(new HashMapTest.CollidingKey(i)));
+            assertEquals(i, before.get(new HashMapTest.CollidingKey(i)));
+        }
+        for (int i = 1; i < 50; i += 2) {
+            map.remove(new HashMapTest.CollidingKey(i));
+        }
+        assertEquals(0, map.size());
+        assertFalse(map.cursor().advance());
+    }
+
+    @Test
+    public void snapshotTest() {
+        PersistentHashMap<String, Integer> map = new PersistentHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put("k" + i, i);
+        }
+        PersistentHashMap<String, Integer> snapshot = map.snapshot();
+        Map.Cursor<String, Integer> cursor = map.cursor();
+        for (int i = 0; i < 1000; i++) {
+            map.put("k" + i, -i);
+        }
+        map.remove("k1");
+        map.put("new", 1);
+
+        assertEquals(1000, snapshot.size());
+        assertEquals(1000, map.size());
+        assertEquals(1, snapshot.get("k1"));
+        assertNull(snapshot.get("new"));
+        assertEquals(-2, map.get("k2"));
+        int seen = 0;
+        while (cursor.advance()) {
+            assertEquals(cursor.key(), "k" + cursor.value());
+            seen = seen + 1;
+        }
+        assertEquals(1000, seen);
+
+        assertSame(snapshot, snapshot.snapshot());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put("x", 1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove("k1"));
+        assertThrows(UnsupportedOperationException.class, snapshot::clear);
+        assertEquals(1000, snapshot.size());
+    }
+
+    @Test
+    public void builderTest() {
+        PersistentHashMap.Builder<Integer, Integer> builder = PersistentHashMap.builder();
+        for (int i = 0; i < 10_000; i++) {
+            builder.put(i, i);
+        }
+        builder.remove(5);
+        assertEquals(9_999, builder.size());
+        PersistentHashMap<Integer, Integer> first = builder.build();
+
+        // the builder copies what it shares with the built map from here on
+        for (int i = 0; i < 10_000; i++) {
+            builder.put(i, -i);
+        }
+        PersistentHashMap<Integer, Integer> second = builder.build();
+        assertEquals(9_999, first.size());
+        assertEquals(10_000, second.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i == 5 ? null : Integer.valueOf(i), first.get(i));
+            assertEquals(-i, second.get(i));
+        }
+
+        PersistentHashMap.Builder<Integer, Integer> edit = first.toBuilder();
+        edit.put(5, 5).remove(6);
+        assertEquals(5, edit.get(5));
+        assertNull(first.get(5));
+        assertEquals(6, first.get(6));
+        assertEquals(9_999, edit.build().size());
+        assertThrows(IllegalArgumentException.class, () -> edit.put(null, 1));
+    }
+
+    /**
+     * Writers race on the same map while readers check that every version they see is
+     * complete: each writer puts a pair of keys with one putAll, so no reader may ever see
+     * only one key of a pair.
+     */
+    @Test
+    public void concurrentWritersAndReadersTest() throws InterruptedException {
+        PersistentHashMap<Integer, Integer> map = new PersistentHashMap<>();
+        int writers = 4;
+        int perWriter = 5_000;
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < writers; t++) {
+            int base = t * perWriter * 2;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    map.putAll(new Integer[]{base + 2 * i, base + 2 * i + 1}, new Integer[]{i, i});
+                }
+            }));
+        }
+        for (int t = 0; t < 2; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        PersistentHashMap<Integer, Integer> snapshot = map.snapshot();
+                        int count = 0;
+                        Map.Cursor<Integer, Integer> cursor = snapshot.cursor();
+                        while (cursor.advance()) {
+                            int pair = cursor.key() ^ 1;
+                            assertEquals(cursor.value(), snapshot.get(pair));
+                            count = count + 1;
+                        }
+                        assertEquals(snapshot.size(), count);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (int t = 0; t < writers; t++) {
+            threads.get(t).join();
+        }
+        done.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            fail(failure.get());
+        }
+        assertEquals(writers * perWriter * 2, map.size());
+    }
+}
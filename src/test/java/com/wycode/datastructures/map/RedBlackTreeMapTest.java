@@ -0,0 +1,167 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.RedBlackTreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class RedBlackTreeMapTest {
+    private RedBlackTreeMap<Integer, String> rbt;
+
+    @BeforeEach
+    public void setUp() {
+        rbt = new RedBlackTreeMap<>();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        rbt.put(5, "A");
+        rbt.put(3, "B");
+        rbt.put(7, "C");
+        rbt.put(2, "D");
+        rbt.put(4, "E");
+        rbt.put(5, "Z");
+
+        assertEquals("Z", rbt.get(5));
+        assertEquals("B", rbt.get(3));
+        assertEquals("C", rbt.get(7));
+        assertNull(rbt.get(10));
+        assertEquals(5, rbt.size());
+    }
+
+    @Test
+    public void testRemove() {
+        rbt.put(5, "A");
+        rbt.put(3, "B");
+        rbt.put(7, "C");
+
+        assertNull(rbt.remove(3, "X"));
+        assertEquals("B", rbt.remove(3, "B"));
+        assertNull(rbt.get(3));
+        assertEquals("A", rbt.remove(5));
+        assertNull(rbt.remove(10));
+        assertEquals(1, rbt.size());
+    }
+
+    @Test
+    public void testIteratorIsOrdered() {
+        int[] keys = {5, 3, 7, 2, 4, 6, 8, 1};
+        for (int key : keys) {
+            rbt.put(key, "v" + key);
+        }
+        Iterator<Integer> iterator = rbt.iterator();
+        for (int expected = 1; expected <= 8; expected++) {
+            assertEquals(expected, iterator.next());
+        }
+        assertFalse(iterator.hasNext());
+        assertEquals(8, rbt.keySet().size());
+    }
+
+    @Test
+    public void testDeleteMinAndMax() {
+        for (int i = 0; i < 100; i++) {
+            rbt.put(i, "v" + i);
+        }
+        rbt.deleteMin();
+        rbt.deleteMax();
+        assertFalse(rbt.containsKey(0));
+        assertFalse(rbt.containsKey(99));
+        assertEquals(98, rbt.size());
+        assertEquals(1, rbt.iterator().next());
+
+        rbt.clear();
+        assertThrows(NoSuchElementException.class, () -> rbt.deleteMin());
+        assertThrows(NoSuchElementException.class, () -> rbt.deleteMax());
+    }
+
+    @Test
+    public void containsKeyNullTest() {
+        rbt.put(1, null);
+        assertTrue(rbt.containsKey(1));
+    }
+
+    @Test
+    public void sanityTest() {
+        HashMapTest.sanityClearTest(new RedBlackTreeMap<>());
+        HashMapTest.sanityContainsKeyTest(new RedBlackTreeMap<>());
+        HashMapTest.sanityGetTest(new RedBlackTreeMap<>());
+        HashMapTest.sanitySizeTest(new RedBlackTreeMap<>());
+        HashMapTest.sanityKeySetTest(new RedBlackTreeMap<>());
+        HashMapTest.sanityCursorTest(new RedBlackTreeMap<>());
+        HashMapTest.sanityViewsTest(new RedBlackTreeMap<>());
+        HashMapTest.functionalityTest(new RedBlackTreeMap<>(), new RedBlackTreeMap<>());
+    }
+
+    @Test
+    public void testRandomAgainstTreeMap() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(1000);
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    rbt.put(key, "v" + i);
+                    expected.put(key, "v" + i);
+                    break;
+                case 2:
+                    assertEquals(expected.remove(key), rbt.remove(key));
+                    break;
+                default:
+                    if (!expected.isEmpty()) {
+                        if (random.nextBoolean()) {
+                            expected.pollFirstEntry();
+                            rbt.deleteMin();
+                        } else {
+                            expected.pollLastEntry();
+                            rbt.deleteMax();
+                        }
+                    }
+                    break;
+            }
+            assertEquals(expected.size(), rbt.size());
+        }
+        Iterator<Integer> iterator = rbt.iterator();
+        for (int key : expected.keySet()) {
+            assertEquals(key, iterator.next());
+            assertEquals(expected.get(key), rbt.get(key));
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testSortedInsertStaysBalanced() {
+        int n = 1_000_000;
+        for (int i = 0; i < n; i++) {
+            rbt.put(i, null);
+        }
+        assertEquals(n, rbt.size());
+        for (int i = 0; i < n; i += 2) {
+            rbt.remove(i);
+        }
+        assertEquals(n / 2, rbt.size());
+        assertTrue(rbt.containsKey(n - 1));
+        assertFalse(rbt.containsKey(n - 2));
+    }
+
+    @Test
+    public void orderedOperationsTest() {
+        BinarySearchTreeMapTest.orderedOperationsTest(rbt);
+    }
+
+    @Test
+    public void orderStatisticsTest() {
+        BinarySearchTreeMapTest.orderStatisticsTest(rbt);
+    }
+}
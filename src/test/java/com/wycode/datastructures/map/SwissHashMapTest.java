@@ -0,0 +1,107 @@
+package com.wycode.datastructures.map;
+
+import com.wycode.datastructures.Map.SwissHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author WY
+ * @version 1.0
+ **/
+
+public class SwissHashMapTest {
+
+    @Test
+    public void sanityTest() {
+        HashMapTest.sanityClearTest(new SwissHashMap<>());
+        HashMapTest.sanityContainsKeyTest(new SwissHashMap<>());
+        HashMapTest.sanityGetTest(new SwissHashMap<>());
+        HashMapTest.sanitySizeTest(new SwissHashMap<>());
+        HashMapTest.sanityPutTest(new SwissHashMap<>());
+        HashMapTest.sanityKeySetTest(new SwissHashMap<>());
+        HashMapTest.sanityCursorTest(new SwissHashMap<>());
+        HashMapTest.sanityViewsTest(new SwissHashMap<>());
+        HashMapTest.sanityBatchTest(new SwissHashMap<>());
+        HashMapTest.functionalityTest(new SwissHashMap<>(), new SwissHashMap<>());
+    }
+
+    @Test
+    public void randomAgainstJavaHashMapTest() {
+        HashMapTest.randomAgainstJavaHashMapTest(new SwissHashMap<>(), 37);
+    }
+
+    /**
+     * The table fills to 7/8 before it doubles.
+     */
+    @Test
+    public void highLoadFactorTest() {
+        SwissHashMap<Integer, Integer> map = new SwissHashMap<>();
+        Random random = new Random(41);
+        double peak = 0;
+        for (int i = 0; i < 200_000; i++) {
+            map.put(random.nextInt(), i);
+            peak = Math.max(peak, map.loadFactor());
+        }
+        assertEquals(0.875, peak, 1e-9);
+        assertTrue(map.loadFactor() <= 0.875);
+    }
+
+    /**
+     * Keys with one shared hashCode also share their tag and spill over many groups; every
+     * lookup must still find them, and removing them must keep the rest reachable.
+     */
+    @Test
+    public void equalHashesTest() {
+        SwissHashMap<HashMapTest.CollidingKey, Integer> map = new SwissHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(new HashMapTest.CollidingKey(i), i);
+        }
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(i, map.remove(new HashMapTest.CollidingKey(i)));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get(new HashMapTest.CollidingKey(i)));
+        }
+        assertEquals(50, map.size());
+    }
+
+    /**
+     * Churning a fixed-size key set fills the table with DELETED slots; it must be cleaned
+     * up in place rather than grown.
+     */
+    @Test
+    public void tombstoneChurnTest() {
+        SwissHashMap<Integer, Integer> map = new SwissHashMap<>(1000);
+        int capacity = map.capacity();
+        for (int i = 0; i < 200_000; i++) {
+            map.put(i, i);
+            if (i >= 500) {
+                assertEquals(i - 500, map.remove(i - 500));
+            }
+        }
+        assertEquals(500, map.size());
+        assertEquals(capacity, map.capacity());
+        for (int i = 200_000 - 500; i < 200_000; i++) {
+            assertEquals(i, map.get(i));
+        }
+    }
+
+    @Test
+    public void capacityTest() {
+        SwissHashMap<Integer, Integer> map = new SwissHashMap<>(1000);
+        int capacity = map.capacity();
+        assertTrue(capacity * 0.875 >= 1000);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        assertEquals(capacity, map.capacity());
+        assertThrows(IllegalArgumentException.class, () -> new SwissHashMap<Integer, Integer>(0));
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+    }
+}
@@ -4,7 +4,10 @@ import com.wycode.datastructures.Map.UnorderedLinkedListMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -134,5 +137,139 @@ public class UnorderedLinkedListMapTest {
         assertFalse(iterator.hasNext());
     }
 
+    @Test
+    public void testCursor() {
+        HashMapTest.sanityCursorTest(new UnorderedLinkedListMap<>());
+    }
+
+    @Test
+    public void testViews() {
+        HashMapTest.sanityViewsTest(new UnorderedLinkedListMap<>());
+    }
+
+    @Test
+    public void testHeuristicsSanity() {
+        for (UnorderedLinkedListMap.Heuristic heuristic : UnorderedLinkedListMap.Heuristic.values()) {
+            HashMapTest.sanityClearTest(new UnorderedLinkedListMap<>(heuristic));
+            HashMapTest.sanityContainsKeyTest(new UnorderedLinkedListMap<>(heuristic));
+            HashMapTest.sanityGetTest(new UnorderedLinkedListMap<>(heuristic));
+            HashMapTest.sanitySizeTest(new UnorderedLinkedListMap<>(heuristic));
+            HashMapTest.sanityCursorTest(new UnorderedLinkedListMap<>(heuristic, 8));
+            HashMapTest.functionalityTest(new UnorderedLinkedListMap<>(heuristic, 50),
+                    new UnorderedLinkedListMap<>(heuristic));
+        }
+    }
+
+    private static List<String> keys(UnorderedLinkedListMap<String, Integer> map) {
+        List<String> keys = new ArrayList<>();
+        for (String key : map) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    @Test
+    public void testMoveToFront() {
+        UnorderedLinkedListMap<String, Integer> map =
+                new UnorderedLinkedListMap<>(UnorderedLinkedListMap.Heuristic.MOVE_TO_FRONT);
+        map.put("c", 3);
+        map.put("b", 2);
+        map.put("a", 1);
+        assertEquals(List.of("a", "b", "c"), keys(map));
+        assertEquals(3, map.get("c"));
+        assertEquals(List.of("c", "a", "b"), keys(map));
+        assertTrue(map.containsKey("b"));
+        assertEquals(List.of("c", "a", "b"), keys(map)); // a peek
+        map.put("b", 20);
+        assertEquals(List.of("b", "c", "a"), keys(map));
+    }
 
+    @Test
+    public void testTranspose() {
+        UnorderedLinkedListMap<String, Integer> map =
+                new UnorderedLinkedListMap<>(UnorderedLinkedListMap.Heuristic.TRANSPOSE);
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        assertEquals(List.of("a", "b", "c"), keys(map));
+        map.get("c");
+        assertEquals(List.of("a", "c", "b"), keys(map));
+        map.get("c");
+        assertEquals(List.of("c", "a", "b"), keys(map));
+        map.get("c");
+        assertEquals(List.of("c", "a", "b"), keys(map));
+    }
+
+    @Test
+    public void testFrequencyCount() {
+        UnorderedLinkedListMap<String, Integer> map =
+                new UnorderedLinkedListMap<>(UnorderedLinkedListMap.Heuristic.FREQUENCY_COUNT);
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        map.get("c");
+        map.get("c");
+        map.get("b");
+        assertEquals(List.of("c", "b", "a"), keys(map));
+        map.get("a");
+        map.get("a");
+        map.get("a");
+        assertEquals(List.of("a", "c", "b"), keys(map));
+        assertEquals(2, map.remove("b"));
+        map.put("d", 4);
+        assertEquals(List.of("a", "c", "d"), keys(map));
+    }
+
+    /**
+     * Under skewed access every heuristic must find keys in fewer steps than the plain
+     * list, and still agree with a reference map.
+     */
+    @Test
+    public void testSkewedAccessShortensLookups() {
+        long plain = 0;
+        for (UnorderedLinkedListMap.Heuristic heuristic : UnorderedLinkedListMap.Heuristic.values()) {
+            UnorderedLinkedListMap<String, Integer> map = new UnorderedLinkedListMap<>(heuristic);
+            for (int i = 0; i < 200; i++) {
+                map.put("k" + i, i);
+            }
+            long before = map.probeCount();
+            Random random = new Random(5);
+            for (int i = 0; i < 20_000; i++) {
+                // keys 0..9 take about 90% of the lookups
+                int key = random.nextInt(10) < 9 ? random.nextInt(10) : random.nextInt(200);
+                assertEquals(key, map.get("k" + key));
+            }
+            long probes = map.probeCount() - before;
+            if (heuristic == UnorderedLinkedListMap.Heuristic.NONE) {
+                plain = probes;
+            } else {
+                assertTrue(probes < plain / 4, heuristic + ": " + probes + " vs " + plain);
+            }
+            assertEquals(200, map.size());
+        }
+    }
+
+    @Test
+    public void testUpgradeToHashMap() {
+        UnorderedLinkedListMap<String, Integer> map =
+                new UnorderedLinkedListMap<>(UnorderedLinkedListMap.Heuristic.MOVE_TO_FRONT, 8);
+        for (int i = 0; i < 8; i++) {
+            map.put("k" + i, i);
+        }
+        assertFalse(map.isUpgraded());
+        map.put("k8", 8);
+        assertTrue(map.isUpgraded());
+        assertEquals(9, map.size());
+        for (int i = 0; i < 9; i++) {
+            assertEquals(i, map.get("k" + i));
+        }
+        assertEquals(3, map.remove("k3"));
+        assertEquals(8, map.size());
+        assertEquals(8, keys(map).size());
+        map.clear();
+        assertFalse(map.isUpgraded());
+        assertEquals(0, map.size());
+        assertThrows(IllegalArgumentException.class,
+                () -> new UnorderedLinkedListMap<String, Integer>(UnorderedLinkedListMap.Heuristic.NONE, 0));
+    }
 }